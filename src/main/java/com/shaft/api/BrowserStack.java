@@ -4,6 +4,7 @@ import com.shaft.cli.FileActions;
 import com.shaft.driver.SHAFT;
 import com.shaft.tools.io.ReportManager;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+import io.github.shafthq.shaft.tools.support.StackHelper;
 import org.openqa.selenium.MutableCapabilities;
 import org.testng.Assert;
 
@@ -141,11 +142,11 @@ public class BrowserStack {
     }
 
     private static void passAction(String testData) {
-        reportActionResult(Thread.currentThread().getStackTrace()[2].getMethodName(), testData, true);
+        reportActionResult(StackHelper.getCallingMethodName(), testData, true);
     }
 
     private static void failAction(String testData, Throwable... rootCauseException) {
-        String message = reportActionResult(Thread.currentThread().getStackTrace()[2].getMethodName(), testData, false, rootCauseException);
+        String message = reportActionResult(StackHelper.getCallingMethodName(), testData, false, rootCauseException);
         if (rootCauseException != null && rootCauseException.length >= 1) {
             Assert.fail(message, rootCauseException[0]);
         } else {
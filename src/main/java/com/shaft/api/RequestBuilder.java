@@ -1,6 +1,7 @@
 package com.shaft.api;
 
 import com.shaft.cli.FileActions;
+import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.config.SSLConfig;
 import io.restassured.http.ContentType;
@@ -10,6 +11,8 @@ import io.restassured.specification.RequestSpecification;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 import static io.restassured.RestAssured.config;
@@ -305,10 +308,33 @@ public class RequestBuilder {
                 RestActions.failAction(request, rootCauseException);
             }
         }
-        RestActions.lastResponse = response;
+        RestActions.setLastResponse(response);
         return response;
     }
 
+    /**
+     * After you finish building your request, use this method to trigger the request on another thread without waiting
+     * for its response. The request is reported to the current test as usual, but it doesn't change the last response
+     * of the calling thread.
+     *
+     * @return a future that completes with the full response object, or fails in case the request failed
+     */
+    public CompletableFuture<Response> performRequestAsync() {
+        return performRequestAsync(RestActions.getAsyncRequestExecutor());
+    }
+
+    /**
+     * After you finish building your request, use this method to trigger the request using the provided executor without
+     * waiting for its response. The request is reported to the current test as usual, but it doesn't change the last
+     * response of the calling thread.
+     *
+     * @param executor the executor that will perform the request
+     * @return a future that completes with the full response object, or fails in case the request failed
+     */
+    public CompletableFuture<Response> performRequestAsync(Executor executor) {
+        return CompletableFuture.supplyAsync(ReportManagerHelper.withCurrentReportingContext(this::performRequest), executor);
+    }
+
     /**
      * The type of your authentication method {BASIC, FORM, NONE}
      */
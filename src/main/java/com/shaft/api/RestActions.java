@@ -9,11 +9,15 @@ import com.shaft.tools.io.ReportManager;
 import com.shaft.validation.Validations;
 import eu.medsea.mimeutil.MimeUtil;
 import eu.medsea.mimeutil.MimeUtil2;
+import io.github.shafthq.shaft.api.HttpConnectionPool;
+import io.github.shafthq.shaft.api.JsonComparator;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
 import io.github.shafthq.shaft.tools.support.JavaHelper;
+import io.github.shafthq.shaft.tools.support.StackHelper;
 import io.restassured.builder.MultiPartSpecBuilder;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.config.EncoderConfig;
+import io.restassured.config.HttpClientConfig;
 import io.restassured.config.RestAssuredConfig;
 import io.restassured.http.ContentType;
 import io.restassured.http.Cookie;
@@ -27,13 +31,9 @@ import io.restassured.specification.QueryableRequestSpecification;
 import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.SpecificationQuerier;
 import org.apache.commons.io.IOUtils;
-import org.json.JSONException;
 import org.json.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
-import org.skyscreamer.jsonassert.JSONAssert;
-import org.skyscreamer.jsonassert.JSONCompare;
-import org.skyscreamer.jsonassert.JSONCompareMode;
 import org.testng.Assert;
 
 import javax.xml.XMLConstants;
@@ -47,7 +47,8 @@ import java.io.*;
 import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.restassured.RestAssured.given;
 import static io.restassured.config.HttpClientConfig.httpClientConfig;
@@ -69,19 +70,82 @@ public class RestActions {
     private final Map<String, Object> sessionCookies;
     private final List<RestAssuredConfig> sessionConfigs;
     private String headerAuthorization;
-    static Response lastResponse;
+    private HttpConnectionPool connectionPool;
+    private boolean ownsConnectionPool = false;
+    private static final ThreadLocal<Response> lastResponse = new ThreadLocal<>();
+    private static Executor asyncRequestExecutor;
 
+    /**
+     * Gets the last response that was received by a synchronous request on the current thread
+     *
+     * @return the last response object, or null in case no request was performed on the current thread
+     */
     public static Response getLastResponse() {
-        return lastResponse;
+        return lastResponse.get();
+    }
+
+    static void setLastResponse(Response response) {
+        lastResponse.set(response);
+    }
+
+    /**
+     * Gets the default executor of asynchronous API requests, which runs each request on a virtual thread when
+     * supported by the current JVM, or on a cached pool of daemon threads otherwise
+     *
+     * @return the default executor of asynchronous API requests
+     */
+    static synchronized Executor getAsyncRequestExecutor() {
+        if (asyncRequestExecutor == null) {
+            try {
+                asyncRequestExecutor = (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // virtual threads are only available starting with Java 21
+                var threadCounter = new AtomicInteger();
+                asyncRequestExecutor = Executors.newCachedThreadPool(runnable -> {
+                    var requestThread = new Thread(runnable, "RestActions-async-" + threadCounter.incrementAndGet());
+                    requestThread.setDaemon(true);
+                    return requestThread;
+                });
+            }
+        }
+        return asyncRequestExecutor;
+    }
+
+    /**
+     * Performs all the provided requests concurrently, and waits for all of them to finish
+     *
+     * @param requests the API requests that you finished building
+     * @return the response objects in the same order of the provided requests
+     */
+    public static List<Response> performRequests(RequestBuilder... requests) {
+        var futures = Arrays.stream(requests).map(RequestBuilder::performRequestAsync).toList();
+        // wait for all the requests to be reported before failing the test
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).handle((result, throwable) -> null).join();
+        List<Response> responses = new ArrayList<>();
+        for (var future : futures) {
+            try {
+                responses.add(future.join());
+            } catch (CompletionException completionException) {
+                if (completionException.getCause() instanceof AssertionError assertionError) {
+                    throw assertionError;
+                }
+                throw completionException;
+            }
+        }
+        return responses;
     }
 
     public RestActions(String serviceURI) {
         initializeSystemProperties(System.getProperty("apiConnectionTimeout") == null);
         headerAuthorization = "";
         this.serviceURI = serviceURI;
-        sessionCookies = new HashMap<>();
-        sessionHeaders = new HashMap<>();
-        sessionConfigs = new ArrayList<>();
+        // the session may be shared by concurrent asynchronous requests
+        sessionCookies = new ConcurrentHashMap<>();
+        sessionHeaders = new ConcurrentHashMap<>();
+        sessionConfigs = new CopyOnWriteArrayList<>();
+        if (Boolean.parseBoolean(System.getProperty("apiConnectionPooling"))) {
+            connectionPool = HttpConnectionPool.getSharedInstance();
+        }
     }
 
     public static RequestBuilder buildNewRequest(String serviceURI, String serviceName, RequestType requestType) {
@@ -104,17 +168,17 @@ public class RestActions {
     }
 
     protected static void passAction(String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         passAction(actionName, testData, null, null, null, true, null);
     }
 
     protected static void passAction(String testData, List<Object> expectedFileBodyAttachment) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         passAction(actionName, testData, null, null, null, true, expectedFileBodyAttachment);
     }
 
     static void passAction(String testData, Object requestBody, RequestSpecification specs, Response response) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         passAction(actionName, testData, requestBody, specs, response, false, null);
     }
 
@@ -398,55 +462,34 @@ public class RestActions {
                     + "\", jsonPath to target array \"" + jsonPathToTargetArray + "\".");
         }
         boolean comparisonResult;
-        JSONParser parser = new JSONParser();
         List<Object> expectedJSONAttachment = null;
 
         try {
-            // parse actual JSON into Object or Array
-            org.json.simple.JSONObject actualJsonObject = null;
-            org.json.simple.JSONArray actualJsonArray = null;
-
-            var actualObject = parser.parse(response.asString());
-            if (actualObject instanceof org.json.simple.JSONObject) {
-                actualJsonObject = (org.json.simple.JSONObject) parser.parse(response.asString());
-            } else {
-                // actualObject is an array org.json.simple.JSONArray
-                actualJsonArray = (org.json.simple.JSONArray) parser.parse(response.asString());
-            }
-
-            // parse expected JSON into Object or Array
-            org.json.simple.JSONObject expectedJsonObject = null;
-            org.json.simple.JSONArray expectedJsonArray = null;
-
-            var expectedObject = parser.parse(new FileReader(referenceJsonFilePath));
-            if (expectedObject instanceof org.json.simple.JSONObject) {
-                expectedJsonObject = (org.json.simple.JSONObject) parser.parse(new FileReader(referenceJsonFilePath));
-                expectedJSONAttachment = Arrays.asList("File Content", "Expected JSON",
-                        new GsonBuilder().setPrettyPrinting().create()
-                                .toJson(JsonParser.parseString(expectedJsonObject.toJSONString())));
-            } else {
-                // expectedObject is an array org.json.simple.JSONArray
-                expectedJsonArray = (org.json.simple.JSONArray) parser.parse(new FileReader(referenceJsonFilePath));
-                expectedJSONAttachment = Arrays.asList("File Content", "Expected JSON", new GsonBuilder()
-                        .setPrettyPrinting().create().toJson(JsonParser.parseString(expectedJsonArray.toJSONString())));
+            // parse the actual response and the expected file only once, the parsed file is cached for later comparisons
+            var actualJson = new JSONParser().parse(response.asString());
+            var referenceJson = JsonComparator.getReferenceJson(referenceJsonFilePath);
+            var expectedJson = referenceJson.json();
+            expectedJSONAttachment = Arrays.asList("File Content", "Expected JSON", referenceJson.content());
+
+            // narrow down the actual response to the target array
+            if (!jsonPathToTargetArray.equals("")) {
+                actualJson = JsonPath.read(actualJson, jsonPathToTargetArray);
             }
 
-            // handle different combinations of expected and actual (object vs array)
-            // TODO: handle jsonPathToTargetArray and attempt to parse the actual result
             comparisonResult = switch (comparisonType) {
-                case EQUALS -> compareJSONEquals(expectedJsonObject, expectedJsonArray, actualJsonObject,
-                        actualJsonArray);
-                case CONTAINS -> compareJSONContains(response, expectedJsonObject, expectedJsonArray,
-                        actualJsonObject, jsonPathToTargetArray);
-                case EQUALS_IGNORING_ORDER -> compareJSONEqualsIgnoringOrder(expectedJsonObject, expectedJsonArray, actualJsonObject,
-                        actualJsonArray);
+                case EQUALS -> JsonComparator.equals(expectedJson, actualJson);
+                case CONTAINS -> compareJSONContains(expectedJson, actualJson);
+                case EQUALS_IGNORING_ORDER -> JsonComparator.equalsIgnoringOrder(expectedJson, actualJson);
             };
         } catch (IOException rootCauseException) {
             failAction("Couldn't find the desired file. \"" + referenceJsonFilePath + "\".", rootCauseException);
             comparisonResult = false;
-        } catch (ParseException | JSONException rootCauseException) {
+        } catch (ParseException rootCauseException) {
             failAction("Couldn't parse the desired file. \"" + referenceJsonFilePath + "\".", rootCauseException);
             comparisonResult = false;
+        } catch (com.jayway.jsonpath.JsonPathException rootCauseException) {
+            failAction(ERROR_INCORRECT_JSONPATH + "\"" + jsonPathToTargetArray + "\"", rootCauseException);
+            comparisonResult = false;
         }
         passAction(referenceJsonFilePath, expectedJSONAttachment);
         return comparisonResult;
@@ -458,12 +501,12 @@ public class RestActions {
 
     protected static void failAction(String testData, Object requestBody, RequestSpecification specs, Response response,
                                      Throwable... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         failAction(actionName, testData, requestBody, specs, response, rootCauseException);
     }
 
     protected static void failAction(String testData, Throwable... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         failAction(actionName, testData, null, null, null, rootCauseException);
     }
 
@@ -746,67 +789,24 @@ public class RestActions {
         }
     }
 
-    private static boolean compareJSONEquals(org.json.simple.JSONObject expectedJsonObject,
-                                             org.json.simple.JSONArray expectedJsonArray, org.json.simple.JSONObject actualJsonObject,
-                                             org.json.simple.JSONArray actualJsonArray) {
-        if (expectedJsonObject != null && actualJsonObject != null) {
-            // if expected is an object and actual is also an object
-            return actualJsonObject.toString().equals(expectedJsonObject.toString());
-        } else {
-            // if expected is an array and actual response is also an array
-            return actualJsonArray.toString().equals(expectedJsonArray.toString());
-        }
-    }
-
-    private static boolean compareJSONEqualsIgnoringOrder(org.json.simple.JSONObject expectedJsonObject,
-                                             org.json.simple.JSONArray expectedJsonArray, org.json.simple.JSONObject actualJsonObject,
-                                             org.json.simple.JSONArray actualJsonArray) {
-        if (expectedJsonObject != null && actualJsonObject != null) {
-            // if expected is an object and actual is also an object
-            try {
-                JSONAssert.assertEquals(expectedJsonObject.toString(), actualJsonObject.toString(), JSONCompareMode.NON_EXTENSIBLE);
-                return true;
-            } catch (JSONException e) {
-                return false;
+    private static boolean compareJSONContains(Object expectedJson, Object actualJson) {
+        if (expectedJson instanceof List<?> expectedJsonArray) {
+            if (actualJson instanceof List<?> actualJsonArray) {
+                // if expected is an array and actual is also an array, or the user provided the path to extract it
+                return actualJsonArray.containsAll(expectedJsonArray);
             }
-        } else {
-            // if expected is an array and actual response is also an array
-            try {
-                JSONAssert.assertEquals(expectedJsonArray.toString(), actualJsonArray.toString(), JSONCompareMode.NON_EXTENSIBLE);
-                return true;
-            } catch (JSONException e) {
-                return false;
-            }
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    private static boolean compareJSONContains(Response response, org.json.simple.JSONObject expectedJsonObject,
-                                               org.json.simple.JSONArray expectedJsonArray, org.json.simple.JSONObject actualJsonObject,
-                                               String jsonPathToTargetArray)
-            throws JSONException, ParseException {
-        JSONParser parser = new JSONParser();
-        if (!jsonPathToTargetArray.equals("") && (expectedJsonArray != null)) {
-            // if expected is an array and the user provided the path to extract it from the
-            // response
-            org.json.simple.JSONArray actualJsonArray = (org.json.simple.JSONArray) parser
-                    .parse((new Gson()).toJsonTree(getResponseJSONValueAsList(response, jsonPathToTargetArray))
-                            .getAsJsonArray().toString());
-            return actualJsonArray.containsAll(expectedJsonArray);
-        } else if (jsonPathToTargetArray.equals("") && (expectedJsonArray != null)) {
             // if expected is an array and the user did not provide the path to extract it
             // from the response
-            String actual = (new Gson()).toJson(actualJsonObject);
+            String actual = (new Gson()).toJson(actualJson);
             String expected = (new Gson()).toJson(expectedJsonArray);
             return actual.contains(expected.substring(1));
-        } else if (expectedJsonObject != null) {
+        } else if (expectedJson instanceof Map) {
             // if expected is an object and actual is also an object
-            boolean initialComparison = JSONCompare.compareJSON(expectedJsonObject.toJSONString(),
-                    actualJsonObject.toJSONString(), JSONCompareMode.LENIENT).passed();
+            boolean initialComparison = JsonComparator.contains(expectedJson, actualJson);
             if (Boolean.FALSE.equals(initialComparison)) {
                 // secondary comparison using java contains
                 // not tested
-                return actualJsonObject.toString().contains(expectedJsonObject.toString());
+                return String.valueOf(actualJson).contains(expectedJson.toString());
             } else {
                 return initialComparison;
             }
@@ -1016,12 +1016,19 @@ public class RestActions {
 
         // fixing issue with non-unicode content being encoded with a non UTF-8 charset
         // adding timeouts
+        HttpClientConfig httpClientConfig;
+        if (connectionPool != null) {
+            connectionPool.evictIdleConnections();
+            httpClientConfig = connectionPool.getHttpClientConfig(HTTP_CONNECTION_TIMEOUT * 1000, HTTP_SOCKET_TIMEOUT * 1000, HTTP_CONNECTION_MANAGER_TIMEOUT * 1000);
+        } else {
+            httpClientConfig = httpClientConfig()
+                    .setParam("http.connection.timeout", HTTP_CONNECTION_TIMEOUT * 1000)
+                    .setParam("http.socket.timeout", HTTP_SOCKET_TIMEOUT * 1000)
+                    .setParam("http.connection-manager.timeout", HTTP_CONNECTION_MANAGER_TIMEOUT * 1000);
+        }
         builder.setConfig(
                 (new RestAssuredConfig()).encoderConfig((new EncoderConfig()).defaultContentCharset("UTF-8").appendDefaultContentCharsetToContentTypeIfUndefined(appendDefaultContentCharsetToContentTypeIfUndefined)).and()
-                        .httpClient(httpClientConfig()
-                                .setParam("http.connection.timeout", HTTP_CONNECTION_TIMEOUT * 1000)
-                                .setParam("http.socket.timeout", HTTP_SOCKET_TIMEOUT * 1000)
-                                .setParam("http.connection-manager.timeout", HTTP_CONNECTION_MANAGER_TIMEOUT * 1000)));
+                        .httpClient(httpClientConfig));
         // timeouts documentation
         /*
          * CoreConnectionPNames.SO_TIMEOUT='http.socket.timeout': defines the socket
@@ -1073,6 +1080,32 @@ public class RestActions {
         return this;
     }
 
+    /**
+     * Enables or disables reusing persistent HTTP connections across the requests of the current session.
+     * Enabling it gives this session its own bounded connection pool, while disabling it closes the pooled connections
+     * and logs how many requests reused them. Defaults to the shared pool in case the apiConnectionPooling property is enabled.
+     *
+     * @param connectionPooling true to send the requests of this session using pooled connections
+     * @return self-reference to be used for chaining actions
+     */
+    public RestActions setConnectionPooling(boolean connectionPooling) {
+        if (ownsConnectionPool) {
+            connectionPool.shutdown();
+        }
+        connectionPool = connectionPooling ? new HttpConnectionPool() : null;
+        ownsConnectionPool = connectionPooling;
+        return this;
+    }
+
+    /**
+     * Gets the connection pool used by the current session, which exposes its connection reuse statistics
+     *
+     * @return the connection pool of this session, or null in case connection pooling is disabled
+     */
+    public HttpConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
     protected String prepareRequestURL(String serviceURI, String urlArguments, String serviceName) {
         if (urlArguments != null && !urlArguments.equals("")) {
             return serviceURI + serviceName + ARGUMENTSEPARATOR + urlArguments;
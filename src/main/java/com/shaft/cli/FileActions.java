@@ -5,6 +5,7 @@ import com.shaft.tools.io.PdfFileManager;
 import com.shaft.tools.io.ReportManager;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
 import io.github.shafthq.shaft.tools.support.JavaHelper;
+import io.github.shafthq.shaft.tools.support.StackHelper;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.filefilter.TrueFileFilter;
@@ -598,23 +599,23 @@ public class FileActions {
     }
 
     private void passAction(String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         reportActionResult(actionName, testData, null, true);
     }
 
     private void passAction(String testData, String log) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         reportActionResult(actionName, testData, log, true);
     }
 
     private void failAction(String testData, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         failAction(actionName, testData, rootCauseException);
 
     }
 
     private void failAction(Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         failAction(actionName, null, rootCauseException);
     }
 
@@ -657,9 +658,7 @@ public class FileActions {
 
         // Minimize File Action log steps and move them to discrete logs if called
         // within SHAFT_Engine itself
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-        StackTraceElement parentMethod = stackTrace[4];
-        if (parentMethod.getClassName().contains("shaft")) {
+        if (StackHelper.getClassName(3).contains("shaft")) {
             ReportManager.logDiscrete(message);
         } else {
             if (!attachments.equals(new ArrayList<>())) {
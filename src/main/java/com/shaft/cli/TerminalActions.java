@@ -6,6 +6,7 @@ import com.jcraft.jsch.JSchException;
 import com.jcraft.jsch.Session;
 import com.shaft.tools.io.ReportManager;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+import io.github.shafthq.shaft.tools.support.StackHelper;
 import org.testng.Assert;
 
 import java.io.BufferedReader;
@@ -244,7 +245,7 @@ public class TerminalActions {
     }
 
     private void passAction(String testData, String log) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         passAction(actionName, testData, log);
     }
 
@@ -258,7 +259,7 @@ public class TerminalActions {
     }
 
     private void failAction(String testData, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         failAction(actionName, testData, rootCauseException);
     }
 
@@ -1,14 +1,21 @@
 package com.shaft.db;
 
 import com.shaft.tools.io.ReportManager;
+import io.github.shafthq.shaft.db.DatabaseConnectionPool;
+import io.github.shafthq.shaft.db.ResultSetRowIterator;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+import io.github.shafthq.shaft.tools.support.StackHelper;
 import org.testng.Assert;
 
+import javax.sql.RowSetMetaData;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.Executors;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public class DatabaseActions {
     private DatabaseType dbType;
@@ -18,6 +25,7 @@ public class DatabaseActions {
     private String username;
     private String password;
     private String customConnectionString;
+    private boolean connectionPooling = Boolean.parseBoolean(System.getProperty("databaseConnectionPooling"));
 
     /**
      * This constructor is used for initializing the database variables that are
@@ -182,17 +190,17 @@ public class DatabaseActions {
     }
 
     private static void passAction(String testData, String queryResult) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         passAction(actionName, testData, queryResult);
     }
 
     private static void passAction(String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         passAction(actionName, testData, null);
     }
 
     private static void passAction() {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         passAction(actionName, null, null);
     }
 
@@ -206,12 +214,12 @@ public class DatabaseActions {
     }
 
     private static void failAction(String testData, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         failAction(actionName, testData, rootCauseException);
     }
 
     private static void failAction(Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         failAction(actionName, null, rootCauseException);
     }
 
@@ -306,21 +314,28 @@ public class DatabaseActions {
     /**
      * Executes a SELECT statement and returns the result as a ResultSet object
      *
-     * @param sql an SQL statement to be sent to the database, typically a static
-     *            SQL SELECT statement
+     * @param sql        an SQL statement to be sent to the database, typically a static
+     *                   SQL SELECT statement, or a parameterized one using '?' placeholders
+     * @param parameters optional values to bind to the '?' placeholders of the query, in order
      * @return a ResultSet object that contains the data produced by the given
      * query; never null
      */
-    public ResultSet executeSelectQuery(String sql) {
+    public ResultSet executeSelectQuery(String sql, Object... parameters) {
         ResultSet resultSet = null;
         try {
-            resultSet = createStatement(createConnection()).executeQuery(sql);
+            if (connectionPooling) {
+                resultSet = executePooledSelectQuery(sql, parameters);
+            } else if (parameters.length == 0) {
+                resultSet = createStatement(createConnection()).executeQuery(sql);
+            } else {
+                resultSet = prepareStatement(createConnection(), sql, parameters).executeQuery();
+            }
         } catch (SQLException | NullPointerException rootCauseException) {
-            failAction(getReportMessage("SELECT", sql), rootCauseException);
+            failAction(getReportMessage("SELECT", sql, parameters), rootCauseException);
         }
 
         if (resultSet != null) {
-            passAction(getReportMessage("SELECT", sql), getResultStringValue(resultSet, true));
+            passAction(getReportMessage("SELECT", sql, parameters), getResultStringValue(resultSet, true));
         } else {
             failAction("Null or no resultSet was returned from executing this query \"" + sql + "\"");
         }
@@ -332,19 +347,26 @@ public class DatabaseActions {
      * Executes any DML or DDL statement and returns the result as a ResultSet
      * object
      *
-     * @param sql an SQL Data Manipulation Language (DML) statement, such as INSERT,
-     *            UPDATE or DELETE; or an SQL statement that returns nothing, such
-     *            as a DDL statement.
+     * @param sql        an SQL Data Manipulation Language (DML) statement, such as INSERT,
+     *                   UPDATE or DELETE; or an SQL statement that returns nothing, such
+     *                   as a DDL statement.
+     * @param parameters optional values to bind to the '?' placeholders of the query, in order
      * @return either (1) the row count for SQL Data Manipulation Language (DML)
      * statements or (2) 0 for SQL statements that return nothing
      */
-    private int executeDataManipulationQueries(String sql, String queryType) {
+    private int executeDataManipulationQueries(String sql, String queryType, Object... parameters) {
         var affectedRows = 0;
         try {
-            affectedRows = createStatement(createConnection()).executeUpdate(sql);
+            if (connectionPooling) {
+                affectedRows = executePooledUpdateQuery(sql, parameters);
+            } else if (parameters.length == 0) {
+                affectedRows = createStatement(createConnection()).executeUpdate(sql);
+            } else {
+                affectedRows = prepareStatement(createConnection(), sql, parameters).executeUpdate();
+            }
             passAction(sql);
         } catch (SQLException | NullPointerException rootCauseException) {
-            failAction(getReportMessage(queryType, sql), rootCauseException);
+            failAction(getReportMessage(queryType, sql, parameters), rootCauseException);
         }
         return affectedRows;
     }
@@ -353,28 +375,30 @@ public class DatabaseActions {
      * Executes any DML or DDL statement and returns the result as a ResultSet
      * object
      *
-     * @param sql an SQL Data Manipulation Language (DML) ;UPDATE statement,
-     *            or an SQL statement that returns nothing, such
-     *            as a DDL statement.
+     * @param sql        an SQL Data Manipulation Language (DML) ;UPDATE statement,
+     *                   or an SQL statement that returns nothing, such
+     *                   as a DDL statement.
+     * @param parameters optional values to bind to the '?' placeholders of the query, in order
      * @return either (1) the row count for SQL Data Manipulation Language (DML)
      * statements or (2) 0 for SQL statements that return nothing
      */
-    public int executeUpdateQuery(String sql) {
-        return executeDataManipulationQueries(sql, "UPDATE");
+    public int executeUpdateQuery(String sql, Object... parameters) {
+        return executeDataManipulationQueries(sql, "UPDATE", parameters);
     }
 
     /**
      * Executes any DML or DDL statement and returns the result as a ResultSet
      * object
      *
-     * @param sql an SQL Data Manipulation Language (DML) ;INSERT statement,
-     *            or an SQL statement that returns nothing, such
-     *            as a DDL statement.
+     * @param sql        an SQL Data Manipulation Language (DML) ;INSERT statement,
+     *                   or an SQL statement that returns nothing, such
+     *                   as a DDL statement.
+     * @param parameters optional values to bind to the '?' placeholders of the query, in order
      * @return either (1) the row count for SQL Data Manipulation Language (DML)
      * statements or (2) 0 for SQL statements that return nothing
      */
-    public int executeInsertQuery(String sql) {
-        return executeDataManipulationQueries(sql, "INSERT");
+    public int executeInsertQuery(String sql, Object... parameters) {
+        return executeDataManipulationQueries(sql, "INSERT", parameters);
 
     }
 
@@ -382,21 +406,229 @@ public class DatabaseActions {
      * Executes any DML or DDL statement and returns the result as a ResultSet
      * object
      *
-     * @param sql an SQL Data Manipulation Language (DML) ;DELETE statement,
-     *            or an SQL statement that returns nothing, such
-     *            as a DDL statement.
+     * @param sql        an SQL Data Manipulation Language (DML) ;DELETE statement,
+     *                   or an SQL statement that returns nothing, such
+     *                   as a DDL statement.
+     * @param parameters optional values to bind to the '?' placeholders of the query, in order
      * @return either (1) the row count for SQL Data Manipulation Language (DML)
      * statements or (2) 0 for SQL statements that return nothing
      */
-    public int executeDeleteQuery(String sql) {
-        return executeDataManipulationQueries(sql, "DELETE");
+    public int executeDeleteQuery(String sql, Object... parameters) {
+        return executeDataManipulationQueries(sql, "DELETE", parameters);
 
     }
 
-    private Connection createConnection() {
-        Connection connection = null;
+    /**
+     * Executes a SELECT statement and lazily streams its rows through a forward-only cursor, so that large results
+     * are never fully loaded into memory. Each row maps the column labels to their typed values.
+     * <p>
+     * The returned stream holds a database connection until it's closed, so it should be used within a
+     * try-with-resources block. Only a preview of the first rows that were read is attached to the report.
+     *
+     * @param sql        an SQL SELECT statement, optionally using '?' placeholders
+     * @param parameters optional values to bind to the '?' placeholders of the query, in order
+     * @return a lazy stream of the rows produced by the given query
+     */
+    public Stream<Map<String, Object>> streamSelectQuery(String sql, Object... parameters) {
+        var reportMessage = getReportMessage("SELECT", sql, parameters);
+        ResultSetRowIterator rows = null;
+        try {
+            rows = openRowIterator(sql, parameters);
+        } catch (SQLException | NullPointerException rootCauseException) {
+            failAction(reportMessage, rootCauseException);
+        }
+        var streamedRows = rows;
+        return streamedRows.stream()
+                .onClose(() -> passAction("streamSelectQuery", reportMessage + "| Rows Read: \"" + streamedRows.getRowsRead() + "\"", streamedRows.getPreview()));
+    }
+
+    /**
+     * Counts the rows returned by a SELECT statement while streaming them, without keeping them in memory
+     *
+     * @param sql        an SQL SELECT statement, optionally using '?' placeholders
+     * @param parameters optional values to bind to the '?' placeholders of the query, in order
+     * @return the number of rows produced by the given query
+     */
+    public long countRows(String sql, Object... parameters) {
+        long rowCount = 0;
+        var reportMessage = getReportMessage("SELECT", sql, parameters);
+        try (var rows = openRowIterator(sql, parameters)) {
+            while (rows.hasNext()) {
+                rows.next();
+                rowCount++;
+            }
+        } catch (SQLException | IllegalStateException | NullPointerException rootCauseException) {
+            failAction(reportMessage, rootCauseException);
+        }
+        passAction(reportMessage + "| Row Count: \"" + rowCount + "\"");
+        return rowCount;
+    }
+
+    /**
+     * Streams the rows returned by a SELECT statement and returns the ones that contain the known cell value under
+     * the target column, without keeping the other rows in memory
+     *
+     * @param sql            an SQL SELECT statement, optionally using '?' placeholders
+     * @param columnName     the name of the column holding the knownCellValue
+     * @param knownCellValue a value that the engine searches for under the
+     *                       specified columnName, when that value is found, the row
+     *                       that contains it is added to the returned string
+     * @param parameters     optional values to bind to the '?' placeholders of the query, in order
+     * @return a string value which represents the data of the matching rows
+     */
+    public String findRows(String sql, String columnName, String knownCellValue, Object... parameters) {
+        String reportMessage = getReportMessage("SELECT", sql, parameters) + "| Column Name: \"" + columnName + "\" | Cell Content: \"" + knownCellValue + "\"";
+        var str = new StringBuilder();
+        var foundRow = false;
+        try (var rows = openRowIterator(sql, parameters)) {
+            var targetColumnLabel = rows.getColumnLabel(columnName);
+            while (rows.hasNext()) {
+                var row = rows.next();
+                if (String.valueOf(row.get(targetColumnLabel)).trim().equals(knownCellValue.trim())) {
+                    row.values().forEach(value -> str.append(value).append("\t"));
+                    str.append("\n");
+                    foundRow = true;
+                }
+            }
+        } catch (SQLException | IllegalStateException | NullPointerException rootCauseException) {
+            failAction(reportMessage, rootCauseException);
+        }
+        if (Boolean.TRUE.equals(foundRow)) {
+            passAction(reportMessage);
+        } else {
+            failAction(reportMessage);
+        }
+        return str.toString().trim();
+    }
+
+    /**
+     * Enables or disables reusing pooled connections and cached prepared statements for the queries of this instance.
+     * Pooled SELECT queries return a disconnected, scrollable copy of their results so that the connection can be
+     * returned to the pool right away. Defaults to the databaseConnectionPooling property.
+     *
+     * @param connectionPooling true to execute the queries using pooled connections
+     * @return self-reference to be used to chain actions
+     */
+    public DatabaseActions setConnectionPooling(boolean connectionPooling) {
+        this.connectionPooling = connectionPooling;
+        return this;
+    }
+
+    private ResultSet executePooledSelectQuery(String sql, Object... parameters) throws SQLException {
+        var connectionPool = getConnectionPool();
+        var pooledConnection = connectionPool.borrow();
+        try {
+            var preparedStatement = pooledConnection.prepareStatement(sql);
+            bindParameters(preparedStatement, parameters);
+            try (var resultSet = preparedStatement.executeQuery()) {
+                CachedRowSet cachedRowSet = RowSetProvider.newFactory().createCachedRowSet();
+                cachedRowSet.populate(resultSet);
+                // the cached row set only finds columns by their names, so aliased columns are renamed to their labels
+                var metaData = (RowSetMetaData) cachedRowSet.getMetaData();
+                for (var i = 1; i <= metaData.getColumnCount(); i++) {
+                    metaData.setColumnName(i, metaData.getColumnLabel(i));
+                }
+                return cachedRowSet;
+            }
+        } finally {
+            connectionPool.release(pooledConnection);
+        }
+    }
+
+    private int executePooledUpdateQuery(String sql, Object... parameters) throws SQLException {
+        var connectionPool = getConnectionPool();
+        var pooledConnection = connectionPool.borrow();
+        try {
+            var preparedStatement = pooledConnection.prepareStatement(sql);
+            bindParameters(preparedStatement, parameters);
+            return preparedStatement.executeUpdate();
+        } finally {
+            connectionPool.release(pooledConnection);
+        }
+    }
+
+    private ResultSetRowIterator openRowIterator(String sql, Object... parameters) throws SQLException {
+        var connectionString = getConnectionString();
+        var maximumPreviewRows = Integer.parseInt(System.getProperty("databaseResultPreviewRows").trim());
+        // the mysql driver only streams rows using this special fetch size, and the postgresql driver only uses
+        // cursors within a transaction, otherwise they both read the whole result into memory
+        var fetchSize = connectionString.startsWith("jdbc:mysql") ? Integer.MIN_VALUE : Integer.parseInt(System.getProperty("databaseFetchSize").trim());
+        var cursorRequiresTransaction = connectionString.startsWith("jdbc:postgresql");
+
+        if (connectionPooling) {
+            var connectionPool = getConnectionPool();
+            var pooledConnection = connectionPool.borrow();
+            var connection = pooledConnection.getConnection();
+            try {
+                if (cursorRequiresTransaction) {
+                    connection.setAutoCommit(false);
+                }
+                var preparedStatement = pooledConnection.prepareStatement(sql);
+                preparedStatement.setFetchSize(fetchSize);
+                bindParameters(preparedStatement, parameters);
+                var resultSet = preparedStatement.executeQuery();
+                return new ResultSetRowIterator(resultSet, maximumPreviewRows, () -> {
+                    var isConnectionReusable = false;
+                    try {
+                        resultSet.close();
+                        if (cursorRequiresTransaction) {
+                            connection.commit();
+                            connection.setAutoCommit(true);
+                        }
+                        isConnectionReusable = true;
+                    } finally {
+                        if (isConnectionReusable) {
+                            connectionPool.release(pooledConnection);
+                        } else {
+                            connectionPool.discard(pooledConnection);
+                        }
+                    }
+                });
+            } catch (SQLException | RuntimeException rootCauseException) {
+                var isConnectionReusable = false;
+                try {
+                    if (cursorRequiresTransaction) {
+                        connection.rollback();
+                        connection.setAutoCommit(true);
+                    }
+                    isConnectionReusable = true;
+                } catch (SQLException | RuntimeException rollbackException) {
+                    rootCauseException.addSuppressed(rollbackException);
+                } finally {
+                    if (isConnectionReusable) {
+                        connectionPool.release(pooledConnection);
+                    } else {
+                        // a connection that is still within the failed transaction must not be reused
+                        connectionPool.discard(pooledConnection);
+                    }
+                }
+                throw rootCauseException;
+            }
+        } else {
+            var connection = createConnection();
+            try {
+                if (cursorRequiresTransaction) {
+                    connection.setAutoCommit(false);
+                }
+                var preparedStatement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                preparedStatement.setFetchSize(fetchSize);
+                bindParameters(preparedStatement, parameters);
+                // closing the connection also closes its statement and result set
+                return new ResultSetRowIterator(preparedStatement.executeQuery(), maximumPreviewRows, connection::close);
+            } catch (SQLException | RuntimeException rootCauseException) {
+                connection.close();
+                throw rootCauseException;
+            }
+        }
+    }
+
+    private DatabaseConnectionPool getConnectionPool() {
+        return DatabaseConnectionPool.getInstance(getConnectionString(), username, password, this::createConnection);
+    }
+
+    private String getConnectionString() {
         var connectionString = "";
-        if (!this.customConnectionString.equals("")) {
+        if (this.customConnectionString != null && !this.customConnectionString.isBlank()) {
             connectionString = this.customConnectionString;
         } else {
             switch (dbType) {
@@ -412,14 +644,25 @@ public class DatabaseActions {
                 }
             }
         }
+        return connectionString;
+    }
+
+    private Connection createConnection() {
+        Connection connection = null;
+        var connectionString = getConnectionString();
         try {
             DriverManager.setLoginTimeout(Integer.parseInt(System.getProperty("databaseLoginTimeout")));
             connection = DriverManager.getConnection(connectionString, username, password);
-            if (!dbType.toString().equals("MY_SQL") && !dbType.toString().equals("POSTGRE_SQL")) {
+            if (dbType != DatabaseType.MY_SQL && dbType != DatabaseType.POSTGRE_SQL) {
                 // com.mysql.jdbc.JDBC4Connection.setNetworkTimeout
                 // org.postgresql.jdbc4.Jdbc4Connection.setNetworkTimeout
-                connection.setNetworkTimeout(Executors.newFixedThreadPool(1),
-                        Integer.parseInt(System.getProperty("databaseNetworkTimeout")) * 60000);
+                try {
+                    connection.setNetworkTimeout(DatabaseConnectionPool.getNetworkTimeoutExecutor(),
+                            Integer.parseInt(System.getProperty("databaseNetworkTimeout")) * 60000);
+                } catch (SQLFeatureNotSupportedException | AbstractMethodError rootCauseException) {
+                    // custom connection strings may point to drivers that don't support network timeouts
+                    ReportManager.logDiscrete("Network timeout is not supported for this connection string \"" + connectionString + "\"");
+                }
             }
         } catch (SQLException rootCauseException) {
             failAction(connectionString, rootCauseException);
@@ -458,14 +701,34 @@ public class DatabaseActions {
         return statement;
     }
 
-    private String getReportMessage(String queryType, String query) {
+    private PreparedStatement prepareStatement(Connection connection, String sql, Object... parameters) throws SQLException {
+        var preparedStatement = connection.prepareStatement(sql, ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        try {
+            preparedStatement.setQueryTimeout(Integer.parseInt(System.getProperty("databaseQueryTimeout")));
+        } catch (SQLFeatureNotSupportedException rootCauseException) {
+            if (!rootCauseException.getMessage().contains("org.postgresql.jdbc4.Jdbc4Statement.setQueryTimeout")) {
+                throw rootCauseException;
+            }
+        }
+        bindParameters(preparedStatement, parameters);
+        return preparedStatement;
+    }
+
+    private void bindParameters(PreparedStatement preparedStatement, Object... parameters) throws SQLException {
+        for (var i = 0; i < parameters.length; i++) {
+            preparedStatement.setObject(i + 1, parameters[i]);
+        }
+    }
+
+    private String getReportMessage(String queryType, String query, Object... parameters) {
         return "Database Type: \"" + dbType + "\"" +
                 "| Server: \"" + dbServerIP + ":" + dbPort + "\"" +
                 "| Name: \"" + dbName + "\"" +
                 "| Username: \"" + username + "\"" +
-                "| Password: \"" + password.replaceAll(".", "*") + "\"" +
+                "| Password: \"" + (password != null ? password.replaceAll(".", "*") : null) + "\"" +
                 "| Query Type: \"" + queryType + "\"" +
-                "| Query: \"" + query + "\"";
+                "| Query: \"" + query + "\"" +
+                (parameters.length > 0 ? "| Parameters: \"" + Arrays.toString(parameters) + "\"" : "");
     }
 
     public enum DatabaseType {
@@ -26,6 +26,8 @@ import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.support.events.EventFiringDecorator;
 import org.sikuli.script.App;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 
@@ -298,7 +300,12 @@ public class SHAFT {
             ReportManagerHelper.attach(attachmentType, attachmentName, attachmentContent);
         }
         public static void attach(String attachmentType, String attachmentName, InputStream attachmentContent) {
-            ReportManagerHelper.attach(attachmentType, attachmentName, attachmentContent);
+            // the content is read right away, since the caller may close the stream as soon as this method returns
+            try {
+                ReportManagerHelper.attach(attachmentType, attachmentName, new ByteArrayInputStream(attachmentContent.readAllBytes()));
+            } catch (IOException e) {
+                ReportManagerHelper.logDiscrete(e);
+            }
         }
     }
 }
@@ -6,9 +6,10 @@ import com.shaft.gui.element.SikuliActions;
 import com.shaft.gui.element.TouchActions;
 import com.shaft.tools.io.ReportManager;
 import io.github.shafthq.shaft.gui.browser.BrowserActionsHelpers;
+import io.github.shafthq.shaft.gui.browser.BrowserActionsHelpers.PageFingerprint;
 import io.github.shafthq.shaft.gui.browser.FluentBrowserActions;
 import io.github.shafthq.shaft.gui.browser.JavaScriptWaitManager;
-import io.github.shafthq.shaft.gui.element.ElementActionsHelper;
+import io.github.shafthq.shaft.gui.element.ElementReferenceCache;
 import io.github.shafthq.shaft.gui.element.FluentElementActions;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
 import io.github.shafthq.shaft.tools.support.JavaScriptHelper;
@@ -259,7 +260,7 @@ public class BrowserActions extends FluentBrowserActions {
         }
         try {
             JavaScriptWaitManager.waitForLazyLoading(driver);
-            String initialSource = driver.getPageSource();
+            PageFingerprint initialFingerprint = getPageFingerprint(driver);
             String initialURL = driver.getCurrentUrl();
             // remove trailing slash which may cause comparing the current and target urls
             // to fail
@@ -267,13 +268,15 @@ public class BrowserActions extends FluentBrowserActions {
                 initialURL = initialURL.substring(0, initialURL.length() - 1);
             }
             ReportManager.logDiscrete("Initial URL: \"" + initialURL + "\"");
+            ElementReferenceCache.invalidateCurrent();
             if (!initialURL.equals(modifiedTargetUrl)) {
                 // navigate to new url
                 navigateToNewURL(driver, initialURL, modifiedTargetUrl, targetUrlAfterRedirection);
                 JavaScriptWaitManager.waitForLazyLoading(driver);
-                if ((ElementActionsHelper.getElementsCount(driver, By.tagName("html")) == 1)
-                        && (!driver.getPageSource().equalsIgnoreCase(initialSource))) {
-                    confirmThatWebsiteIsNotDown(driver, modifiedTargetUrl);
+                PageFingerprint currentFingerprint = getPageFingerprint(driver, initialFingerprint);
+                if ((currentFingerprint.htmlElements() == 1)
+                        && (currentFingerprint.isDifferentFrom(initialFingerprint))) {
+                    confirmThatWebsiteIsNotDown(driver, modifiedTargetUrl, currentFingerprint);
                     passAction(driver, modifiedTargetUrl);
                 } else {
                     failAction(driver, modifiedTargetUrl);
@@ -282,8 +285,9 @@ public class BrowserActions extends FluentBrowserActions {
                 // already on the same page
                 driver.navigate().refresh();
                 JavaScriptWaitManager.waitForLazyLoading(driver);
-                if (ElementActionsHelper.getElementsCount(driver, By.tagName("html")) == 1) {
-                    confirmThatWebsiteIsNotDown(driver, modifiedTargetUrl);
+                PageFingerprint currentFingerprint = getPageFingerprint(driver);
+                if (currentFingerprint.htmlElements() == 1) {
+                    confirmThatWebsiteIsNotDown(driver, modifiedTargetUrl, currentFingerprint);
                     passAction(driver, modifiedTargetUrl);
                 }
             }
@@ -350,6 +354,7 @@ public class BrowserActions extends FluentBrowserActions {
         try {
             initialURL = driver.getCurrentUrl();
             driver.navigate().back();
+            ElementReferenceCache.invalidateCurrent();
             JavaScriptWaitManager.waitForLazyLoading(driver);
             BrowserActionsHelpers.waitUntilURLIsNot(driver, initialURL);
             newURL = driver.getCurrentUrl();
@@ -376,6 +381,7 @@ public class BrowserActions extends FluentBrowserActions {
         try {
             initialURL = driver.getCurrentUrl();
             driver.navigate().forward();
+            ElementReferenceCache.invalidateCurrent();
             JavaScriptWaitManager.waitForLazyLoading(driver);
             BrowserActionsHelpers.waitUntilURLIsNot(driver, initialURL);
             newURL = driver.getCurrentUrl();
@@ -398,6 +404,7 @@ public class BrowserActions extends FluentBrowserActions {
     public static void refreshCurrentPage(WebDriver driver) {
         JavaScriptWaitManager.waitForLazyLoading(driver);
         driver.navigate().refresh();
+        ElementReferenceCache.invalidateCurrent();
         passAction(driver, driver.getPageSource());
     }
 
@@ -558,6 +565,7 @@ public class BrowserActions extends FluentBrowserActions {
         try {
             var handleBeforeNavigation = driver.getWindowHandle();
             driver.switchTo().newWindow(WindowType.TAB).navigate().to(URL);
+            ElementReferenceCache.invalidateCurrent();
             var handleAfterNavigation = driver.getWindowHandle();
             if (!handleBeforeNavigation.equals(handleAfterNavigation)) {
                 ReportManager.logDiscrete("Old Tab Handle: \"" + handleBeforeNavigation + "\", New Tab handle : \"" + handleAfterNavigation + "\"");
@@ -581,6 +589,7 @@ public class BrowserActions extends FluentBrowserActions {
     public static void switchToWindow(WebDriver driver, String nameOrHandle) {
         if (driver.getWindowHandles().contains(nameOrHandle)) {
             driver.switchTo().window(nameOrHandle);
+            ElementReferenceCache.invalidateCurrent();
             passAction(driver, nameOrHandle);
         } else {
             failAction(driver, nameOrHandle);
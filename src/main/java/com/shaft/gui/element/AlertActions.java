@@ -4,6 +4,7 @@ import com.shaft.tools.io.ReportManager;
 import io.github.shafthq.shaft.driver.DriverFactoryHelper;
 import io.github.shafthq.shaft.gui.element.ElementActionsHelper;
 import io.github.shafthq.shaft.gui.element.FluentElementActions;
+import io.github.shafthq.shaft.tools.support.StackHelper;
 import org.openqa.selenium.NoAlertPresentException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -42,7 +43,7 @@ public class AlertActions {
     public boolean isAlertPresent() {
         try {
             DriverFactoryHelper.getDriver().get().switchTo().alert();
-            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, null);
+            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), null, null, null);
             ReportManager.logDiscrete("Alert is present");
             return true;
         } catch (NoAlertPresentException exception) {
@@ -59,7 +60,7 @@ public class AlertActions {
         try {
             waitForAlertToBePresent();
             DriverFactoryHelper.getDriver().get().switchTo().alert().accept();
-            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, null);
+            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), null, null, null);
         } catch (Exception rootCauseException) {
             ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null, rootCauseException);
         }
@@ -70,7 +71,7 @@ public class AlertActions {
         try {
             waitForAlertToBePresent();
             DriverFactoryHelper.getDriver().get().switchTo().alert().dismiss();
-            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, null);
+            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), null, null, null);
         } catch (Exception rootCauseException) {
             ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null, rootCauseException);
         }
@@ -82,7 +83,7 @@ public class AlertActions {
             waitForAlertToBePresent();
             var alertText = DriverFactoryHelper.getDriver().get().switchTo().alert().getText();
             ReportManager.logDiscrete("Alert Text is: [" + alertText + "]");
-            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, null);
+            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), null, null, null);
             return alertText;
         } catch (Exception rootCauseException) {
             ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null, rootCauseException);
@@ -95,7 +96,7 @@ public class AlertActions {
             waitForAlertToBePresent();
             DriverFactoryHelper.getDriver().get().switchTo().alert().sendKeys(text);
             ReportManager.logDiscrete("Text typed into Alert is: [" + text + "]");
-            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, null);
+            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), null, null, null);
         } catch (Exception rootCauseException) {
             ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null, rootCauseException);
         }
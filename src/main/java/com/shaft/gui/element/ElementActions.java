@@ -8,8 +8,10 @@ import io.appium.java_client.ios.IOSDriver;
 import io.github.shafthq.shaft.driver.DriverFactoryHelper;
 import io.github.shafthq.shaft.gui.browser.FluentBrowserActions;
 import io.github.shafthq.shaft.gui.element.ElementActionsHelper;
+import io.github.shafthq.shaft.gui.element.ElementReferenceCache;
 import io.github.shafthq.shaft.gui.element.FluentElementActions;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+import io.github.shafthq.shaft.tools.support.StackHelper;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
@@ -131,7 +133,7 @@ public class ElementActions extends FluentElementActions {
         }
         try {
             ElementActionsHelper.scrollToFindElement(driver, elementLocator);
-            passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, getElementName(driver, elementLocator));
+            passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), null, null, getElementName(driver, elementLocator));
         } catch (Exception throwable) {
             failAction(driver, elementLocator, throwable);
         }
@@ -153,7 +155,7 @@ public class ElementActions extends FluentElementActions {
             if (Boolean.FALSE.equals(ElementActionsHelper.waitForElementToBeClickable(driver, elementLocator, Optional.of("clickAndHold")))) {
                 failAction(driver, "element is not clickable", elementLocator);
             }
-            passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, elementName);
+            passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), null, null, elementName);
         } catch (Throwable throwable) {
             // has to be throwable to catch assertion errors in case element was not found
             if (Throwables.getRootCause(throwable).getClass().getName().equals(org.openqa.selenium.NoSuchElementException.class.getName())) {
@@ -186,7 +188,7 @@ public class ElementActions extends FluentElementActions {
                 wasActionPerformed = ElementActionsHelper.performClipboardActions(driver, elementLocator, action, Keys.CONTROL);
             }
             if (Boolean.TRUE.equals(wasActionPerformed)) {
-                passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), action, null, elementName);
+                passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), action, null, elementName);
             } else {
                 failAction(driver, action, elementLocator);
             }
@@ -215,7 +217,7 @@ public class ElementActions extends FluentElementActions {
             } catch (Exception e) {
                 failAction(driver, elementLocator, e);
             }
-            passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), null, attachments, elementName);
+            passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), null, attachments, elementName);
         } catch (Throwable throwable) {
             // has to be throwable to catch assertion errors in case element was not found
             if (Throwables.getRootCause(throwable).getClass().getName().equals(org.openqa.selenium.NoSuchElementException.class.getName())) {
@@ -259,7 +261,7 @@ public class ElementActions extends FluentElementActions {
             String endLocation = ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, sourceElementLocator).get(1)).getLocation().toString();
             String reportMessage = "Start point: " + startLocation + ", End point: " + endLocation;
             if (!endLocation.equals(startLocation)) {
-                passAction(driver, sourceElementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), reportMessage, null, elementName);
+                passAction(driver, sourceElementLocator, StackHelper.getCurrentMethodName(), reportMessage, null, elementName);
             } else {
                 try {
                     ElementActionsHelper.dragAndDropUsingActions(driver, sourceElementLocator, destinationElementLocator);
@@ -272,7 +274,7 @@ public class ElementActions extends FluentElementActions {
                 // get source element end location
                 endLocation = ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, sourceElementLocator).get(1)).getLocation().toString();
                 if (!endLocation.equals(startLocation)) {
-                    passAction(driver, sourceElementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), reportMessage, null, elementName);
+                    passAction(driver, sourceElementLocator, StackHelper.getCurrentMethodName(), reportMessage, null, elementName);
                 } else {
                     failAction(driver, reportMessage, sourceElementLocator);
                 }
@@ -314,7 +316,7 @@ public class ElementActions extends FluentElementActions {
             }
             String endLocation = driver.findElement(sourceElementLocator).getLocation().toString();
             if (!endLocation.equals(startLocation)) {
-                passAction(driver, sourceElementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), "Start point: " + startLocation + ", End point: " + endLocation, null, elementName);
+                passAction(driver, sourceElementLocator, StackHelper.getCurrentMethodName(), "Start point: " + startLocation + ", End point: " + endLocation, null, elementName);
             } else {
                 failAction(driver, "Start point = End point: " + endLocation, sourceElementLocator);
             }
@@ -341,7 +343,7 @@ public class ElementActions extends FluentElementActions {
         try {
             ElementActionsHelper.executeNativeMobileCommandUsingJavascript(driver, command, parameters);
             var testData = "Command: " + command + ", Parameters: " + parameters;
-            passAction(driver, null, Thread.currentThread().getStackTrace()[1].getMethodName(), testData, null, null);
+            passAction(driver, null, StackHelper.getCurrentMethodName(), testData, null, null);
         } catch (Exception rootCauseException) {
             failAction(driver, null, rootCauseException);
         }
@@ -391,7 +393,7 @@ public class ElementActions extends FluentElementActions {
             var elementName = getElementName(driver, elementLocator);
             try {
                 String elementAttribute = ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).getAttribute(attributeName);
-                passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), elementAttribute, null, elementName);
+                passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), elementAttribute, null, elementName);
                 return elementAttribute;
             } catch (UnsupportedCommandException rootCauseException) {
                 failAction(driver, elementLocator, rootCauseException);
@@ -429,7 +431,7 @@ public class ElementActions extends FluentElementActions {
         try {
             var elementName = getElementName(driver, elementLocator);
             String elementCssProperty = ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).getCssValue(propertyName);
-            passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), elementCssProperty, null, elementName);
+            passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), elementCssProperty, null, elementName);
             return elementCssProperty;
         } catch (Throwable throwable) {
             // has to be throwable to catch assertion errors in case element was not found
@@ -459,7 +461,7 @@ public class ElementActions extends FluentElementActions {
         } else {
             failAction(driver, null);
         }
-        passAction(driver, null, Thread.currentThread().getStackTrace()[1].getMethodName(), context, null, null);
+        passAction(driver, null, StackHelper.getCurrentMethodName(), context, null, null);
         return context;
     }
 
@@ -480,7 +482,7 @@ public class ElementActions extends FluentElementActions {
         } else {
             failAction(driver, null);
         }
-        passAction(driver, null, Thread.currentThread().getStackTrace()[1].getMethodName(), String.valueOf(windowHandles), null, null);
+        passAction(driver, null, StackHelper.getCurrentMethodName(), String.valueOf(windowHandles), null, null);
         return windowHandles;
     }
 
@@ -500,7 +502,7 @@ public class ElementActions extends FluentElementActions {
             StringBuilder elementSelectedText = new StringBuilder();
             try {
                 new Select(((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1))).getAllSelectedOptions().forEach(selectedOption -> elementSelectedText.append(selectedOption.getText()));
-                passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), elementSelectedText.toString().trim(), null, elementName);
+                passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), elementSelectedText.toString().trim(), null, elementName);
                 return elementSelectedText.toString().trim();
             } catch (UnexpectedTagNameException rootCauseException) {
                 failAction(driver, elementLocator, rootCauseException);
@@ -531,7 +533,7 @@ public class ElementActions extends FluentElementActions {
         try {
             var elementName = getElementName(driver, elementLocator);
             String elementSize = ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).getSize().toString();
-            passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), elementSize, null, elementName);
+            passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), elementSize, null, elementName);
             return elementSize;
         } catch (Throwable throwable) {
             // has to be throwable to catch assertion errors in case element was not found
@@ -557,7 +559,7 @@ public class ElementActions extends FluentElementActions {
         try {
             var elementName = getElementName(driver, elementLocator);
             String elementTagName = ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).getTagName();
-            passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), elementTagName, null, elementName);
+            passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), elementTagName, null, elementName);
             return elementTagName;
         } catch (Throwable throwable) {
             // has to be throwable to catch assertion errors in case element was not found
@@ -592,7 +594,7 @@ public class ElementActions extends FluentElementActions {
             if (elementText == null) {
                 elementText = "";
             }
-            passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), elementText, null, elementName);
+            passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), elementText, null, elementName);
             return elementText;
         } catch (Throwable throwable) {
             // has to be throwable to catch assertion errors in case element was not found
@@ -615,7 +617,7 @@ public class ElementActions extends FluentElementActions {
     @Deprecated
     public static String getWindowHandle(WebDriver driver) {
         String nameOrHandle = driver.getWindowHandle();
-        passAction(driver, null, Thread.currentThread().getStackTrace()[1].getMethodName(), nameOrHandle, null, null);
+        passAction(driver, null, StackHelper.getCurrentMethodName(), nameOrHandle, null, null);
         return nameOrHandle;
     }
 
@@ -629,7 +631,7 @@ public class ElementActions extends FluentElementActions {
     @Deprecated
     public static List<String> getWindowHandles(WebDriver driver) {
         List<String> windowHandles = new ArrayList<>(driver.getWindowHandles());
-        passAction(driver, null, Thread.currentThread().getStackTrace()[1].getMethodName(), String.valueOf(windowHandles), null, null);
+        passAction(driver, null, StackHelper.getCurrentMethodName(), String.valueOf(windowHandles), null, null);
         return windowHandles;
     }
 
@@ -665,7 +667,7 @@ public class ElementActions extends FluentElementActions {
             } catch (Exception rootCauseException) {
                 failAction(driver, elementLocator, rootCauseException);
             }
-            passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, elementName);
+            passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), null, null, elementName);
         } catch (Throwable throwable) {
             // has to be throwable to catch assertion errors in case element was not found
             if (Throwables.getRootCause(throwable).getClass().getName().equals(org.openqa.selenium.NoSuchElementException.class.getName())) {
@@ -725,11 +727,11 @@ public class ElementActions extends FluentElementActions {
             var elementName = getElementName(driver, elementLocator);
             if (ElementActionsHelper.waitForElementToBeClickable(driver, elementLocator, Optional.empty())) {
                 //element is clickable
-                passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), "element is clickable", null, elementName);
+                passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), "element is clickable", null, elementName);
                 return true;
             } else {
                 //element is not clickable
-                passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), "element is not clickable", null, elementName);
+                passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), "element is not clickable", null, elementName);
                 return false;
             }
         } catch (Exception throwable) {
@@ -753,7 +755,7 @@ public class ElementActions extends FluentElementActions {
         try {
             var elementName = getElementName(driver, elementLocator);
             boolean isDisplayed = ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).isDisplayed();
-            passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, elementName);
+            passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), null, null, elementName);
             return isDisplayed;
         } catch (Throwable throwable) {
             // has to be throwable to catch assertion errors in case element was not found
@@ -791,7 +793,7 @@ public class ElementActions extends FluentElementActions {
                     failAction(driver, key, elementLocator);
                 }
             }
-            passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), key, null, elementName);
+            passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), key, null, elementName);
         } catch (Throwable throwable) {
             // has to be throwable to catch assertion errors in case element was not found
             if (Throwables.getRootCause(throwable).getClass().getName().equals(org.openqa.selenium.NoSuchElementException.class.getName())) {
@@ -845,9 +847,9 @@ public class ElementActions extends FluentElementActions {
                 failAction(driver, initialValue, elementLocator);
             }
             try {
-                passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), "from: \"" + initialValue + "\", to: \"" + getText(driver, elementLocator) + "\"", null, elementName);
+                passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), "from: \"" + initialValue + "\", to: \"" + getText(driver, elementLocator) + "\"", null, elementName);
             } catch (Exception e) {
-                passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), "from: \"" + initialValue + "\", to a new value.", null, elementName);
+                passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), "from: \"" + initialValue + "\", to a new value.", null, elementName);
             }
         } catch (Exception throwable) {
             failAction(driver, elementLocator, throwable);
@@ -878,7 +880,7 @@ public class ElementActions extends FluentElementActions {
                 String value = availableOptionsList.get(i).getAttribute("value");
                 if (visibleText.trim().equals(text) || value.trim().equals(text)) {
                     (new Select(((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)))).selectByIndex(i);
-                    passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), text, null, elementName);
+                    passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), text, null, elementName);
                     isOptionFound = true;
                     break;
                 }
@@ -912,7 +914,7 @@ public class ElementActions extends FluentElementActions {
         } else {
             failAction(driver, context, null);
         }
-        passAction(driver, null, Thread.currentThread().getStackTrace()[1].getMethodName(), context, null, null);
+        passAction(driver, null, StackHelper.getCurrentMethodName(), context, null, null);
     }
 
     /**
@@ -930,7 +932,7 @@ public class ElementActions extends FluentElementActions {
             var elementName = getElementName(driver, elementLocator);
             Boolean valueSetSuccessfully = ElementActionsHelper.setValueUsingJavascript(driver, elementLocator, value);
             if (Boolean.TRUE.equals(valueSetSuccessfully)) {
-                passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), value, null, elementName);
+                passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), value, null, elementName);
             } else {
                 failAction(driver, elementLocator);
             }
@@ -952,7 +954,7 @@ public class ElementActions extends FluentElementActions {
             var elementName = getElementName(driver, elementLocator);
             try {
                 ElementActionsHelper.submitFormUsingJavascript(driver, elementLocator);
-                passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, elementName);
+                passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), null, null, elementName);
             } catch (Exception rootCauseException) {
                 failAction(driver, elementLocator, rootCauseException);
             }
@@ -972,9 +974,10 @@ public class ElementActions extends FluentElementActions {
     public static void switchToDefaultContent(WebDriver driver) {
         try {
             driver.switchTo().defaultContent();
+            ElementReferenceCache.invalidateCurrent();
             boolean discreetLoggingState = ReportManagerHelper.getDiscreteLogging();
             ReportManagerHelper.setDiscreteLogging(true);
-            passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, null);
+            passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), null, null, null);
             ReportManagerHelper.setDiscreteLogging(discreetLoggingState);
         } catch (Exception rootCauseException) {
 //            failAction(driver, null, rootCauseException);
@@ -994,10 +997,11 @@ public class ElementActions extends FluentElementActions {
     public static void switchToIframe(WebDriver driver, By elementLocator) {
         try {
             driver.switchTo().frame(((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)));
+            ElementReferenceCache.invalidateCurrent();
             // note to self: remove elementLocator in case of bug in screenshot manager
             boolean discreetLoggingState = ReportManagerHelper.getDiscreteLogging();
             ReportManagerHelper.setDiscreteLogging(true);
-            passAction(driver, null, Thread.currentThread().getStackTrace()[1].getMethodName(), String.valueOf(elementLocator), null, null);
+            passAction(driver, null, StackHelper.getCurrentMethodName(), String.valueOf(elementLocator), null, null);
             ReportManagerHelper.setDiscreteLogging(discreetLoggingState);
         } catch (Throwable throwable) {
             // has to be throwable to catch assertion errors in case element was not found
@@ -1025,7 +1029,7 @@ public class ElementActions extends FluentElementActions {
             String actualResult = typeWrapper(driver, elementLocator, text);
             var elementName = getElementName(driver, elementLocator);
             if (actualResult != null && actualResult.equals(text)) {
-                passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), text, null, elementName);
+                passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), text, null, elementName);
             } else if (actualResult == null) {
                 failAction(driver, elementLocator);
             } else {
@@ -1058,7 +1062,7 @@ public class ElementActions extends FluentElementActions {
             if (text != null) {
                 var elementName = getElementName(driver, elementLocator);
                 ((WebElement) ElementActionsHelper.identifyUniqueElement(driver, elementLocator).get(1)).sendKeys(text);
-                passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), text, null, elementName);
+                passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), text, null, elementName);
             }
         } catch (Throwable throwable) {
             // has to be throwable to catch assertion errors in case element was not found
@@ -1143,7 +1147,7 @@ public class ElementActions extends FluentElementActions {
             String actualResult = typeWrapper(driver, elementLocator, text);
             var elementName = getElementName(driver, elementLocator);
             if (actualResult != null && actualResult.equals(text)) {
-                passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), ElementActionsHelper.OBFUSCATED_STRING.repeat(text.length()), null, elementName);
+                passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), ElementActionsHelper.OBFUSCATED_STRING.repeat(text.length()), null, elementName);
             } else if (actualResult == null) {
                 failAction(driver, elementLocator);
             } else {
@@ -1182,7 +1186,7 @@ public class ElementActions extends FluentElementActions {
                 //element is present
                 if (isExpectedToBeVisible == isDisplayed) {
                     //either expected to be visible and is displayed, or not expected to be visible and not displayed
-                    passAction(driver, elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), reportMessage, null, getElementName(driver, elementLocator));
+                    passAction(driver, elementLocator, StackHelper.getCurrentMethodName(), reportMessage, null, getElementName(driver, elementLocator));
                 } else {
                     //action should fail but the element exists
                     failAction(driver, reportMessage, elementLocator);
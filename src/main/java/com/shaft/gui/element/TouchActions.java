@@ -13,6 +13,7 @@ import io.github.shafthq.shaft.gui.element.ElementActionsHelper;
 import io.github.shafthq.shaft.gui.element.FluentElementActions;
 import io.github.shafthq.shaft.gui.image.ScreenshotManager;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+import io.github.shafthq.shaft.tools.support.StackHelper;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.*;
 
@@ -62,7 +63,7 @@ public class TouchActions {
     public TouchActions nativeKeyboardKeyPress(KeyboardKeys key) {
         try {
             ((AppiumDriver) DriverFactoryHelper.getDriver().get()).executeScript("mobile: performEditorAction", key.getValue());
-            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), key.name(), null, null);
+            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), key.name(), null, null);
         } catch (Exception rootCauseException) {
             ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null, rootCauseException);
         }
@@ -86,7 +87,7 @@ public class TouchActions {
         } catch (Exception rootCauseException) {
             ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null, rootCauseException);
         }
-        ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, null);
+        ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), null, null, null);
         return this;
     }
 
@@ -96,10 +97,21 @@ public class TouchActions {
      * @param elementReferenceScreenshot relative path to the reference image from the local object repository
      * @return a self-reference to be used to chain actions
      */
-    @SuppressWarnings("unchecked")
     public TouchActions tap(String elementReferenceScreenshot) {
+        return tap(null, elementReferenceScreenshot);
+    }
+
+    /**
+     * Taps an element once on a touch-enabled screen, searching for it within the bounds of its parent element first
+     *
+     * @param parentElementLocator       the locator of the container/view/webElement that contains the target element
+     * @param elementReferenceScreenshot relative path to the reference image from the local object repository
+     * @return a self-reference to be used to chain actions
+     */
+    @SuppressWarnings("unchecked")
+    public TouchActions tap(By parentElementLocator, String elementReferenceScreenshot) {
         // Wait for element presence and get the needed data
-        var objects = ElementActionsHelper.waitForElementPresence(DriverFactoryHelper.getDriver().get(), elementReferenceScreenshot);
+        var objects = ElementActionsHelper.waitForElementPresence(DriverFactoryHelper.getDriver().get(), parentElementLocator, elementReferenceScreenshot);
         byte[] currentScreenImage = (byte[]) objects.get(0);
         byte[] referenceImage = (byte[]) objects.get(1);
         List<Integer> coordinates = (List<Integer>) objects.get(2);
@@ -134,7 +146,7 @@ public class TouchActions {
 //                        .up(coordinates.get(0), coordinates.get(1))
 //                        .perform();
 //            }
-            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), null, attachments, null);
+            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), null, attachments, null);
         }
         return this;
     }
@@ -214,7 +226,7 @@ public class TouchActions {
             if (elementText != null && !elementText.equals("")) {
                 ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), elementLocator, elementText.replaceAll("\n", " "), screenshot, null);
             } else {
-                ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), null, attachments, null);
+                ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), elementLocator, StackHelper.getCurrentMethodName(), null, attachments, null);
             }
         } catch (Throwable throwable) {
             if (Throwables.getRootCause(throwable).getClass().getName().equals(org.openqa.selenium.NoSuchElementException.class.getName())) {
@@ -256,7 +268,7 @@ public class TouchActions {
             if (elementText != null && !elementText.equals("")) {
                 ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), elementLocator, elementText.replaceAll("\n", " "), screenshot, null);
             } else {
-                ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), null, attachments, null);
+                ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), elementLocator, StackHelper.getCurrentMethodName(), null, attachments, null);
             }
         } catch (Throwable throwable) {
             if (Throwables.getRootCause(throwable).getClass().getName().equals(org.openqa.selenium.NoSuchElementException.class.getName())) {
@@ -283,7 +295,7 @@ public class TouchActions {
             } else {
                 ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null);
             }
-            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, null);
+            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), null, null, null);
         } else {
             ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null);
         }
@@ -314,7 +326,7 @@ public class TouchActions {
             } else {
                 ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null);
             }
-            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, null);
+            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), null, null, null);
         } else {
             ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null);
         }
@@ -338,7 +350,7 @@ public class TouchActions {
             } else {
                 ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null);
             }
-            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, null);
+            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), null, null, null);
         } else {
             ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null);
         }
@@ -360,7 +372,7 @@ public class TouchActions {
             } else {
                 ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null);
             }
-            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, null);
+            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), null, null, null);
         } else {
             ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null);
         }
@@ -396,7 +408,7 @@ public class TouchActions {
             String reportMessage = "Start point: " + startLocation + ", End point: " + endLocation;
 
             if (!endLocation.equals(startLocation)) {
-                ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), sourceElementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), reportMessage, null, null);
+                ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), sourceElementLocator, StackHelper.getCurrentMethodName(), reportMessage, null, null);
             } else {
                 ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), reportMessage, sourceElementLocator);
             }
@@ -440,7 +452,7 @@ public class TouchActions {
             String reportMessage = "Start point: " + startLocation + ", End point: " + endLocation;
 
             if (!endLocation.equals(startLocation)) {
-                ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), elementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), reportMessage, null, null);
+                ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), elementLocator, StackHelper.getCurrentMethodName(), reportMessage, null, null);
             } else {
                 ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), reportMessage, elementLocator);
             }
@@ -490,7 +502,7 @@ public class TouchActions {
         attachments.add(screenshot);
 
         if (!Collections.emptyList().equals(coordinates)) {
-            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), null, attachments, null);
+            ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), null, attachments, null);
         } else {
             ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), "Couldn't find reference element on the current screen. If you can see it in the attached image then kindly consider cropping it and updating your reference image under this path \"" + elementReferenceScreenshot + "\".", null, attachments);
         }
@@ -542,7 +554,7 @@ public class TouchActions {
                     }
                 } else {
                     // Wait for element presence and get the needed data
-                    var objects = ElementActionsHelper.waitForElementPresence(DriverFactoryHelper.getDriver().get(), elementReferenceScreenshot);
+                    var objects = ElementActionsHelper.waitForElementPresence(DriverFactoryHelper.getDriver().get(), scrollableElementLocator, elementReferenceScreenshot);
                     byte[] currentScreenImage = (byte[]) objects.get(0);
                     byte[] referenceImage = (byte[]) objects.get(1);
                     List<Integer> coordinates = (List<Integer>) objects.get(2);
@@ -561,7 +573,7 @@ public class TouchActions {
                         new Actions(DriverFactoryHelper.getDriver().get()).scrollFromOrigin(WheelInput.ScrollOrigin.fromViewport(), coordinates.get(0), coordinates.get(1)).perform();
                     }
                 }
-                ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), null, attachments, null);
+                ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), null, attachments, null);
             } catch (AssertionError assertionError) {
                 //bubble up
                 throw assertionError;
@@ -605,7 +617,7 @@ public class TouchActions {
                         new Actions(DriverFactoryHelper.getDriver().get()).scrollToElement(((WebElement) ElementActionsHelper.identifyUniqueElement(DriverFactoryHelper.getDriver().get(), targetElementLocator).get(1))).perform();
                         }
                 }
-                ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), targetElementLocator, Thread.currentThread().getStackTrace()[1].getMethodName(), null, null, null);
+                ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), targetElementLocator, StackHelper.getCurrentMethodName(), null, null, null);
             } catch (Exception e) {
                 ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), targetElementLocator, e);
             }
@@ -633,7 +645,7 @@ public class TouchActions {
         do {
             // appium native device
             // Wait for element presence and get the needed data
-            visualIdentificationObjects = ElementActionsHelper.waitForElementPresence(DriverFactoryHelper.getDriver().get(), targetElementImage);
+            visualIdentificationObjects = ElementActionsHelper.waitForElementPresence(DriverFactoryHelper.getDriver().get(), scrollableElementLocator, targetElementImage);
             List<Integer> coordinates = (List<Integer>) visualIdentificationObjects.get(2);
 
             if (!Collections.emptyList().equals(coordinates)) {
@@ -646,7 +658,7 @@ public class TouchActions {
                 canStillScroll = attemptW3cCompliantActionsScroll(swipeDirection, scrollableElementLocator, null);
                 if (!canStillScroll){
                     // check if element can be found after scrolling to the end of the page
-                    visualIdentificationObjects = ElementActionsHelper.waitForElementPresence(DriverFactoryHelper.getDriver().get(), targetElementImage);
+                    visualIdentificationObjects = ElementActionsHelper.waitForElementPresence(DriverFactoryHelper.getDriver().get(), scrollableElementLocator, targetElementImage);
                     coordinates = (List<Integer>) visualIdentificationObjects.get(2);
                   if(!Collections.emptyList().equals(coordinates)) {
                       isElementFound = true;
@@ -844,7 +856,7 @@ public class TouchActions {
         } catch (Exception rootCauseException) {
             ElementActionsHelper.failAction(DriverFactoryHelper.getDriver().get(), null, rootCauseException);
         }
-        ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, Thread.currentThread().getStackTrace()[1].getMethodName(), zoomDirection.name(), null, null);
+        ElementActionsHelper.passAction(DriverFactoryHelper.getDriver().get(), null, StackHelper.getCurrentMethodName(), zoomDirection.name(), null, null);
         return this;
     }
 
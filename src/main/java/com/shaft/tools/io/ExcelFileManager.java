@@ -2,6 +2,7 @@ package com.shaft.tools.io;
 
 import io.github.shafthq.shaft.tools.io.helpers.FailureReporter;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+import io.github.shafthq.shaft.tools.io.helpers.TestDataCache;
 import io.github.shafthq.shaft.tools.support.JavaHelper;
 import org.apache.poi.EmptyFileException;
 import org.apache.poi.ss.usermodel.CellType;
@@ -12,27 +13,31 @@ import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 public class ExcelFileManager {
-    private FileInputStream fis;
-    private XSSFWorkbook workbook;
-    private XSSFSheet sheet;
-    private XSSFRow row;
-    private XSSFCell cell;
+    private WorkbookData workbook;
     private String excelFilePath;
     private String testDataColumnNamePrefix;
 
     /**
      * Creates a new instance of the test data Excel reader using the target Excel
-     * file path
+     * file path. The workbook is read once and shared with all the other readers of the same file, and the
+     * row and column names of each sheet are indexed, so that reading cell data doesn't scan the sheet and is
+     * safe to be done by parallel tests using the same instance.
      *
      * @param excelFilePath target test data Excel file path
      */
@@ -40,27 +45,26 @@ public class ExcelFileManager {
         excelFilePath = JavaHelper.appendTestDataToRelativePath(excelFilePath);
         initializeVariables();
         this.excelFilePath = excelFilePath;
+        boolean parsedNow = false;
         try {
-            fis = new FileInputStream(excelFilePath);
-            workbook = new XSSFWorkbook(fis);
-            fis.close();
+            var cachedDocument = TestDataCache.get(Path.of(excelFilePath), WorkbookData.class, ExcelFileManager::readWorkbook);
+            workbook = cachedDocument.content();
+            parsedNow = cachedDocument.parsedNow();
             ReportManager.logDiscrete("Reading test data from the following file [" + excelFilePath + "].");
-        } catch (IOException | OutOfMemoryError e) {
-            FailureReporter.fail(this.getClass(), "Couldn't find the desired file. [" + excelFilePath + "].", e);
         } catch (EmptyFileException e) {
             FailureReporter.fail(this.getClass(), "Please check the target file, as it may be corrupted. [" + excelFilePath + "].", e);
+        } catch (Exception | OutOfMemoryError e) {
+            FailureReporter.fail(this.getClass(), "Couldn't find the desired file. [" + excelFilePath + "].", e);
         }
 
-        List<List<Object>> attachments = new ArrayList<>();
-        List<Object> testDataFileAttachment = null;
-        try {
-            testDataFileAttachment = Arrays.asList("Test Data", "Excel",
-                    new FileInputStream(excelFilePath));
-        } catch (FileNotFoundException e) {
-            //unreachable code because if the file was not found then the reader would have failed at a previous step
+        if (parsedNow || !Boolean.parseBoolean(System.getProperty("attachTestDataFilesOnlyOnce"))) {
+            List<List<Object>> attachments = new ArrayList<>();
+            List<Object> testDataFileAttachment = Arrays.asList("Test Data", "Excel", Path.of(excelFilePath));
+            attachments.add(testDataFileAttachment);
+            ReportManagerHelper.log("Loaded Test Data: \"" + excelFilePath + "\".", attachments);
+        } else {
+            ReportManager.logDiscrete("Loaded Test Data: \"" + excelFilePath + "\".");
         }
-        attachments.add(testDataFileAttachment);
-        ReportManagerHelper.log("Loaded Test Data: \"" + excelFilePath + "\".", attachments);
     }
 
     /**
@@ -101,16 +105,15 @@ public class ExcelFileManager {
      */
     public String getCellData(String sheetName, String rowName, String columnName) {
         try {
-            int rowNum = getRowNumberFromRowName(sheetName, rowName);
-            int colNum = getColumnNumberFromColumnName(sheetName, columnName);
+            SheetData sheet = workbook.getSheet(sheetName);
+            int rowNum = getRowNumberFromRowName(sheet, sheetName, rowName);
+            int colNum = getColumnNumberFromColumnName(sheet, sheetName, columnName);
 
             // get the desired row
-            row = sheet.getRow(rowNum); // why use -1 here?
-            // get the desired cell
-            cell = row.getCell(colNum);
-
-            // return cell value given the different cell types
-            return getCellData();
+            RowData row = sheet.rows().get(rowNum);
+            // return the value of the desired cell, which was already formatted given the different cell types
+            CellData cell = row.getCell(colNum);
+            return cell == null ? "" : cell.formattedValue();
 
         } catch (Exception e) {
             FailureReporter.fail(this.getClass(), "Failed to read data from row [" + rowName + "] and column [" + columnName
@@ -141,13 +144,13 @@ public class ExcelFileManager {
      * sheet
      */
     public int getLastColumnNumber(String sheetName) {
-        sheet = workbook.getSheet(sheetName);
-        row = sheet.getRow(0);
+        SheetData sheet = workbook.getSheet(sheetName);
+        RowData row = sheet.getRow(0);
         int lastColumnNumber = 0;
         while (true) {
             try {
-                cell = row.getCell(lastColumnNumber);
-                if (cell.getCellType() == CellType.STRING) {
+                CellData cell = row.getCell(lastColumnNumber);
+                if (cell.cellType() == CellType.STRING) {
                     lastColumnNumber++;
                 } else {
                     return lastColumnNumber - 1;
@@ -192,34 +195,79 @@ public class ExcelFileManager {
         return getColumnNameUsingRowNameAndCellData(getDefaultSheetName(), rowName, cellData);
     }
 
+    /**
+     * Reads all the cells of the target row within the default sheet, keyed by the
+     * values of the first cells of their columns
+     *
+     * @param rowName the value of the first cell of the target row
+     * @return a read-only map of column names to cell values, in the same order as the columns
+     */
+    public Map<String, String> getRowAsMap(String rowName) {
+        return getRowAsMap(getDefaultSheetName(), rowName);
+    }
+
+    /**
+     * Reads all the cells of the target row within the target sheet, keyed by the
+     * values of the first cells of their columns
+     *
+     * @param sheetName the name of the target Excel sheet
+     * @param rowName   the value of the first cell of the target row
+     * @return a read-only map of column names to cell values, in the same order as the columns
+     */
+    public Map<String, String> getRowAsMap(String sheetName, String rowName) {
+        try {
+            SheetData sheet = workbook.getSheet(sheetName);
+            return sheet.getRowAsMap(sheet.getRow(getRowNumberFromRowName(sheet, sheetName, rowName)));
+        } catch (Exception e) {
+            FailureReporter.fail(this.getClass(), "Failed to read data from row [" + rowName + "] in the Test Data Sheet ["
+                    + sheetName + "], under the following path [" + excelFilePath + "].", e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * Streams all the rows below the header row within the default sheet, which can be used to
+     * feed data providers
+     *
+     * @return a stream of read-only maps of column names to cell values, one for each row that holds data
+     */
+    public Stream<Map<String, String>> streamRows() {
+        return streamRows(getDefaultSheetName());
+    }
+
+    /**
+     * Streams all the rows below the header row within the target sheet, which can be used to
+     * feed data providers
+     *
+     * @param sheetName the name of the target Excel sheet
+     * @return a stream of read-only maps of column names to cell values, one for each row that holds data
+     */
+    public Stream<Map<String, String>> streamRows(String sheetName) {
+        SheetData sheet = workbook.getSheet(sheetName);
+        if (sheet == null) {
+            FailureReporter.fail("Failed to find the Test Data Sheet [" + sheetName + "], under the following path ["
+                    + excelFilePath + "].");
+            return Stream.empty();
+        }
+        return sheet.rows().stream()
+                .skip(1)
+                .filter(Objects::nonNull)
+                .map(sheet::getRowAsMap);
+    }
+
     private void initializeVariables() {
-        fis = null;
         workbook = null;
-        sheet = null;
-        row = null;
-        cell = null;
         excelFilePath = "";
         testDataColumnNamePrefix = System.getProperty("testDataColumnNamePrefix");
     }
 
-    private int getRowNumberFromRowName(String sheetName, String rowName) {
+    private int getRowNumberFromRowName(SheetData sheet, String sheetName, String rowName) {
         try {
             // get the row number that corresponds to the desired rowName within the first
-            // column [0]
-            sheet = workbook.getSheet(sheetName);
-
-            for (int i = 0; i <= sheet.getLastRowNum(); i++) {
-                row = sheet.getRow(i);
-                // get the first cell of each row, and compare it to rowName
-                // if they match then that's the row we want
-
-                if (row != null && row.getCell(0).getStringCellValue().equals(rowName)) {
-                    return i;
-                }
-                // in certain cases if the row is empty, its value is set to null, and hence a
-                // null pointer exception is thrown when
-                // you try to get the cell from it.
-                // we can skip this exception by checking if row != null.
+            // column [0], using the index of the first cell of each row
+            Integer rowNum = sheet.rowNumbers().get(rowName);
+            if (rowNum != null) {
+                return rowNum;
             }
 
             // in case you provided valid data type, no exceptions were thrown, and yet the
@@ -234,20 +282,16 @@ public class ExcelFileManager {
         }
     }
 
-    private int getColumnNumberFromColumnName(String sheetName, String columnName) {
+    private int getColumnNumberFromColumnName(SheetData sheet, String sheetName, String columnName) {
         try {
             // get the column number that corresponds to the desired columnName within the
-            // target row [row_Num]
+            // header row, using the index of the first cell of each column
             // if no column name is provided, retrieves data from the 2nd
             // column (1st Value in the test data file)
             if (!columnName.equals("")) {
-                row = sheet.getRow(0);
-                for (int i = 0; i < row.getLastCellNum(); i++) {
-                    // get the first cell of each column, and compare it to columnName
-                    // if they match then that's the column we want
-                    if (row.getCell(i).getStringCellValue().equals(columnName)) {
-                        return i;
-                    }
+                Integer colNum = sheet.columnNumbers().get(columnName);
+                if (colNum != null) {
+                    return colNum;
                 }
             } else {
                 return 1;
@@ -267,7 +311,50 @@ public class ExcelFileManager {
         }
     }
 
-    private String getCellData() {
+    /**
+     * Reads all the sheets of the target workbook into a read-only copy that can be shared across threads
+     *
+     * @param excelFilePath the path to the target Excel file
+     * @return the read-only copy of the workbook
+     * @throws IOException in case the file couldn't be read
+     */
+    private static WorkbookData readWorkbook(Path excelFilePath) throws IOException {
+        try (var fis = new FileInputStream(excelFilePath.toFile()); var xssfWorkbook = new XSSFWorkbook(fis)) {
+            List<String> sheetNames = new ArrayList<>();
+            Map<String, SheetData> sheets = new HashMap<>();
+            for (int i = 0; i < xssfWorkbook.getNumberOfSheets(); i++) {
+                XSSFSheet xssfSheet = xssfWorkbook.getSheetAt(i);
+                List<RowData> rows = new ArrayList<>();
+                for (int rowNum = 0; rowNum <= xssfSheet.getLastRowNum(); rowNum++) {
+                    XSSFRow xssfRow = xssfSheet.getRow(rowNum);
+                    if (xssfRow == null) {
+                        rows.add(null);
+                        continue;
+                    }
+                    List<CellData> cells = new ArrayList<>();
+                    for (int colNum = 0; colNum < xssfRow.getLastCellNum(); colNum++) {
+                        XSSFCell xssfCell = xssfRow.getCell(colNum);
+                        cells.add(xssfCell == null ? null : new CellData(xssfCell.getCellType(), getStringCellValue(xssfCell), getCellData(xssfCell)));
+                    }
+                    rows.add(new RowData(Collections.unmodifiableList(cells)));
+                }
+                sheetNames.add(xssfSheet.getSheetName());
+                sheets.put(xssfSheet.getSheetName(), SheetData.of(Collections.unmodifiableList(rows)));
+            }
+            return new WorkbookData(List.copyOf(sheetNames), Map.copyOf(sheets));
+        }
+    }
+
+    private static String getStringCellValue(XSSFCell cell) {
+        try {
+            return cell.getStringCellValue();
+        } catch (Exception e) {
+            // numeric cells can't be used as row or column names
+            return null;
+        }
+    }
+
+    private static String getCellData(XSSFCell cell) {
         try {
             if (cell.getCellType() == CellType.STRING) {
                 return cell.getStringCellValue();
@@ -298,7 +385,67 @@ public class ExcelFileManager {
      * @return the first sheet name for the current test data file
      */
     private String getDefaultSheetName() {
-        return workbook.getSheetName(0);
+        return workbook.sheetNames().get(0);
+    }
+
+    private record WorkbookData(List<String> sheetNames, Map<String, SheetData> sheets) {
+        SheetData getSheet(String sheetName) {
+            return sheets.get(sheetName);
+        }
+    }
+
+    /**
+     * A read-only sheet, along with the indexes of its rows by the values of their first cells, and of its
+     * columns by the values of their header cells. Only the first row or column that holds each name is indexed.
+     */
+    private record SheetData(List<RowData> rows, Map<String, Integer> rowNumbers, Map<String, Integer> columnNumbers) {
+        static SheetData of(List<RowData> rows) {
+            Map<String, Integer> rowNumbers = new HashMap<>();
+            for (int i = 0; i < rows.size(); i++) {
+                String rowName = getName(rows.get(i), 0);
+                if (rowName != null) {
+                    rowNumbers.putIfAbsent(rowName, i);
+                }
+            }
+            Map<String, Integer> columnNumbers = new LinkedHashMap<>();
+            RowData headerRow = rows.isEmpty() ? null : rows.get(0);
+            if (headerRow != null) {
+                for (int i = 0; i < headerRow.cells().size(); i++) {
+                    String columnName = getName(headerRow, i);
+                    if (columnName != null && !columnName.isEmpty()) {
+                        columnNumbers.putIfAbsent(columnName, i);
+                    }
+                }
+            }
+            return new SheetData(rows, Collections.unmodifiableMap(rowNumbers), Collections.unmodifiableMap(columnNumbers));
+        }
+
+        private static String getName(RowData row, int colNum) {
+            CellData cell = row == null ? null : row.getCell(colNum);
+            return cell == null ? null : cell.stringCellValue();
+        }
+
+        RowData getRow(int rowNum) {
+            return rowNum < rows.size() ? rows.get(rowNum) : null;
+        }
+
+        Map<String, String> getRowAsMap(RowData row) {
+            Map<String, String> rowAsMap = new LinkedHashMap<>();
+            columnNumbers.forEach((columnName, colNum) -> {
+                CellData cell = row.getCell(colNum);
+                rowAsMap.put(columnName, cell == null ? "" : cell.formattedValue());
+            });
+            return Collections.unmodifiableMap(rowAsMap);
+        }
+    }
+
+    private record RowData(List<CellData> cells) {
+        CellData getCell(int colNum) {
+            return colNum < cells.size() ? cells.get(colNum) : null;
+        }
+    }
+
+    private record CellData(CellType cellType, String stringCellValue, String formattedValue) {
     }
 
 }
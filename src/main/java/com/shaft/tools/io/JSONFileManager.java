@@ -3,13 +3,14 @@ package com.shaft.tools.io;
 import com.shaft.cli.FileActions;
 import io.github.shafthq.shaft.tools.io.helpers.FailureReporter;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+import io.github.shafthq.shaft.tools.io.helpers.TestDataCache;
 import io.github.shafthq.shaft.tools.support.JavaHelper;
 import io.restassured.path.json.JsonPath;
 import io.restassured.path.json.exception.JsonPathException;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -17,28 +18,26 @@ import java.util.Map;
 
 public class JSONFileManager {
     private final String jsonFilePath;
-    private static final ThreadLocal<FileReader> reader = new ThreadLocal<>();
+    private JsonPath jsonPath;
 
     /**
      * Creates a new instance of the test data json reader using the target json
-     * file path
+     * file path. The file is read once and shared with all the other readers of the same file.
      *
      * @param jsonFilePath target test data json file path
      */
     public JSONFileManager(String jsonFilePath) {
         jsonFilePath = JavaHelper.appendTestDataToRelativePath(jsonFilePath);
         this.jsonFilePath = jsonFilePath;
-        initializeReader();
-        List<List<Object>> attachments = new ArrayList<>();
-        List<Object> testDataFileAttachment = null;
-        try {
-            testDataFileAttachment = Arrays.asList("Test Data", "JSON",
-                    new FileInputStream(jsonFilePath));
-        } catch (FileNotFoundException e) {
-            //unreachable code because if the file was not found then the reader would have failed at a previous step
+        var parsedNow = initializeReader();
+        if (parsedNow || !Boolean.parseBoolean(System.getProperty("attachTestDataFilesOnlyOnce"))) {
+            List<List<Object>> attachments = new ArrayList<>();
+            List<Object> testDataFileAttachment = Arrays.asList("Test Data", "JSON", Path.of(jsonFilePath));
+            attachments.add(testDataFileAttachment);
+            ReportManagerHelper.log("Loaded Test Data: \"" + jsonFilePath + "\".", attachments);
+        } else {
+            ReportManager.logDiscrete("Loaded Test Data: \"" + jsonFilePath + "\".");
         }
-        attachments.add(testDataFileAttachment);
-        ReportManagerHelper.log("Loaded Test Data: \"" + jsonFilePath + "\".", attachments);
     }
 
     /**
@@ -110,12 +109,11 @@ public class JSONFileManager {
      */
     private Object getTestData(String jsonPath, DataType dataType) {
         Object testData = null;
-        initializeReader();
         try {
             switch (dataType) {
-                case STRING -> testData = JsonPath.from(reader.get()).getString(jsonPath);
-                case LIST -> testData = JsonPath.from(reader.get()).getList(jsonPath);
-                case MAP -> testData = JsonPath.from(reader.get()).getMap(jsonPath);
+                case STRING -> testData = this.jsonPath.getString(jsonPath);
+                case LIST -> testData = this.jsonPath.getList(jsonPath);
+                case MAP -> testData = this.jsonPath.getMap(jsonPath);
             }
         } catch (ClassCastException rootCauseException) {
             FailureReporter.fail(this.getClass(), "Incorrect jsonPath. [" + jsonPath + "].", rootCauseException);
@@ -126,13 +124,21 @@ public class JSONFileManager {
     }
 
     /**
-     * initializes the json reader using the target json file path
+     * initializes the json reader using the cached content of the target json file.
+     * The shared JsonPath only holds the file content, and evaluates every expression against its own parsed copy,
+     * so it's safe to be used by parallel tests.
+     *
+     * @return true if the file was read by this reader, and false if it was already cached
      */
-    private void initializeReader() {
+    private boolean initializeReader() {
         try {
-            reader.set(new FileReader(FileActions.getInstance().getAbsolutePath(jsonFilePath)));
-        } catch (FileNotFoundException rootCauseException) {
+            var cachedDocument = TestDataCache.get(Path.of(FileActions.getInstance().getAbsolutePath(jsonFilePath)), JsonPath.class,
+                    filePath -> JsonPath.from(Files.readString(filePath, StandardCharsets.UTF_8)));
+            jsonPath = cachedDocument.content();
+            return cachedDocument.parsedNow();
+        } catch (Exception rootCauseException) {
             FailureReporter.fail(this.getClass(), "Couldn't read the desired file. [" + this.jsonFilePath + "].", rootCauseException);
+            return false;
         }
     }
 
@@ -2,6 +2,8 @@ package com.shaft.tools.io;
 
 import org.apache.logging.log4j.Level;
 
+import java.util.function.Supplier;
+
 import static io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper.*;
 
 public class ReportManager {
@@ -32,4 +34,14 @@ public class ReportManager {
         createLogEntry(logText, Level.INFO);
     }
 
+    /**
+     * Creates a custom log entry that will not be added as a step in the execution report, and only builds its text if
+     * logging is enabled
+     *
+     * @param logTextSupplier builds the text that will be logged by action
+     */
+    public static void logDiscrete(Supplier<String> logTextSupplier) {
+        createLogEntry(logTextSupplier, Level.INFO);
+    }
+
 }
\ No newline at end of file
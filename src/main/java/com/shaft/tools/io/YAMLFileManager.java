@@ -2,12 +2,12 @@ package com.shaft.tools.io;
 
 import io.github.shafthq.shaft.tools.io.helpers.FailureReporter;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+import io.github.shafthq.shaft.tools.io.helpers.TestDataCache;
 import io.github.shafthq.shaft.tools.support.JavaHelper;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -21,6 +21,7 @@ public class YAMLFileManager {
 
     private final Map<String, Object> data;
     private final String filePath;
+    private boolean parsedNow;
 
     // Splitting the key to a list of keys using the dot as the splitter.
     private final Function<String, List<String>> splitKey =
@@ -30,7 +31,8 @@ public class YAMLFileManager {
             key -> key.matches(KEY_CONTAINS_LIST_REGEX);
 
     /**
-     * Creating an instance of {@link YAMLFileManager}
+     * Creating an instance of {@link YAMLFileManager}.
+     * The file is parsed once and shared with all the other readers of the same file.
      *
      * @param filePath target test data yaml file path
      */
@@ -38,27 +40,26 @@ public class YAMLFileManager {
         this.filePath = JavaHelper.appendTestDataToRelativePath(filePath);
         this.data = getData();
 
-        List<Object> testDataFileAttachment = new ArrayList<>();
-        try {
-            testDataFileAttachment = List.of(
+        if (parsedNow || !Boolean.parseBoolean(System.getProperty("attachTestDataFilesOnlyOnce"))) {
+            List<Object> testDataFileAttachment = List.of(
                     "Test Data",
                     "YAML",
-                    new FileInputStream(filePath)
+                    Path.of(filePath)
             );
-        } catch (FileNotFoundException ignore) {
-            // unreachable code because if the file was not found then the get data method will fail while loading the file
-        }
 
-        ReportManagerHelper.log(
-                "Loaded Test Data: \"" + filePath + "\".",
-                List.of(testDataFileAttachment)
-                );
+            ReportManagerHelper.log(
+                    "Loaded Test Data: \"" + filePath + "\".",
+                    List.of(testDataFileAttachment)
+            );
+        } else {
+            ReportManager.logDiscrete("Loaded Test Data: \"" + filePath + "\".");
+        }
     }
 
     /**
      * Fetch all the date from the YAML file
      *
-     * @return all date existed in the YAML file as {@link Map}
+     * @return all date existed in the YAML file as a read-only {@link Map}
      */
     public Map<String, Object> get() {
         return data;
@@ -303,46 +304,50 @@ public class YAMLFileManager {
     }
 
     /**
-     * Used internally to fetch all data existed in the YAML file
-     * @return all data in the YAML file as {@link Map} of {@link String} and {@link Object}
+     * Used internally to fetch all data existed in the YAML file, parsing it only if it wasn't cached yet
+     * @return all data in the YAML file as a read-only {@link Map} of {@link String} and {@link Object}
      */
+    @SuppressWarnings("unchecked")
     private Map<String, Object> getData() {
-        var file = this.getFile();
-        Map<String, Object> loadedData = new Yaml().load(file);
-
-        this.closeFile(file);
-
-        return loadedData;
-    }
-
-    /**
-     * Used internally to load the wanted YAML file
-     * @return {@link FileInputStream} instance of the desired file
-     */
-    private FileInputStream getFile() {
-        FileInputStream in;
-
         try {
-            in = new FileInputStream(filePath);
-        } catch (FileNotFoundException rootCauseException) {
+            var cachedDocument = TestDataCache.get(Path.of(filePath), YAMLDocument.class, YAMLFileManager::parseDocument);
+            parsedNow = cachedDocument.parsedNow();
+            return (Map<String, Object>) cachedDocument.content().data();
+        } catch (Exception rootCauseException) {
             FailureReporter.fail(this.getClass(), "Couldn't find the desired file. [" + filePath + "].", rootCauseException);
             // unreachable because previous method throws AssertionError
             throw new RuntimeException();
         }
-        return in;
     }
 
     /**
-     * Used internally to close the opened file
-     * @param file the file wanted to be closed
+     * Used internally to load the wanted YAML file into a read-only document that can be shared across threads
+     * @param filePath the path to the YAML file
+     * @return the read-only {@link YAMLDocument}
+     * @throws Exception in case the file couldn't be read
      */
-    private void closeFile(FileInputStream file) {
-        try {
-            file.close();
-        } catch (IOException rootCauseException) {
-            FailureReporter.fail(this.getClass(), "Couldn't close the following file. [" + filePath + "]",
-                    rootCauseException);
+    private static YAMLDocument parseDocument(Path filePath) throws Exception {
+        try (var in = new FileInputStream(filePath.toFile())) {
+            return new YAMLDocument((Map<?, ?>) toReadOnly(new Yaml().load(in)));
+        }
+    }
+
+    /**
+     * Used internally to wrap the loaded maps and lists, and all the nested maps and lists in them, to be read-only
+     * @param value the loaded value
+     * @return the read-only copy of the value
+     */
+    private static Object toReadOnly(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            var readOnlyMap = new LinkedHashMap<Object, Object>();
+            map.forEach((k, v) -> readOnlyMap.put(k, toReadOnly(v)));
+            return Collections.unmodifiableMap(readOnlyMap);
+        } else if (value instanceof List<?> list) {
+            var readOnlyList = new ArrayList<>(list.size());
+            list.forEach(item -> readOnlyList.add(toReadOnly(item)));
+            return Collections.unmodifiableList(readOnlyList);
         }
+        return value;
     }
 
     /**
@@ -427,4 +432,7 @@ public class YAMLFileManager {
         // unreachable because previous method throws AssertionError
         throw new RuntimeException();
     }
+
+    private record YAMLDocument(Map<?, ?> data) {
+    }
 }
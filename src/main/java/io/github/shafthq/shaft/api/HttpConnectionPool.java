@@ -0,0 +1,143 @@
+package io.github.shafthq.shaft.api;
+
+import com.shaft.tools.io.ReportManager;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HttpConnection;
+import org.apache.http.client.HttpClient;
+import org.apache.http.cookie.Cookie;
+import org.apache.http.impl.client.BasicCookieStore;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.protocol.ExecutionContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.restassured.config.HttpClientConfig.httpClientConfig;
+
+/**
+ * Keeps a pool of persistent HTTP connections for a RestActions session, or for all sessions when it's the shared
+ * instance, so that consecutive requests to the same host reuse their connections instead of paying the TCP and TLS
+ * handshakes every time.
+ * <p>
+ * The pool size is bounded per route and in total, connections are kept alive for up to apiConnectionKeepAliveTimeout
+ * unless the server asks for less, and connections that stay idle for longer than apiConnectionIdleTimeout are closed
+ * before the next request.
+ */
+@SuppressWarnings("deprecation")
+public class HttpConnectionPool {
+    private static HttpConnectionPool sharedInstance;
+    private final PoolingClientConnectionManager connectionManager;
+    private final DefaultHttpClient httpClient;
+    private final long idleTimeout; // seconds
+    private final AtomicLong newConnections = new AtomicLong();
+    private final AtomicLong reusedConnections = new AtomicLong();
+
+    public HttpConnectionPool() {
+        connectionManager = new PoolingClientConnectionManager();
+        connectionManager.setDefaultMaxPerRoute(Integer.parseInt(System.getProperty("apiConnectionPoolMaximumPerRoute").trim()));
+        connectionManager.setMaxTotal(Integer.parseInt(System.getProperty("apiConnectionPoolMaximumTotal").trim()));
+        idleTimeout = Long.parseLong(System.getProperty("apiConnectionIdleTimeout").trim());
+        var keepAliveTimeout = TimeUnit.SECONDS.toMillis(Long.parseLong(System.getProperty("apiConnectionKeepAliveTimeout").trim()));
+
+        httpClient = new DefaultHttpClient(connectionManager);
+        httpClient.setKeepAliveStrategy((response, context) -> {
+            var serverKeepAliveTimeout = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAliveTimeout > 0 ? Math.min(serverKeepAliveTimeout, keepAliveTimeout) : keepAliveTimeout;
+        });
+        // session cookies are managed explicitly by RestActions, so the shared client must not carry them between requests
+        httpClient.setCookieStore(new BasicCookieStore() {
+            @Override
+            public synchronized void addCookie(Cookie cookie) {
+                // ignored
+            }
+        });
+        httpClient.addResponseInterceptor((response, context) -> {
+            if (context.getAttribute(ExecutionContext.HTTP_CONNECTION) instanceof HttpConnection connection
+                    && connection.getMetrics().getRequestCount() > 1) {
+                reusedConnections.incrementAndGet();
+            } else {
+                newConnections.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Gets the connection pool shared by all the sessions that don't have their own pool, used when the
+     * apiConnectionPooling property is enabled
+     *
+     * @return the shared connection pool
+     */
+    public static synchronized HttpConnectionPool getSharedInstance() {
+        if (sharedInstance == null) {
+            sharedInstance = new HttpConnectionPool();
+        }
+        return sharedInstance;
+    }
+
+    /**
+     * Logs the connection reuse statistics of the shared connection pool, and closes all its connections
+     */
+    public static synchronized void shutdownSharedInstance() {
+        if (sharedInstance != null) {
+            sharedInstance.shutdown();
+            sharedInstance = null;
+        }
+    }
+
+    /**
+     * Creates an HTTP client config that always uses the pooled client of this session, along with the configured timeouts
+     *
+     * @param connectionTimeout        the timeout until a connection is established, in milliseconds
+     * @param socketTimeout            the maximum period of inactivity between two consecutive data packets, in milliseconds
+     * @param connectionManagerTimeout the time to wait for a connection from the pool, in milliseconds
+     * @return a rest-assured HTTP client config backed by this connection pool
+     */
+    public HttpClientConfig getHttpClientConfig(int connectionTimeout, int socketTimeout, int connectionManagerTimeout) {
+        return httpClientConfig()
+                .httpClientFactory(this::getHttpClient)
+                .reuseHttpClientInstance()
+                .setParam("http.connection.timeout", connectionTimeout)
+                .setParam("http.socket.timeout", socketTimeout)
+                .setParam("http.connection-manager.timeout", connectionManagerTimeout)
+                // the maximum time to wait for a free connection from this pool
+                .setParam("http.conn-manager.timeout", (long) connectionManagerTimeout);
+    }
+
+    /**
+     * Closes the connections that were idle for longer than the apiConnectionIdleTimeout, or whose keep-alive expired
+     */
+    public void evictIdleConnections() {
+        connectionManager.closeExpiredConnections();
+        connectionManager.closeIdleConnections(idleTimeout, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Closes all the pooled connections, after which this pool can no longer be used
+     */
+    public void shutdown() {
+        ReportManager.logDiscrete(toString());
+        connectionManager.shutdown();
+    }
+
+    public long getNewConnections() {
+        return newConnections.get();
+    }
+
+    public long getReusedConnections() {
+        return reusedConnections.get();
+    }
+
+    @Override
+    public String toString() {
+        var stats = connectionManager.getTotalStats();
+        return "HTTP connection pool: " + reusedConnections.get() + " requests reused a pooled connection, "
+                + newConnections.get() + " requests opened a new connection, "
+                + stats.getLeased() + " leased, " + stats.getAvailable() + " available.";
+    }
+
+    private HttpClient getHttpClient() {
+        return httpClient;
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.shafthq.shaft.api;
+
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compares JSON documents that were already parsed into trees of maps, lists, and values, without serializing them
+ * back to strings.
+ * <p>
+ * Parsed reference files are cached by their path and last modification time, so that suites that compare many
+ * responses against the same file only read and parse it once.
+ */
+public class JsonComparator {
+    private static final int MAXIMUM_CACHED_REFERENCES = 32;
+    private static final Map<String, ReferenceJson> referenceJsonCache = new LinkedHashMap<>(MAXIMUM_CACHED_REFERENCES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ReferenceJson> eldest) {
+            return size() > MAXIMUM_CACHED_REFERENCES;
+        }
+    };
+
+    private JsonComparator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Reads and parses a reference JSON file, or returns its cached copy if the file wasn't modified since it was parsed.
+     * The returned tree is shared, and must not be modified.
+     *
+     * @param referenceJsonFilePath the path to the reference JSON file
+     * @return the parsed reference JSON along with the raw file content
+     * @throws IOException    in case the file couldn't be read
+     * @throws ParseException in case the file content isn't valid JSON
+     */
+    public static ReferenceJson getReferenceJson(String referenceJsonFilePath) throws IOException, ParseException {
+        var referenceFile = Path.of(referenceJsonFilePath);
+        var lastModified = Files.getLastModifiedTime(referenceFile).toMillis();
+        var size = Files.size(referenceFile);
+        synchronized (referenceJsonCache) {
+            var referenceJson = referenceJsonCache.get(referenceJsonFilePath);
+            if (referenceJson != null && referenceJson.lastModified() == lastModified && referenceJson.size() == size) {
+                return referenceJson;
+            }
+        }
+        var content = Files.readString(referenceFile, StandardCharsets.UTF_8);
+        var referenceJson = new ReferenceJson(lastModified, size, new JSONParser().parse(content), content);
+        synchronized (referenceJsonCache) {
+            referenceJsonCache.put(referenceJsonFilePath, referenceJson);
+        }
+        return referenceJson;
+    }
+
+    /**
+     * Strictly compares two JSON trees, including the order of array items and the exact type of numbers
+     *
+     * @param expected the expected JSON tree
+     * @param actual   the actual JSON tree
+     * @return true if both trees are identical
+     */
+    public static boolean equals(Object expected, Object actual) {
+        return Objects.equals(expected, actual);
+    }
+
+    /**
+     * Compares two JSON trees ignoring the order of array items, while requiring objects to have exactly the same fields
+     *
+     * @param expected the expected JSON tree
+     * @param actual   the actual JSON tree
+     * @return true if both trees contain the same data
+     */
+    public static boolean equalsIgnoringOrder(Object expected, Object actual) {
+        return matches(expected, actual, false);
+    }
+
+    /**
+     * Checks that the actual JSON tree contains all the fields of the expected tree, ignoring the order of array items
+     * and any extra fields in the actual objects
+     *
+     * @param expected the expected JSON tree
+     * @param actual   the actual JSON tree
+     * @return true if the actual tree contains the expected data
+     */
+    public static boolean contains(Object expected, Object actual) {
+        return matches(expected, actual, true);
+    }
+
+    private static boolean matches(Object expected, Object actual, boolean extensible) {
+        if (expected instanceof Map<?, ?> expectedObject) {
+            if (!(actual instanceof Map<?, ?> actualObject)
+                    || (!extensible && expectedObject.size() != actualObject.size())) {
+                return false;
+            }
+            for (var expectedField : expectedObject.entrySet()) {
+                if (!actualObject.containsKey(expectedField.getKey())
+                        || !matches(expectedField.getValue(), actualObject.get(expectedField.getKey()), extensible)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (expected instanceof List<?> expectedArray) {
+            // arrays must always have the same length, only the order of their items is ignored
+            return actual instanceof List<?> actualArray
+                    && expectedArray.size() == actualArray.size()
+                    && matchesIgnoringOrder(expectedArray, actualArray, extensible);
+        } else if (expected instanceof Number expectedNumber && actual instanceof Number actualNumber) {
+            return Double.compare(expectedNumber.doubleValue(), actualNumber.doubleValue()) == 0;
+        }
+        return Objects.equals(expected, actual);
+    }
+
+    private static boolean matchesIgnoringOrder(List<?> expectedArray, List<?> actualArray, boolean extensible) {
+        if (expectedArray.stream().noneMatch(item -> item instanceof Map || item instanceof List)) {
+            // arrays of values are compared by counting their occurrences
+            Map<Object, Integer> remainingValues = new HashMap<>();
+            actualArray.forEach(item -> remainingValues.merge(normalizeValue(item), 1, Integer::sum));
+            for (var item : expectedArray) {
+                var remaining = remainingValues.merge(normalizeValue(item), -1, Integer::sum);
+                if (remaining < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        var matchedItems = new boolean[actualArray.size()];
+        for (var i = 0; i < expectedArray.size(); i++) {
+            var expectedItem = expectedArray.get(i);
+            // try the item at the same position first, since most arrays are already in the same order
+            var matchedIndex = -1;
+            if (!matchedItems[i] && matches(expectedItem, actualArray.get(i), extensible)) {
+                matchedIndex = i;
+            } else {
+                for (var j = 0; j < actualArray.size(); j++) {
+                    if (!matchedItems[j] && j != i && matches(expectedItem, actualArray.get(j), extensible)) {
+                        matchedIndex = j;
+                        break;
+                    }
+                }
+            }
+            if (matchedIndex == -1) {
+                return false;
+            }
+            matchedItems[matchedIndex] = true;
+        }
+        return true;
+    }
+
+    private static Object normalizeValue(Object value) {
+        return value instanceof Number number ? (Object) number.doubleValue() : value;
+    }
+
+    /**
+     * A parsed reference JSON file
+     *
+     * @param lastModified the last modification time of the file when it was parsed
+     * @param size         the size of the file when it was parsed
+     * @param json         the parsed JSON tree, either a JSONObject or a JSONArray
+     * @param content      the raw file content, used for reporting
+     */
+    public record ReferenceJson(long lastModified, long size, Object json, String content) {
+    }
+}
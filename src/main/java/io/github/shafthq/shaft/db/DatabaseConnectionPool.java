@@ -0,0 +1,297 @@
+package io.github.shafthq.shaft.db;
+
+import com.shaft.tools.io.ReportManager;
+import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded pool of JDBC connections for a single connection string and user, shared by all the DatabaseActions
+ * instances that connect to the same database.
+ * <p>
+ * Idle connections are closed once they exceed the databaseConnectionPoolIdleTimeout, and each pooled connection
+ * keeps a small cache of its prepared statements so that repeated queries are only parsed once by the database.
+ */
+public class DatabaseConnectionPool {
+    private static final Map<PoolKey, DatabaseConnectionPool> pools = new ConcurrentHashMap<>();
+    // salts the credentials digests, so that they can't be looked up even if the pool keys end up in a heap dump
+    private static final byte[] CREDENTIALS_SALT = new SecureRandom().generateSeed(16);
+    private static final ExecutorService networkTimeoutExecutor = Executors.newCachedThreadPool(runnable -> {
+        var networkTimeoutThread = new Thread(runnable, "DatabaseNetworkTimeout");
+        networkTimeoutThread.setDaemon(true);
+        return networkTimeoutThread;
+    });
+    private static final int MAXIMUM_CACHED_STATEMENTS = 32;
+    private static final long VALIDATION_THRESHOLD = TimeUnit.SECONDS.toNanos(5);
+    private static final int VALIDATION_TIMEOUT = 5; // seconds
+    private final String connectionString;
+    private final ConnectionFactory connectionFactory;
+    private final Semaphore availableConnections;
+    private final long idleTimeout; // nanoseconds
+    private final Deque<PooledConnection> idleConnections = new ArrayDeque<>();
+
+    private DatabaseConnectionPool(String connectionString, ConnectionFactory connectionFactory) {
+        this.connectionString = connectionString;
+        this.connectionFactory = connectionFactory;
+        this.availableConnections = new Semaphore(Math.max(1, Integer.parseInt(System.getProperty("databaseConnectionPoolMaximumSize").trim())), true);
+        this.idleTimeout = TimeUnit.SECONDS.toNanos(Integer.parseInt(System.getProperty("databaseConnectionPoolIdleTimeout").trim()));
+    }
+
+    /**
+     * Gets the connection pool of the target database, creating it on first use
+     *
+     * @param connectionString  the JDBC connection string of the target database
+     * @param username          the database username
+     * @param password          the password of the database user
+     * @param connectionFactory creates a new physical connection whenever the pool needs one
+     * @return the shared connection pool for this connection string and user
+     */
+    public static DatabaseConnectionPool getInstance(String connectionString, String username, String password, ConnectionFactory connectionFactory) {
+        return pools.computeIfAbsent(new PoolKey(connectionString, String.valueOf(username), digestCredentials(username, password)),
+                key -> new DatabaseConnectionPool(connectionString, connectionFactory));
+    }
+
+    private static String digestCredentials(String username, String password) {
+        try {
+            var messageDigest = MessageDigest.getInstance("SHA-256");
+            messageDigest.update(CREDENTIALS_SALT);
+            messageDigest.update(String.join("\n", String.valueOf(username), String.valueOf(password)).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(messageDigest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is guaranteed to be available on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The single executor that all database connections use to abort their calls once the network timeout is exceeded
+     *
+     * @return the shared network timeout executor
+     */
+    public static ExecutorService getNetworkTimeoutExecutor() {
+        return networkTimeoutExecutor;
+    }
+
+    /**
+     * Closes all the idle connections of all the connection pools
+     */
+    public static void closeAll() {
+        pools.values().forEach(DatabaseConnectionPool::closeIdleConnections);
+    }
+
+    /**
+     * Borrows a connection from the pool, reusing an idle connection when possible, and waits for up to the
+     * databaseLoginTimeout in case all the connections are in use
+     *
+     * @return a connection that must be returned to the pool using {@link #release(PooledConnection)}
+     * @throws SQLException in case no connection could be borrowed or created
+     */
+    public PooledConnection borrow() throws SQLException {
+        try {
+            if (!availableConnections.tryAcquire(Integer.parseInt(System.getProperty("databaseLoginTimeout").trim()), TimeUnit.SECONDS)) {
+                throw new SQLTransientConnectionException("Timed out while waiting for an available connection to \"" + connectionString + "\".");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for an available connection to \"" + connectionString + "\".", e);
+        }
+        var borrowed = false;
+        try {
+            evictIdleConnections();
+            PooledConnection pooledConnection;
+            while ((pooledConnection = pollIdleConnection()) != null) {
+                if (pooledConnection.isUsable()) {
+                    borrowed = true;
+                    return pooledConnection;
+                }
+                pooledConnection.close();
+            }
+            pooledConnection = new PooledConnection(connectionFactory.createConnection());
+            borrowed = true;
+            return pooledConnection;
+        } finally {
+            if (!borrowed) {
+                availableConnections.release();
+            }
+        }
+    }
+
+    /**
+     * Returns a borrowed connection to the pool
+     *
+     * @param pooledConnection the connection that was borrowed using {@link #borrow()}
+     */
+    public void release(PooledConnection pooledConnection) {
+        if (pooledConnection.isOpen()) {
+            pooledConnection.lastUsed = System.nanoTime();
+            synchronized (idleConnections) {
+                idleConnections.offerFirst(pooledConnection);
+            }
+        }
+        availableConnections.release();
+    }
+
+    /**
+     * Closes a borrowed connection that can't be reused, and frees its slot in the pool
+     *
+     * @param pooledConnection the connection that was borrowed using {@link #borrow()}
+     */
+    public void discard(PooledConnection pooledConnection) {
+        try {
+            pooledConnection.close();
+        } finally {
+            availableConnections.release();
+        }
+    }
+
+    private PooledConnection pollIdleConnection() {
+        synchronized (idleConnections) {
+            return idleConnections.pollFirst();
+        }
+    }
+
+    private void evictIdleConnections() {
+        var now = System.nanoTime();
+        synchronized (idleConnections) {
+            // the most recently used connections are at the head of the deque
+            while (!idleConnections.isEmpty() && now - idleConnections.peekLast().lastUsed > idleTimeout) {
+                idleConnections.pollLast().close();
+            }
+        }
+    }
+
+    private void closeIdleConnections() {
+        synchronized (idleConnections) {
+            idleConnections.forEach(PooledConnection::close);
+            idleConnections.clear();
+        }
+    }
+
+    /**
+     * Identifies a connection pool without keeping the plaintext password, so that it never ends up in logs or heap dumps
+     */
+    private record PoolKey(String connectionString, String username, String credentialsDigest) {
+    }
+
+    /**
+     * Creates a new physical database connection
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection createConnection() throws SQLException;
+    }
+
+    /**
+     * A pooled database connection along with its cached prepared statements
+     */
+    public static class PooledConnection {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> preparedStatements = new LinkedHashMap<>(MAXIMUM_CACHED_STATEMENTS, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > MAXIMUM_CACHED_STATEMENTS) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+        private long lastUsed = System.nanoTime();
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Gets a cached prepared statement for the target query, or prepares a new one, with its parameters cleared and
+         * its fetch size reset to the driver default, so that streaming queries don't affect the queries that reuse it.
+         * The returned statement is owned by the pooled connection and must not be closed by the caller.
+         *
+         * @param sql the parameterized SQL statement
+         * @return a forward-only, read-only prepared statement
+         * @throws SQLException in case the statement couldn't be prepared
+         */
+        public PreparedStatement prepareStatement(String sql) throws SQLException {
+            var preparedStatement = preparedStatements.get(sql);
+            if (preparedStatement == null || preparedStatement.isClosed()) {
+                preparedStatement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                try {
+                    preparedStatement.setQueryTimeout(Integer.parseInt(System.getProperty("databaseQueryTimeout").trim()));
+                } catch (SQLFeatureNotSupportedException e) {
+                    // some older drivers, like org.postgresql.jdbc4, don't support query timeouts
+                }
+                preparedStatements.put(sql, preparedStatement);
+            } else {
+                preparedStatement.clearParameters();
+                preparedStatement.setFetchSize(0);
+            }
+            return preparedStatement;
+        }
+
+        /**
+         * Gets the underlying database connection, which must not be closed by the caller
+         *
+         * @return the pooled connection
+         */
+        public Connection getConnection() {
+            return connection;
+        }
+
+        private boolean isOpen() {
+            try {
+                return !connection.isClosed();
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private boolean isUsable() {
+            if (System.nanoTime() - lastUsed < VALIDATION_THRESHOLD) {
+                return isOpen();
+            }
+            try {
+                return connection.isValid(VALIDATION_TIMEOUT);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private void close() {
+            preparedStatements.values().forEach(PooledConnection::closeQuietly);
+            preparedStatements.clear();
+            try {
+                connection.close();
+                ReportManager.logDiscrete("Idle database connection closed.");
+            } catch (SQLException e) {
+                ReportManagerHelper.logDiscrete(e);
+            }
+        }
+
+        private static void closeQuietly(PreparedStatement preparedStatement) {
+            try {
+                preparedStatement.close();
+            } catch (SQLException e) {
+                // the statement is discarded either way
+            }
+        }
+    }
+}
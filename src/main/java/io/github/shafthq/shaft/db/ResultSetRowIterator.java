@@ -0,0 +1,141 @@
+package io.github.shafthq.shaft.db;
+
+import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+import lombok.Getter;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily reads the rows of a forward-only ResultSet one at a time, so that large query results are never fully
+ * loaded into memory.
+ * <p>
+ * Each row is returned as a map of the column labels to their typed values, in the order of the columns.
+ * While reading, a preview of the first few rows is kept to be attached to the report instead of the whole result.
+ */
+public class ResultSetRowIterator implements Iterator<Map<String, Object>>, AutoCloseable {
+    private final ResultSet resultSet;
+    private final CloseAction closeAction;
+    private final String[] columnLabels;
+    private final int maximumPreviewRows;
+    private final StringBuilder preview = new StringBuilder();
+    @Getter
+    private long rowsRead = 0;
+    private Boolean hasNextRow;
+    private boolean closed = false;
+
+    /**
+     * @param resultSet          a forward-only ResultSet that was positioned before its first row
+     * @param maximumPreviewRows the number of rows to keep in the report preview
+     * @param closeAction        releases the ResultSet and its statement and connection once reading is done
+     * @throws SQLException in case the ResultSet metadata couldn't be read
+     */
+    public ResultSetRowIterator(ResultSet resultSet, int maximumPreviewRows, CloseAction closeAction) throws SQLException {
+        this.resultSet = resultSet;
+        this.closeAction = closeAction;
+        this.maximumPreviewRows = maximumPreviewRows;
+        var metaData = resultSet.getMetaData();
+        this.columnLabels = new String[metaData.getColumnCount()];
+        for (var i = 0; i < columnLabels.length; i++) {
+            columnLabels[i] = metaData.getColumnLabel(i + 1);
+        }
+        preview.append(String.join("\t", columnLabels)).append("\n");
+    }
+
+    /**
+     * Gets the label of the target column as it's used in the returned rows
+     *
+     * @param columnName the name or label of the target column, case-insensitive
+     * @return the column label used as a key in the returned rows
+     * @throws SQLException in case the ResultSet doesn't contain this column
+     */
+    public String getColumnLabel(String columnName) throws SQLException {
+        return columnLabels[resultSet.findColumn(columnName) - 1];
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (hasNextRow == null) {
+            try {
+                hasNextRow = resultSet.next();
+            } catch (SQLException rootCauseException) {
+                throw new IllegalStateException("Failed to read the next row.", rootCauseException);
+            }
+        }
+        return hasNextRow;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        hasNextRow = null;
+        Map<String, Object> row = new LinkedHashMap<>(columnLabels.length * 2);
+        try {
+            for (var i = 0; i < columnLabels.length; i++) {
+                row.put(columnLabels[i], resultSet.getObject(i + 1));
+            }
+        } catch (SQLException rootCauseException) {
+            throw new IllegalStateException("Failed to read row number " + (rowsRead + 1) + ".", rootCauseException);
+        }
+        rowsRead++;
+        if (rowsRead <= maximumPreviewRows) {
+            preview.append(String.join("\t", row.values().stream().map(String::valueOf).toList())).append("\n");
+        }
+        return row;
+    }
+
+    /**
+     * Gets a preview of the rows that were read so far, limited to the configured number of rows
+     *
+     * @return the column labels followed by the first rows, tab separated
+     */
+    public String getPreview() {
+        if (rowsRead > maximumPreviewRows) {
+            return preview + "... (" + (rowsRead - maximumPreviewRows) + " more rows)";
+        }
+        return preview.toString().trim();
+    }
+
+    /**
+     * Wraps this iterator in a sequential stream that releases the ResultSet once it's closed
+     *
+     * @return a lazy stream of the remaining rows
+     */
+    public Stream<Map<String, Object>> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            try {
+                closeAction.close();
+            } catch (SQLException rootCauseException) {
+                ReportManagerHelper.logDiscrete(rootCauseException);
+            }
+        }
+    }
+
+    /**
+     * Releases the resources held by the ResultSet
+     */
+    @FunctionalInterface
+    public interface CloseAction {
+        void close() throws SQLException;
+    }
+}
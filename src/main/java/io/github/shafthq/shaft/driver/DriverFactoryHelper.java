@@ -14,12 +14,14 @@ import io.appium.java_client.remote.options.UnhandledPromptBehavior;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import io.github.shafthq.shaft.enums.OperatingSystems;
 import io.github.shafthq.shaft.gui.browser.BrowserActionsHelpers;
+import io.github.shafthq.shaft.gui.element.ElementReferenceCache;
 import io.github.shafthq.shaft.gui.video.RecordManager;
 import io.github.shafthq.shaft.properties.PropertyFileManager;
 import io.github.shafthq.shaft.tools.io.helpers.FailureReporter;
 import io.github.shafthq.shaft.tools.io.helpers.ReportHelper;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
 import io.github.shafthq.shaft.tools.support.JavaHelper;
+import io.github.shafthq.shaft.tools.support.StackHelper;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
@@ -72,6 +74,8 @@ public class DriverFactoryHelper {
     @Getter(AccessLevel.PUBLIC)
     private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
     private static final ThreadLocal<WebDriverManager> webDriverManager = new ThreadLocal<>();
+    @Getter(AccessLevel.PUBLIC)
+    private static final ThreadLocal<ElementReferenceCache> elementReferenceCache = ThreadLocal.withInitial(ElementReferenceCache::new);
     private static ChromeOptions chOptions;
     private static FirefoxOptions ffOptions;
     private static SafariOptions sfOptions;
@@ -154,14 +158,18 @@ public class DriverFactoryHelper {
         } catch (Exception e) {
             ReportManagerHelper.logDiscrete(e);
         } finally {
+            if (ElementReferenceCache.isEnabled()) {
+                ReportManager.logDiscrete(elementReferenceCache.get().toString());
+            }
             driver.remove();
             webDriverManager.remove();
+            elementReferenceCache.remove();
             ReportManager.log("Successfully Closed Driver.");
         }
     }
 
     private static void failAction(String testData, Throwable... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         String message = "Driver Factory Action \"" + actionName + "\" failed.";
         if (testData != null) {
             message = message + " With the following test data \"" + testData + "\".";
@@ -854,6 +862,10 @@ public class DriverFactoryHelper {
                 }
             }
 
+            if (WebDriverCommandMetrics.isEnabled()) {
+                WebDriverCommandMetrics.instrument(driver.get());
+            }
+
             if (Boolean.TRUE.equals(HEADLESS_EXECUTION)) {
                 driver.get().manage().window().setSize(new Dimension(1920, 1080));
             }
@@ -0,0 +1,318 @@
+package io.github.shafthq.shaft.driver;
+
+import com.google.gson.GsonBuilder;
+import com.shaft.tools.io.ReportManager;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the WebDriver commands that are sent by each SHAFT action, along with their latency, to show how many driver
+ * round-trips each action costs.
+ * <p>
+ * Commands are timed by the command executor of the underlying {@link RemoteWebDriver}, so both the commands that are
+ * sent internally by SHAFT actions and the ones that are sent through the decorated driver are counted. Each command
+ * is attributed to the outermost SHAFT_Engine method on the calling thread's stack, like {@code ElementActions.click},
+ * and each invocation of an action ends once its result is written to the report.
+ */
+public class WebDriverCommandMetrics {
+    private static final String UNATTRIBUTED_ACTION = "Unattributed";
+    private static final long[] LATENCY_BUCKETS_MILLIS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500};
+    private static final int[] COMMAND_COUNT_BUCKETS = {1, 2, 3, 5, 8, 13, 21, 34};
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+    private static final Map<String, ActionMetrics> actions = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ActionInvocation> currentInvocation = new ThreadLocal<>();
+
+    private WebDriverCommandMetrics() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Checks the captureWebDriverCommandMetrics flag
+     *
+     * @return true if the WebDriver commands sent by each action should be counted and timed
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("captureWebDriverCommandMetrics"));
+    }
+
+    /**
+     * Starts timing all the commands that are sent by the target driver. Drivers that don't extend
+     * {@link RemoteWebDriver}, and drivers that are already instrumented, are left as they are. Appium drivers are left
+     * as they are too, because they cast their command executor to {@link AppiumCommandExecutor}, for example to define
+     * custom commands.
+     *
+     * @param driver the newly created driver
+     */
+    public static void instrument(WebDriver driver) {
+        if (driver instanceof RemoteWebDriver remoteWebDriver && !(driver instanceof AppiumDriver)
+                && !(remoteWebDriver.getCommandExecutor() instanceof TimedCommandExecutor)) {
+            try {
+                var setCommandExecutor = RemoteWebDriver.class.getDeclaredMethod("setCommandExecutor", CommandExecutor.class);
+                setCommandExecutor.setAccessible(true);
+                setCommandExecutor.invoke(remoteWebDriver, new TimedCommandExecutor(remoteWebDriver.getCommandExecutor()));
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                ReportManagerHelper.logDiscrete(e);
+            }
+        }
+    }
+
+    /**
+     * Ends the current action invocation on this thread, if any, adding its number of commands to the histogram of
+     * its action
+     */
+    public static void endAction() {
+        var invocation = currentInvocation.get();
+        if (invocation != null) {
+            currentInvocation.remove();
+            actions.get(invocation.actionName).recordInvocation(invocation.commands, invocation.latencyNanos);
+        }
+    }
+
+    /**
+     * Writes the collected metrics as JSON and CSV files to the allure results directory, and attaches them to the
+     * execution report
+     */
+    public static void attach() {
+        endAction();
+        if (actions.isEmpty()) {
+            return;
+        }
+        var sortedActions = new TreeMap<>(actions);
+        var json = toJson(sortedActions);
+        var csv = toCsv(sortedActions);
+        try {
+            var metricsFolder = Path.of(System.getProperty("allureResultsFolderPath").trim());
+            Files.createDirectories(metricsFolder);
+            Files.writeString(metricsFolder.resolve("webDriverCommandMetrics.json"), json, StandardCharsets.UTF_8);
+            Files.writeString(metricsFolder.resolve("webDriverCommandMetrics.csv"), csv, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            ReportManagerHelper.logDiscrete(e);
+        }
+        ReportManagerHelper.attach("WebDriver Command Metrics", "JSON", json);
+        ReportManagerHelper.attach("WebDriver Command Metrics", "CSV", csv);
+        sortedActions.values().forEach(actionMetrics -> ReportManager.logDiscrete(actionMetrics.toString()));
+    }
+
+    private static void recordCommand(String commandName, long latencyNanos) {
+        var actionName = getActionName();
+        var invocation = currentInvocation.get();
+        if (invocation != null && !invocation.actionName.equals(actionName)) {
+            // the previous action didn't write its result to the report
+            endAction();
+            invocation = null;
+        }
+        if (invocation == null) {
+            invocation = new ActionInvocation(actionName);
+            currentInvocation.set(invocation);
+        }
+        invocation.commands++;
+        invocation.latencyNanos += latencyNanos;
+        actions.computeIfAbsent(actionName, ActionMetrics::new).recordCommand(commandName, latencyNanos);
+    }
+
+    /**
+     * Finds the outermost SHAFT_Engine frame on the current thread's stack, skipping the listeners that TestNG and
+     * Cucumber call around the tests
+     *
+     * @return the simple class name and the method name of the action, or {@value #UNATTRIBUTED_ACTION} if the
+     * command wasn't sent by a SHAFT action
+     */
+    private static String getActionName() {
+        return stackWalker.walk(frames -> frames
+                        .filter(frame -> frame.getClassName().startsWith("com.shaft.")
+                                || (frame.getClassName().startsWith("io.github.shafthq.shaft.")
+                                && !frame.getClassName().startsWith("io.github.shafthq.shaft.listeners.")
+                                && !frame.getClassName().startsWith(WebDriverCommandMetrics.class.getName())))
+                        .reduce((innerFrame, outerFrame) -> outerFrame))
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1) + "." + frame.getMethodName())
+                .orElse(UNATTRIBUTED_ACTION);
+    }
+
+    private static String toJson(Map<String, ActionMetrics> sortedActions) {
+        List<Map<String, Object>> actionsJson = new ArrayList<>();
+        sortedActions.values().forEach(actionMetrics -> actionsJson.add(actionMetrics.toMap()));
+        return new GsonBuilder().setPrettyPrinting().create().toJson(Map.of("actions", actionsJson));
+    }
+
+    private static String toCsv(Map<String, ActionMetrics> sortedActions) {
+        var csv = new StringBuilder("action,invocations,command,count,totalMillis,meanMillis,maxMillis");
+        for (var label : getLatencyBucketLabels()) {
+            csv.append(",").append(label);
+        }
+        csv.append(System.lineSeparator());
+        sortedActions.values().forEach(actionMetrics -> actionMetrics.appendCsvRows(csv));
+        return csv.toString();
+    }
+
+    private static List<String> getLatencyBucketLabels() {
+        List<String> labels = new ArrayList<>();
+        for (var bucket : LATENCY_BUCKETS_MILLIS) {
+            labels.add("le" + bucket + "ms");
+        }
+        labels.add("gt" + LATENCY_BUCKETS_MILLIS[LATENCY_BUCKETS_MILLIS.length - 1] + "ms");
+        return labels;
+    }
+
+    private static List<String> getCommandCountBucketLabels() {
+        List<String> labels = new ArrayList<>();
+        for (var bucket : COMMAND_COUNT_BUCKETS) {
+            labels.add("le" + bucket);
+        }
+        labels.add("gt" + COMMAND_COUNT_BUCKETS[COMMAND_COUNT_BUCKETS.length - 1]);
+        return labels;
+    }
+
+    private static int getLatencyBucket(long latencyNanos) {
+        var latencyMillis = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+        var bucket = 0;
+        while (bucket < LATENCY_BUCKETS_MILLIS.length && latencyMillis > LATENCY_BUCKETS_MILLIS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static int getCommandCountBucket(int commands) {
+        var bucket = 0;
+        while (bucket < COMMAND_COUNT_BUCKETS.length && commands > COMMAND_COUNT_BUCKETS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000d) / 100d;
+    }
+
+    private static Map<String, Long> toHistogram(List<String> labels, long[] counts) {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            histogram.put(labels.get(i), counts[i]);
+        }
+        return histogram;
+    }
+
+    private static final class TimedCommandExecutor implements CommandExecutor {
+        private final CommandExecutor delegate;
+
+        private TimedCommandExecutor(CommandExecutor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Response execute(Command command) throws IOException {
+            var start = System.nanoTime();
+            try {
+                return delegate.execute(command);
+            } finally {
+                recordCommand(command.getName(), System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static final class ActionInvocation {
+        private final String actionName;
+        private int commands = 0;
+        private long latencyNanos = 0;
+
+        private ActionInvocation(String actionName) {
+            this.actionName = actionName;
+        }
+    }
+
+    private static final class CommandMetrics {
+        private long count = 0;
+        private long totalNanos = 0;
+        private long maxNanos = 0;
+        private final long[] latencyHistogram = new long[LATENCY_BUCKETS_MILLIS.length + 1];
+    }
+
+    private static final class ActionMetrics {
+        private final String actionName;
+        private final Map<String, CommandMetrics> commands = new TreeMap<>();
+        private final long[] commandCountHistogram = new long[COMMAND_COUNT_BUCKETS.length + 1];
+        private long invocations = 0;
+        private long totalCommands = 0;
+        private long totalNanos = 0;
+
+        private ActionMetrics(String actionName) {
+            this.actionName = actionName;
+        }
+
+        private synchronized void recordCommand(String commandName, long latencyNanos) {
+            var commandMetrics = commands.computeIfAbsent(commandName, name -> new CommandMetrics());
+            commandMetrics.count++;
+            commandMetrics.totalNanos += latencyNanos;
+            commandMetrics.maxNanos = Math.max(commandMetrics.maxNanos, latencyNanos);
+            commandMetrics.latencyHistogram[getLatencyBucket(latencyNanos)]++;
+        }
+
+        private synchronized void recordInvocation(int commandCount, long latencyNanos) {
+            invocations++;
+            totalCommands += commandCount;
+            totalNanos += latencyNanos;
+            commandCountHistogram[getCommandCountBucket(commandCount)]++;
+        }
+
+        private synchronized Map<String, Object> toMap() {
+            Map<String, Object> action = new LinkedHashMap<>();
+            action.put("action", actionName);
+            action.put("invocations", invocations);
+            action.put("commands", totalCommands);
+            action.put("meanCommandsPerInvocation", invocations == 0 ? 0 : Math.round(totalCommands * 100d / invocations) / 100d);
+            action.put("totalMillis", toMillis(totalNanos));
+            action.put("commandsPerInvocationHistogram", toHistogram(getCommandCountBucketLabels(), commandCountHistogram));
+            List<Map<String, Object>> commandsJson = new ArrayList<>();
+            commands.forEach((commandName, commandMetrics) -> {
+                Map<String, Object> command = new LinkedHashMap<>();
+                command.put("command", commandName);
+                command.put("count", commandMetrics.count);
+                command.put("totalMillis", toMillis(commandMetrics.totalNanos));
+                command.put("meanMillis", toMillis(commandMetrics.totalNanos / commandMetrics.count));
+                command.put("maxMillis", toMillis(commandMetrics.maxNanos));
+                command.put("latencyHistogram", toHistogram(getLatencyBucketLabels(), commandMetrics.latencyHistogram));
+                commandsJson.add(command);
+            });
+            action.put("commandsByName", commandsJson);
+            return action;
+        }
+
+        private synchronized void appendCsvRows(StringBuilder csv) {
+            commands.forEach((commandName, commandMetrics) -> {
+                csv.append(actionName).append(",").append(invocations).append(",").append(commandName)
+                        .append(",").append(commandMetrics.count)
+                        .append(",").append(toMillis(commandMetrics.totalNanos))
+                        .append(",").append(toMillis(commandMetrics.totalNanos / commandMetrics.count))
+                        .append(",").append(toMillis(commandMetrics.maxNanos));
+                for (var bucketCount : commandMetrics.latencyHistogram) {
+                    csv.append(",").append(bucketCount);
+                }
+                csv.append(System.lineSeparator());
+            });
+        }
+
+        @Override
+        public synchronized String toString() {
+            return actionName + ": " + invocations + " invocations, " + totalCommands + " WebDriver commands, "
+                    + (invocations == 0 ? 0 : Math.round(totalCommands * 100d / invocations) / 100d) + " commands per invocation, "
+                    + toMillis(totalNanos) + " ms.";
+        }
+    }
+}
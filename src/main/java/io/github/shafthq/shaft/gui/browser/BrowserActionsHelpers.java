@@ -3,10 +3,12 @@ package io.github.shafthq.shaft.gui.browser;
 import com.google.common.net.InternetDomainName;
 import com.shaft.driver.SHAFT;
 import com.shaft.tools.io.ReportManager;
+import io.github.shafthq.shaft.gui.element.ElementActionsHelper;
 import io.github.shafthq.shaft.gui.image.ScreenshotManager;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
 import io.github.shafthq.shaft.tools.support.JavaHelper;
 import io.github.shafthq.shaft.tools.support.JavaScriptHelper;
+import io.github.shafthq.shaft.tools.support.StackHelper;
 import lombok.SneakyThrows;
 import org.openqa.selenium.Dimension;
 import org.openqa.selenium.Point;
@@ -30,14 +32,17 @@ import java.util.*;
 public class BrowserActionsHelpers {
     private static final Boolean HEADLESS_EXECUTION = Boolean.valueOf(System.getProperty("headlessExecution").trim());
     private static final int NAVIGATION_TIMEOUT_INTEGER = Integer.parseInt(System.getProperty("browserNavigationTimeout").trim());
+    private static final List<String> NAVIGATION_ERROR_MESSAGES = List.of("This site can’t be reached", "Unable to connect",
+            "Safari Can’t Connect to the Server", "This page can't be displayed", "Invalid URL",
+            "<head></head><body></body>");
 
     public static void passAction(String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         passAction(null, actionName, testData);
     }
 
     public static void passAction(WebDriver driver, String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         passAction(driver, actionName, testData);
     }
 
@@ -46,12 +51,12 @@ public class BrowserActionsHelpers {
     }
 
     public static void failAction(Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         failAction(null, actionName, "", rootCauseException);
     }
 
     public static void failAction(WebDriver driver, String testData, Exception... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         failAction(driver, actionName, testData, rootCauseException);
     }
 
@@ -108,15 +113,51 @@ public class BrowserActionsHelpers {
     }
 
     public static void confirmThatWebsiteIsNotDown(WebDriver driver, String targetUrl) {
-        List<String> navigationErrorMessages = Arrays.asList("This site can’t be reached", "Unable to connect",
-                "Safari Can’t Connect to the Server", "This page can't be displayed", "Invalid URL",
-                "<head></head><body></body>");
-        // TODO: get page loop outside the foreach loop
-        navigationErrorMessages.forEach(errorMessage -> {
-            if (driver.getPageSource().contains(errorMessage)) {
-                failAction(driver, "Error message: \"" + errorMessage + "\", Target URL: \"" + targetUrl + "\"");
+        confirmThatWebsiteIsNotDown(driver, targetUrl, getPageFingerprint(driver));
+    }
+
+    public static void confirmThatWebsiteIsNotDown(WebDriver driver, String targetUrl, PageFingerprint pageFingerprint) {
+        if (!pageFingerprint.navigationErrorMessage().isEmpty()) {
+            failAction(driver, "Error message: \"" + pageFingerprint.navigationErrorMessage() + "\", Target URL: \"" + targetUrl + "\"");
+        }
+    }
+
+    /**
+     * Captures what's needed to verify that a navigation was successful: the number of html elements, an identifier
+     * of the page content, and the first navigation error message that's displayed on the page.
+     * <p>
+     * Unless verifyNavigationUsingPageFingerprint is disabled, all of them are computed within the browser, and only a
+     * short hash of the page source is returned instead of downloading the whole page source. The page source is used
+     * in case the fingerprint couldn't be computed.
+     *
+     * @param driver the current instance of Selenium WebDriver
+     * @return the fingerprint of the current page
+     */
+    public static PageFingerprint getPageFingerprint(WebDriver driver) {
+        return getPageFingerprint(driver, null);
+    }
+
+    /**
+     * Captures the fingerprint of the current page the same way as the fingerprint it will be compared to, so that a
+     * page source is never compared to an in-browser hash
+     *
+     * @param driver             the current instance of Selenium WebDriver
+     * @param initialFingerprint the fingerprint of the page before navigating, or null
+     * @return the fingerprint of the current page
+     */
+    public static PageFingerprint getPageFingerprint(WebDriver driver, PageFingerprint initialFingerprint) {
+        var isFallbackRequired = initialFingerprint != null && !initialFingerprint.computedInBrowser();
+        if (!isFallbackRequired && Boolean.parseBoolean(System.getProperty("verifyNavigationUsingPageFingerprint"))) {
+            try {
+                var fingerprint = (List<?>) ((JavascriptExecutor) driver).executeScript(JavaScriptHelper.PAGE_FINGERPRINT.getValue(), NAVIGATION_ERROR_MESSAGES);
+                return new PageFingerprint(((Number) fingerprint.get(0)).intValue(), String.valueOf(fingerprint.get(1)), String.valueOf(fingerprint.get(2)), true);
+            } catch (WebDriverException | ClassCastException | IndexOutOfBoundsException | NullPointerException rootCauseException) {
+                ReportManagerHelper.logDiscrete(rootCauseException);
             }
-        });
+        }
+        var pageSource = driver.getPageSource();
+        var navigationErrorMessage = NAVIGATION_ERROR_MESSAGES.stream().filter(pageSource::contains).findFirst().orElse("");
+        return new PageFingerprint(ElementActionsHelper.getElementsCount(driver, By.tagName("html")), pageSource.toLowerCase(), navigationErrorMessage, false);
     }
 
     public static void navigateToNewURL(WebDriver driver, String initialURL, String targetUrl, String targetUrlAfterRedirection) {
@@ -273,4 +314,29 @@ public class BrowserActionsHelpers {
         InternetDomainName internetDomainName = InternetDomainName.from(host).topPrivateDomain();
         return internetDomainName.toString();
     }
+
+    /**
+     * The state of a page that's compared before and after navigating to verify that the navigation was successful
+     *
+     * @param htmlElements           the number of html elements on the page
+     * @param content                identifies the page content, ignoring case; two pages with the same content have the same identifier
+     * @param navigationErrorMessage the first navigation error message that's displayed on the page, or an empty string
+     * @param computedInBrowser      true if the content is a hash computed within the browser, or false if it's the page source
+     */
+    public record PageFingerprint(int htmlElements, String content, String navigationErrorMessage, boolean computedInBrowser) {
+        /**
+         * Checks whether the page content changed, ignoring case. Fingerprints that were captured differently can't be
+         * compared, so they're never considered different.
+         *
+         * @param initialFingerprint the fingerprint of the page before navigating
+         * @return true if this page has different content than the initial page
+         */
+        public boolean isDifferentFrom(PageFingerprint initialFingerprint) {
+            if (computedInBrowser != initialFingerprint.computedInBrowser()) {
+                ReportManager.logDiscrete("Couldn't compare the page content before and after navigating, because the page fingerprint couldn't be computed within the browser after navigating.");
+                return false;
+            }
+            return !content.equals(initialFingerprint.content());
+        }
+    }
 }
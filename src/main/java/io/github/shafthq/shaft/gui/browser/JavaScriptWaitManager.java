@@ -1,5 +1,6 @@
 package io.github.shafthq.shaft.gui.browser;
 
+import com.shaft.tools.io.ReportManager;
 import io.github.shafthq.shaft.driver.DriverFactoryHelper;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
 import io.github.shafthq.shaft.tools.support.JavaScriptHelper;
@@ -11,38 +12,37 @@ import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Objects;
 
 public class JavaScriptWaitManager {
-    private static boolean WAIT_FOR_LAZY_LOADING;
-    private static int WAIT_DURATION_INTEGER;
     private static final String TARGET_DOCUMENT_READY_STATE = "complete";
-    private static final ThreadLocal<WebDriver> jsWaitDriver = new ThreadLocal<>();
     private static final int delayBetweenPolls = 20; // milliseconds
-    private static JavascriptExecutor jsExec;
+    private static final int quietPeriod = 100; // milliseconds
+    private static final int settleTimeout = 1000; // milliseconds
+    private static volatile Settings settings;
 
     private JavaScriptWaitManager() {
         throw new IllegalStateException("Utility class");
     }
 
-    private static void setDriver(WebDriver driver) {
-        jsWaitDriver.set(driver);
-        jsExec = (JavascriptExecutor) jsWaitDriver.get();
-        WAIT_FOR_LAZY_LOADING = Boolean.parseBoolean(System.getProperty("waitForLazyLoading"));
-        WAIT_DURATION_INTEGER = Integer.parseInt(System.getProperty("lazyLoadingTimeout"));
-    }
-
     /**
      * Waits for jQuery, Angular, and/or Javascript if present on the current page.
+     * <p>
+     * If waitForLazyLoadingUsingPageEvents is enabled, a single asynchronous script waits within the browser until the
+     * document is loaded and jQuery and Angular are idle, then for up to a second until there are no pending fetch or
+     * XHR requests and no elements were added or removed for a short quiet period. Each of them is polled using
+     * separate scripts in case the asynchronous script couldn't be executed, or the page didn't settle in time.
+     * <p>
+     * All the state of a wait is kept in its own {@link ReadinessContext}, so parallel threads never run scripts
+     * against each other's drivers.
      */
     public static void waitForLazyLoading(WebDriver driver) {
-        setDriver(driver);
-        if (Boolean.TRUE.equals(WAIT_FOR_LAZY_LOADING)
+        var currentSettings = Settings.current();
+        if (currentSettings.waitForLazyLoading()
                 && !DriverFactoryHelper.isMobileNativeExecution()) {
             try {
-                waitForJQueryLoadIfDefined();
-                waitForAngularIfDefined();
-                waitForJSLoadIfDefined();
+                new ReadinessContext(driver, currentSettings).waitForLazyLoading();
             } catch (NoSuchSessionException | NullPointerException e) {
                 // do nothing
             } catch (WebDriverException e) {
@@ -56,121 +56,198 @@ public class JavaScriptWaitManager {
         }
     }
 
-    private static void waitForJQueryLoadIfDefined() {
-        Boolean jQueryDefined = (Boolean) jsExec.executeScript("return typeof jQuery != 'undefined'");
-        if (Boolean.TRUE.equals(jQueryDefined)) {
-            ExpectedCondition<Boolean> jQueryLoad = null;
+    private static void sleep() {
+        try {
+            Thread.sleep(JavaScriptWaitManager.delayBetweenPolls);
+        } catch (Exception e) {
+            ReportManagerHelper.logDiscrete(e);
+            // InterruptedException
+        }
+    }
+
+    /**
+     * The lazy loading properties, which are only parsed again if any of them was changed since they were last parsed
+     */
+    private record Settings(String rawWaitForLazyLoading, String rawLazyLoadingTimeout,
+                            String rawScriptExecutionTimeout, String rawUsePageEvents,
+                            boolean waitForLazyLoading, Duration lazyLoadingTimeout, long pageIdleTimeout,
+                            boolean usePageEvents) {
+        private static Settings current() {
+            var rawWaitForLazyLoading = System.getProperty("waitForLazyLoading");
+            var rawLazyLoadingTimeout = System.getProperty("lazyLoadingTimeout");
+            var rawScriptExecutionTimeout = System.getProperty("scriptExecutionTimeout");
+            var rawUsePageEvents = System.getProperty("waitForLazyLoadingUsingPageEvents");
+            var cachedSettings = settings;
+            if (cachedSettings != null
+                    && Objects.equals(cachedSettings.rawWaitForLazyLoading, rawWaitForLazyLoading)
+                    && Objects.equals(cachedSettings.rawLazyLoadingTimeout, rawLazyLoadingTimeout)
+                    && Objects.equals(cachedSettings.rawScriptExecutionTimeout, rawScriptExecutionTimeout)
+                    && Objects.equals(cachedSettings.rawUsePageEvents, rawUsePageEvents)) {
+                return cachedSettings;
+            }
+            var waitForLazyLoading = Boolean.parseBoolean(rawWaitForLazyLoading);
+            var lazyLoadingTimeout = waitForLazyLoading ? Integer.parseInt(rawLazyLoadingTimeout.trim()) : 0;
+            var usePageEvents = waitForLazyLoading && Boolean.parseBoolean(rawUsePageEvents);
+            // the whole wait has to finish within the script timeout, or the driver will abort it
+            var pageIdleTimeout = usePageEvents
+                    ? Math.max(0, Math.min(lazyLoadingTimeout, Integer.parseInt(rawScriptExecutionTimeout.trim())) * 1000L - 500)
+                    : 0;
+            cachedSettings = new Settings(rawWaitForLazyLoading, rawLazyLoadingTimeout, rawScriptExecutionTimeout,
+                    rawUsePageEvents, waitForLazyLoading, Duration.ofSeconds(lazyLoadingTimeout), pageIdleTimeout,
+                    usePageEvents);
+            settings = cachedSettings;
+            return cachedSettings;
+        }
+    }
+
+    /**
+     * Waits for a single driver using the settings that were current when the wait started
+     */
+    private static final class ReadinessContext {
+        private final WebDriver driver;
+        private final JavascriptExecutor jsExec;
+        private final Settings settings;
+
+        private ReadinessContext(WebDriver driver, Settings settings) {
+            this.driver = driver;
+            this.jsExec = (JavascriptExecutor) driver;
+            this.settings = settings;
+        }
+
+        private void waitForLazyLoading() {
+            if (!settings.usePageEvents() || !waitForPageToBeIdle()) {
+                waitForJQueryLoadIfDefined();
+                waitForAngularIfDefined();
+                waitForJSLoadIfDefined();
+            }
+        }
+
+        /**
+         * Injects the page readiness tracker, if it wasn't injected in the current document yet, and waits until the
+         * page is idle or the lazy loading timeout expires, within a single round-trip
+         *
+         * @return true if the readiness script was executed, or false if the page should be polled instead
+         */
+        private boolean waitForPageToBeIdle() {
             try {
+                var readiness = (List<?>) jsExec.executeAsyncScript(JavaScriptHelper.PAGE_READINESS.getValue(), settings.pageIdleTimeout(), quietPeriod, settleTimeout);
+                var status = String.valueOf(readiness.get(0));
+                var elapsed = ((Number) readiness.get(1)).longValue();
+                var pendingRequests = readiness.get(2);
+                switch (status) {
+                    case "idle" -> ReportManager.logDiscrete(() -> "Page was idle after " + elapsed + " ms.");
+                    case "busy" -> {
+                        // the page is loaded, but keeps changing or requesting data, so it's left to the polling checks
+                        ReportManager.logDiscrete(() -> "Page didn't settle after " + elapsed + " ms, with " + pendingRequests + " pending requests.");
+                        return false;
+                    }
+                    default -> ReportManager.logDiscrete(() -> "Page was still loading after " + elapsed + " ms, with " + pendingRequests + " pending requests.");
+                }
+                return true;
+            } catch (NoSuchSessionException e) {
+                throw e;
+            } catch (WebDriverException | ClassCastException | IndexOutOfBoundsException | NullPointerException e) {
+                ReportManagerHelper.logDiscrete(e);
+                return false;
+            }
+        }
+
+        private void waitForJQueryLoadIfDefined() {
+            Boolean jQueryDefined = (Boolean) jsExec.executeScript("return typeof jQuery != 'undefined'");
+            if (Boolean.TRUE.equals(jQueryDefined)) {
                 // Wait for jQuery to load
-                jQueryLoad = driver -> ((Long) ((JavascriptExecutor) jsWaitDriver.get())
+                ExpectedCondition<Boolean> jQueryLoad = waitDriver -> ((Long) ((JavascriptExecutor) Objects.requireNonNull(waitDriver))
                         .executeScript("return jQuery.active") == 0);
-            } catch (NullPointerException e) {
-                // do nothing
+                // Get JQuery is Ready
+                boolean jqueryReady = (Boolean) jsExec.executeScript("return jQuery.active==0");
+
+                if (!jqueryReady) {
+                    // Wait JQuery until it is Ready!
+                    int tryCounter = 0;
+                    while ((!jqueryReady) && (tryCounter < 5)) {
+                        try {
+                            // Wait for jQuery to load
+                            (new WebDriverWait(driver, settings.lazyLoadingTimeout())).until(jQueryLoad);
+                        } catch (NullPointerException e) {
+                            // do nothing
+                        }
+                        sleep();
+                        tryCounter++;
+                        jqueryReady = (Boolean) jsExec.executeScript("return jQuery.active == 0");
+                    }
+                }
             }
-            // Get JQuery is Ready
-            boolean jqueryReady = (Boolean) jsExec.executeScript("return jQuery.active==0");
+        }
 
-            if (!jqueryReady) {
-                // Wait JQuery until it is Ready!
+        private void waitForAngularLoad() {
+            String angularReadyScript = "return angular.element(document).injector().get('$http').pendingRequests.length === 0";
+
+            // Wait for ANGULAR to load
+            ExpectedCondition<Boolean> angularLoad = waitDriver -> Boolean
+                    .valueOf(((JavascriptExecutor) Objects.requireNonNull(waitDriver)).executeScript(angularReadyScript).toString());
+
+            // Get Angular is Ready
+            boolean angularReady = Boolean.parseBoolean(jsExec.executeScript(angularReadyScript).toString());
+
+            if (!angularReady) {
+                // Wait ANGULAR until it is Ready!
                 int tryCounter = 0;
-                while ((!jqueryReady) && (tryCounter < 5)) {
-                    try {
-                        // Wait for jQuery to load
-                        (new WebDriverWait(jsWaitDriver.get(), Duration.ofSeconds(WAIT_DURATION_INTEGER))).until(jQueryLoad);
-                    } catch (NullPointerException e) {
-                        // do nothing
-                    }
+                while ((!angularReady) && (tryCounter < 5)) {
+                    // Wait for Angular to load
+                    (new WebDriverWait(driver, settings.lazyLoadingTimeout())).until(angularLoad);
+                    // More Wait for stability (Optional)
                     sleep();
                     tryCounter++;
-                    jqueryReady = (Boolean) jsExec.executeScript("return jQuery.active == 0");
+                    angularReady = Boolean.parseBoolean(jsExec.executeScript(angularReadyScript).toString());
                 }
             }
         }
-    }
 
-    private static void waitForAngularLoad() {
-        JavascriptExecutor jsExec = (JavascriptExecutor) jsWaitDriver.get();
-
-        String angularReadyScript = "return angular.element(document).injector().get('$http').pendingRequests.length === 0";
-
-        // Wait for ANGULAR to load
-        ExpectedCondition<Boolean> angularLoad = driver -> Boolean
-                .valueOf(((JavascriptExecutor) Objects.requireNonNull(driver)).executeScript(angularReadyScript).toString());
-
-        // Get Angular is Ready
-        boolean angularReady = Boolean.parseBoolean(jsExec.executeScript(angularReadyScript).toString());
-
-        if (!angularReady) {
-            // Wait ANGULAR until it is Ready!
-            int tryCounter = 0;
-            while ((!angularReady) && (tryCounter < 5)) {
-                // Wait for Angular to load
-                (new WebDriverWait(jsWaitDriver.get(), Duration.ofSeconds(WAIT_DURATION_INTEGER))).until(angularLoad);
-//                ExpectedCondition<Boolean> finalAngularLoad = angularLoad;
-//                (new WebDriverWait(jsWaitDriver.get(), WAIT_DURATION)).until(waitDriver-> finalAngularLoad);
-                // More Wait for stability (Optional)
-                sleep();
-                tryCounter++;
-                angularReady = Boolean.parseBoolean(jsExec.executeScript(angularReadyScript).toString());
-            }
-        }
-    }
+        private void waitForJSLoadIfDefined() {
+            // Wait for Javascript to load
+            ExpectedCondition<Boolean> jsLoad = waitDriver -> ((JavascriptExecutor) Objects.requireNonNull(waitDriver))
+                    .executeScript(JavaScriptHelper.DOCUMENT_READYSTATE.getValue()).toString().trim()
+                    .equalsIgnoreCase(TARGET_DOCUMENT_READY_STATE);
 
-    private static void waitForJSLoadIfDefined() {
-        JavascriptExecutor jsExec = (JavascriptExecutor) jsWaitDriver.get();
-
-        // Wait for Javascript to load
-        ExpectedCondition<Boolean> jsLoad = driver -> ((JavascriptExecutor) jsWaitDriver.get())
-                .executeScript(JavaScriptHelper.DOCUMENT_READYSTATE.getValue()).toString().trim()
-                .equalsIgnoreCase(TARGET_DOCUMENT_READY_STATE);
-
-        // Get JS is Ready
-        boolean jsReady = jsExec.executeScript(JavaScriptHelper.DOCUMENT_READYSTATE.getValue()).toString().trim()
-                .equalsIgnoreCase(TARGET_DOCUMENT_READY_STATE);
-
-        // Wait Javascript until it is Ready!
-        if (!jsReady) {
-            // Wait JS until it is Ready!
-            int tryCounter = 0;
-            while ((!jsReady) && (tryCounter < 5)) {
-                // Wait for Javascript to load
-                try {
-                    (new WebDriverWait(jsWaitDriver.get(), Duration.ofSeconds(WAIT_DURATION_INTEGER))).until(jsLoad);
-                } catch (org.openqa.selenium.TimeoutException e) {
-                    //do nothing
-                    //TODO: confirm that this fixed the timeout issue on the grid
+            // Get JS is Ready
+            boolean jsReady = jsExec.executeScript(JavaScriptHelper.DOCUMENT_READYSTATE.getValue()).toString().trim()
+                    .equalsIgnoreCase(TARGET_DOCUMENT_READY_STATE);
+
+            // Wait Javascript until it is Ready!
+            if (!jsReady) {
+                // Wait JS until it is Ready!
+                int tryCounter = 0;
+                while ((!jsReady) && (tryCounter < 5)) {
+                    // Wait for Javascript to load
+                    try {
+                        (new WebDriverWait(driver, settings.lazyLoadingTimeout())).until(jsLoad);
+                    } catch (org.openqa.selenium.TimeoutException e) {
+                        //do nothing
+                        //TODO: confirm that this fixed the timeout issue on the grid
+                    }
+                    // More Wait for stability (Optional)
+                    sleep();
+                    tryCounter++;
+                    jsReady = jsExec.executeScript(JavaScriptHelper.DOCUMENT_READYSTATE.getValue()).toString().trim()
+                            .equalsIgnoreCase(TARGET_DOCUMENT_READY_STATE);
                 }
-                // More Wait for stability (Optional)
-                sleep();
-                tryCounter++;
-                jsReady = jsExec.executeScript(JavaScriptHelper.DOCUMENT_READYSTATE.getValue()).toString().trim()
-                        .equalsIgnoreCase(TARGET_DOCUMENT_READY_STATE);
             }
         }
-    }
 
-    private static void waitForAngularIfDefined() {
-        try {
-            Boolean angularDefined = !((Boolean) jsExec.executeScript("return window.angular === undefined"));
-            if (Boolean.TRUE.equals(angularDefined)) {
-                Boolean angularInjectorDefined = !((Boolean) jsExec
-                        .executeScript("return angular.element(document).injector() === undefined"));
+        private void waitForAngularIfDefined() {
+            try {
+                Boolean angularDefined = !((Boolean) jsExec.executeScript("return window.angular === undefined"));
+                if (Boolean.TRUE.equals(angularDefined)) {
+                    Boolean angularInjectorDefined = !((Boolean) jsExec
+                            .executeScript("return angular.element(document).injector() === undefined"));
 
-                if (Boolean.TRUE.equals(angularInjectorDefined)) {
-                    waitForAngularLoad();
+                    if (Boolean.TRUE.equals(angularInjectorDefined)) {
+                        waitForAngularLoad();
+                    }
                 }
+            } catch (WebDriverException e) {
+                // do nothing
             }
-        } catch (WebDriverException e) {
-            // do nothing
-        }
-    }
-
-    private static void sleep() {
-        try {
-            Thread.sleep(JavaScriptWaitManager.delayBetweenPolls);
-        } catch (Exception e) {
-            ReportManagerHelper.logDiscrete(e);
-            // InterruptedException
         }
     }
-}
\ No newline at end of file
+}
@@ -4,11 +4,13 @@ import com.shaft.cli.FileActions;
 import com.shaft.gui.element.SikuliActions;
 import com.shaft.tools.io.ReportManager;
 import io.github.shafthq.shaft.driver.DriverFactoryHelper;
+import io.github.shafthq.shaft.gui.image.FrameChangeDetector;
 import io.github.shafthq.shaft.gui.image.ImageProcessingActions;
 import io.github.shafthq.shaft.gui.image.ScreenshotManager;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
 import io.github.shafthq.shaft.tools.support.JavaHelper;
 import io.github.shafthq.shaft.tools.support.JavaScriptHelper;
+import io.github.shafthq.shaft.tools.support.StackHelper;
 import io.github.shafthq.shaft.validations.helpers.ValidationsHelper;
 import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.*;
@@ -62,25 +64,39 @@ public class ElementActionsHelper {
     }
 
     public static List<Object> waitForElementPresence(WebDriver driver, String elementReferenceScreenshot) {
+        return waitForElementPresence(driver, null, elementReferenceScreenshot);
+    }
+
+    public static List<Object> waitForElementPresence(WebDriver driver, By parentElementLocator, String elementReferenceScreenshot) {
         long startTime = System.currentTimeMillis();
         long elapsedTime;
-        List<Integer> coordinates;
+        List<Integer> coordinates = Collections.emptyList();
         boolean isFound = false;
         byte[] currentScreenImage;
 
         List<Object> returnedValue = new LinkedList<>();
         if (FileActions.getInstance().doesFileExist(elementReferenceScreenshot)) {
+            org.openqa.selenium.Rectangle regionOfInterest = getRegionOfInterest(driver, parentElementLocator);
+            var frameChangeDetector = new FrameChangeDetector();
+            long pollingDelay = ELEMENT_IDENTIFICATION_POLLING_DELAY;
             do {
                 try {
-                    Thread.sleep(ELEMENT_IDENTIFICATION_POLLING_DELAY);
+                    Thread.sleep(pollingDelay);
                 } catch (InterruptedException e) {
                     ReportManagerHelper.logDiscrete(e);
                 }
+                long screenshotStartTime = System.currentTimeMillis();
                 currentScreenImage = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
-                coordinates = ImageProcessingActions.findImageWithinCurrentPage(elementReferenceScreenshot, currentScreenImage);
-                if (!Collections.emptyList().equals(coordinates)) {
-                    isFound = true;
+                long screenshotLatency = System.currentTimeMillis() - screenshotStartTime;
+                // the element can't have appeared if the screen didn't change since it was last searched
+                if (frameChangeDetector.hasChanged(currentScreenImage)) {
+                    coordinates = ImageProcessingActions.findImageWithinCurrentPage(driver, elementReferenceScreenshot, currentScreenImage, regionOfInterest);
+                    if (!Collections.emptyList().equals(coordinates)) {
+                        isFound = true;
+                    }
                 }
+                // slow drivers would otherwise spend most of the wait taking screenshots
+                pollingDelay = Math.max(ELEMENT_IDENTIFICATION_POLLING_DELAY, screenshotLatency);
                 elapsedTime = System.currentTimeMillis() - startTime;
             } while (!isFound && elapsedTime < DEFAULT_ELEMENT_IDENTIFICATION_TIMEOUT);
             returnedValue.add(currentScreenImage);
@@ -96,6 +112,19 @@ public class ElementActionsHelper {
         return returnedValue;
     }
 
+    private static org.openqa.selenium.Rectangle getRegionOfInterest(WebDriver driver, By parentElementLocator) {
+        if (parentElementLocator == null) {
+            return null;
+        }
+        try {
+            // the parent element bounds are only a hint, so the whole screen is searched if they can't be resolved
+            var parentElements = driver.findElements(parentElementLocator);
+            return parentElements.size() == 1 ? parentElements.get(0).getRect() : null;
+        } catch (WebDriverException e) {
+            return null;
+        }
+    }
+
     private static boolean isValidToCheckForVisibility(By elementLocator, boolean checkForVisibility) {
         return checkForVisibility && !formatLocatorToString(elementLocator).contains("input[@type='file']")
                 && !elementLocator.equals(By.tagName("html"));
@@ -122,9 +151,21 @@ public class ElementActionsHelper {
     }
 
     public static List<Object> waitForElementPresence(WebDriver driver, By elementLocator, int numberOfAttempts, boolean checkForVisibility) {
+        return waitForElementPresence(driver, elementLocator, numberOfAttempts, checkForVisibility, false);
+    }
+
+    /**
+     * Waits for the target element, optionally reusing its cached reference
+     *
+     * @param reuseCachedReference true if the caller only needs the first matching element, in which case the number of
+     *                             matching elements that is returned for a cached reference may be outdated
+     */
+    private static List<Object> waitForElementPresence(WebDriver driver, By elementLocator, int numberOfAttempts, boolean checkForVisibility, boolean reuseCachedReference) {
         boolean isValidToCheckForVisibility = isValidToCheckForVisibility(elementLocator, checkForVisibility);
 
         var isMobileExecution = DriverFactoryHelper.isMobileNativeExecution() || DriverFactoryHelper.isMobileWebExecution();
+        // cached references are only reused when checking for visibility, because the visibility check doubles as a staleness check
+        var elementReferenceCache = ElementReferenceCache.isEnabled() ? DriverFactoryHelper.getElementReferenceCache().get() : null;
 
         try {
             AtomicBoolean attemptedToUseActionsToScrollToElement = new AtomicBoolean(false);
@@ -134,21 +175,28 @@ public class ElementActionsHelper {
                     .pollingEvery(Duration.ofMillis(ELEMENT_IDENTIFICATION_POLLING_DELAY))
                     .ignoreAll(getExpectedExceptions(isValidToCheckForVisibility))
                     .until(nestedDriver -> {
-                        WebElement targetElement = nestedDriver.findElement(elementLocator);
-                        if (isValidToCheckForVisibility) {
-                            if (!isMobileExecution) {
-                                if (isSafariBrowser() || attemptedToUseActionsToScrollToElement.get()) {
-                                    ((Locatable) targetElement).getCoordinates().inViewPort();
-                                } else {
-                                    attemptedToUseActionsToScrollToElement.set(true);
-                                    new Actions(driver).scrollToElement(targetElement).perform();
+                        if (elementReferenceCache != null && reuseCachedReference && isValidToCheckForVisibility) {
+                            var cachedElementInformation = elementReferenceCache.get(nestedDriver, elementLocator);
+                            if (cachedElementInformation.isPresent()) {
+                                try {
+                                    checkElementVisibility(nestedDriver, (WebElement) cachedElementInformation.get().get(1), isMobileExecution, attemptedToUseActionsToScrollToElement);
+                                    return cachedElementInformation.get();
+                                } catch (StaleElementReferenceException staleElementReferenceException) {
+                                    elementReferenceCache.invalidate(elementLocator);
+                                    throw staleElementReferenceException;
                                 }
-                            } else {
-                                targetElement.isDisplayed();
                             }
                         }
+                        var matchingElements = findMatchingElements(nestedDriver, elementLocator);
+                        WebElement targetElement = matchingElements.get(0);
+                        if (isValidToCheckForVisibility) {
+                            checkElementVisibility(nestedDriver, targetElement, isMobileExecution, attemptedToUseActionsToScrollToElement);
+                        }
+                        if (elementReferenceCache != null) {
+                            elementReferenceCache.put(nestedDriver, elementLocator, matchingElements.size(), targetElement);
+                        }
                         var elementInformation = new ArrayList<>();
-                        elementInformation.add(nestedDriver.findElements(elementLocator).size());
+                        elementInformation.add(matchingElements.size());
                         elementInformation.add(targetElement);
                         return elementInformation;
                     });
@@ -163,6 +211,37 @@ public class ElementActionsHelper {
         }
     }
 
+    private static void checkElementVisibility(WebDriver driver, WebElement targetElement, boolean isMobileExecution, AtomicBoolean attemptedToUseActionsToScrollToElement) {
+        if (!isMobileExecution) {
+            if (isSafariBrowser() || attemptedToUseActionsToScrollToElement.get()) {
+                ((Locatable) targetElement).getCoordinates().inViewPort();
+            } else {
+                attemptedToUseActionsToScrollToElement.set(true);
+                new Actions(driver).scrollToElement(targetElement).perform();
+            }
+        } else {
+            targetElement.isDisplayed();
+        }
+    }
+
+    /**
+     * Resolves all the elements matching the target locator in a single WebDriver round-trip,
+     * the first element is the same one that would have been returned by findElement.
+     *
+     * @param driver         the current instance of Selenium WebDriver
+     * @param elementLocator the locator of the webElement under test (By xpath, id,
+     *                       selector, name ...etc)
+     * @return a non-empty list of the matching elements
+     * @throws NoSuchElementException in case no elements were found, so that the calling FluentWait keeps polling
+     */
+    private static List<WebElement> findMatchingElements(WebDriver driver, By elementLocator) {
+        var matchingElements = driver.findElements(elementLocator);
+        if (matchingElements.isEmpty()) {
+            throw new NoSuchElementException("Cannot locate an element using " + formatLocatorToString(elementLocator));
+        }
+        return matchingElements;
+    }
+
     public static List<Object> scrollToFindElement(WebDriver driver, By elementLocator) {
         try {
             return new FluentWait<>(driver)
@@ -171,15 +250,16 @@ public class ElementActionsHelper {
                     .pollingEvery(Duration.ofMillis(ELEMENT_IDENTIFICATION_POLLING_DELAY))
                     .ignoreAll(getExpectedExceptions(true))
                     .until(nestedDriver -> {
-                        WebElement targetElement;
+                        List<WebElement> matchingElements;
                         try {
-                            targetElement = nestedDriver.findElement(elementLocator);
+                            matchingElements = findMatchingElements(nestedDriver, elementLocator);
                         } catch (NoSuchElementException noSuchElementException) {
                             new Actions(nestedDriver).scrollByAmount(0, nestedDriver.manage().window().getSize().getHeight()).perform();
-                            targetElement = nestedDriver.findElement(elementLocator);
+                            matchingElements = findMatchingElements(nestedDriver, elementLocator);
                         }
+                        WebElement targetElement = matchingElements.get(0);
                         var elementInformation = new ArrayList<>();
-                        elementInformation.add(nestedDriver.findElements(elementLocator).size());
+                        elementInformation.add(matchingElements.size());
                         elementInformation.add(targetElement);
                         return elementInformation;
                     });
@@ -593,7 +673,14 @@ public class ElementActionsHelper {
 
     private static List<Object> identifyUniqueElement(WebDriver driver, By elementLocator,
                                                       boolean checkForVisibility) {
-        var matchingElementsInformation = getMatchingElementsInformation(driver, elementLocator, Optional.empty(), Optional.of(checkForVisibility));
+        List<Object> matchingElementsInformation;
+        var forceCheckElementLocatorIsUnique = Boolean.parseBoolean(System.getProperty("forceCheckElementLocatorIsUnique"));
+        if (elementLocator != null && !elementLocator.equals(By.tagName("html"))) {
+            // the cached number of matching elements isn't refreshed, so the cached reference can't be used to check uniqueness
+            matchingElementsInformation = waitForElementPresence(driver, elementLocator, 1, checkForVisibility, !forceCheckElementLocatorIsUnique);
+        } else {
+            matchingElementsInformation = getMatchingElementsInformation(driver, elementLocator, Optional.empty(), Optional.of(checkForVisibility));
+        }
 
         if (elementLocator != null) {
             if (!(elementLocator instanceof RelativeLocator.RelativeBy)) {
@@ -606,7 +693,7 @@ public class ElementActionsHelper {
                         return matchingElementsInformation;
                     }
                     default -> {
-                        if (Boolean.TRUE.equals(Boolean.valueOf(System.getProperty("forceCheckElementLocatorIsUnique")))) {
+                        if (forceCheckElementLocatorIsUnique) {
 //                            failAction(driver, "multiple elements found matching this locator",
 //                                    elementLocator);
                             Assert.fail("multiple elements found matching this locator \"" + formatLocatorToString(elementLocator) + "\"");
@@ -683,14 +770,14 @@ public class ElementActionsHelper {
 
     public static void passAction(WebDriver driver, By elementLocator, String testData, List<Object> screenshot, String elementName) {
         //TODO: open calling methods, and test if Appium can also fetch the element name instead of passing null
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         List<List<Object>> attachments = new LinkedList<>();
         attachments.add(screenshot);
         passAction(driver, elementLocator, actionName, testData, attachments, elementName);
     }
 
     public static void passAction(Screen screen, App applicationWindow, Pattern element, String testData) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         List<List<Object>> attachments = new LinkedList<>();
         attachments.add(SikuliActions.prepareElementScreenshotAttachment(screen, applicationWindow, element, actionName, true));
         passAction(null, null, actionName, testData, attachments, null);
@@ -702,22 +789,22 @@ public class ElementActionsHelper {
     }
 
     public static void failAction(WebDriver driver, By elementLocator, Throwable... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         failAction(driver, actionName, null, elementLocator, null, rootCauseException);
     }
 
     public static void failAction(WebDriver driver, String testData, By elementLocator, Throwable... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         failAction(driver, actionName, testData, elementLocator, null, rootCauseException);
     }
 
     public static void failAction(WebDriver driver, String testData, By elementLocator, List<List<Object>> attachments, Throwable... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         failAction(driver, actionName, testData, elementLocator, attachments, rootCauseException);
     }
 
     public static void failAction(Screen screen, App applicationWindow, Pattern element, String testData, Throwable... rootCauseException) {
-        String actionName = Thread.currentThread().getStackTrace()[2].getMethodName();
+        String actionName = StackHelper.getCallingMethodName();
         List<List<Object>> attachments = new LinkedList<>();
         attachments.add(SikuliActions.prepareElementScreenshotAttachment(screen, applicationWindow, element, actionName, false));
         failAction(null, actionName, testData, null, attachments, rootCauseException);
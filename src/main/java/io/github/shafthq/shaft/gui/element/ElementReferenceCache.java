@@ -0,0 +1,97 @@
+package io.github.shafthq.shaft.gui.element;
+
+import io.github.shafthq.shaft.driver.DriverFactoryHelper;
+import lombok.Getter;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the resolved WebElement references of the current driver session keyed by their locators, so that chained
+ * actions and validations against the same locator can skip locating the element again.
+ * <p>
+ * A cached reference is reused until it goes stale, or until the whole cache is invalidated by navigating or by
+ * switching the current window/frame. It's only reused by actions that need a single element, because neither the
+ * cached number of matching elements nor the cached first match are refreshed when matching elements are added to or
+ * removed from the page; counting elements and checking that a locator is unique always locate the elements again.
+ * Each thread gets its own instance through {@link DriverFactoryHelper#getElementReferenceCache()}.
+ */
+public class ElementReferenceCache {
+    private final Map<By, List<Object>> cachedElementsInformation = new HashMap<>();
+    private WebDriver driver;
+    @Getter
+    private int hits = 0;
+    @Getter
+    private int misses = 0;
+
+    /**
+     * Checks the cacheElementReferences flag
+     *
+     * @return true if resolved element references should be cached and reused
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("cacheElementReferences"));
+    }
+
+    /**
+     * Gets the cached element information for the target locator, following the same contract as
+     * {@link ElementActionsHelper#waitForElementPresence(WebDriver, By)}
+     *
+     * @param driver         the current instance of Selenium WebDriver
+     * @param elementLocator the locator of the webElement under test
+     * @return the cached number of matching elements followed by the first matching element, or empty in case of a cache miss
+     */
+    public Optional<List<Object>> get(WebDriver driver, By elementLocator) {
+        if (this.driver == driver && cachedElementsInformation.containsKey(elementLocator)) {
+            hits++;
+            return Optional.of(new ArrayList<>(cachedElementsInformation.get(elementLocator)));
+        }
+        misses++;
+        return Optional.empty();
+    }
+
+    public void put(WebDriver driver, By elementLocator, int numberOfFoundElements, WebElement targetElement) {
+        if (this.driver != driver) {
+            invalidate();
+            this.driver = driver;
+        }
+        var elementInformation = new ArrayList<>();
+        elementInformation.add(numberOfFoundElements);
+        elementInformation.add(targetElement);
+        cachedElementsInformation.put(elementLocator, elementInformation);
+    }
+
+    /**
+     * Removes the cached reference of a single element, used when this reference goes stale
+     *
+     * @param elementLocator the locator of the webElement under test
+     */
+    public void invalidate(By elementLocator) {
+        cachedElementsInformation.remove(elementLocator);
+    }
+
+    /**
+     * Removes all the cached references, used after navigating or switching the current window/frame
+     */
+    public void invalidate() {
+        cachedElementsInformation.clear();
+    }
+
+    /**
+     * Invalidates all the cached references for the current thread
+     */
+    public static void invalidateCurrent() {
+        DriverFactoryHelper.getElementReferenceCache().get().invalidate();
+    }
+
+    @Override
+    public String toString() {
+        return "Element reference cache hits: " + hits + ", misses: " + misses + ".";
+    }
+}
@@ -0,0 +1,173 @@
+package io.github.shafthq.shaft.gui.image;
+
+import com.shaft.cli.FileActions;
+import com.shaft.tools.io.ReportManager;
+import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+import org.imgscalr.Scalr;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.FileImageOutputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encodes the frames of a single animated GIF on a dedicated background thread, so that decoding, scaling,
+ * watermarking, and writing each frame doesn't block the test thread.
+ * <p>
+ * The number of queued frames is bounded; once the queue is full the test thread either waits for a free slot
+ * or drops the new frame, based on the animatedGif_dropFramesWhenQueueIsFull property.
+ */
+class AnimatedGifEncoder {
+    private static final long FINISH_TIMEOUT = 60; // seconds
+    private static final long INTERRUPTED_FRAME_TIMEOUT = 5; // seconds
+    private final String gifFolderPath;
+    private final String gifFileName;
+    private final int gifSize;
+    private final int frameDelay;
+    private final boolean dropFramesWhenQueueIsFull;
+    private final Semaphore availableQueueSlots;
+    private final ExecutorService encoder;
+    private ImageOutputStream gifOutputStream;
+    private AnimatedGifManager gifWriter;
+    private int droppedFrames = 0;
+    private boolean closed = false;
+
+    AnimatedGifEncoder(String gifFolderPath, String gifFileName, int gifSize, int frameDelay, int maximumQueuedFrames, boolean dropFramesWhenQueueIsFull) {
+        this.gifFolderPath = gifFolderPath;
+        this.gifFileName = gifFileName;
+        this.gifSize = gifSize;
+        this.frameDelay = frameDelay;
+        this.dropFramesWhenQueueIsFull = dropFramesWhenQueueIsFull;
+        this.availableQueueSlots = new Semaphore(Math.max(1, maximumQueuedFrames));
+        var callingThreadName = Thread.currentThread().getName();
+        this.encoder = Executors.newSingleThreadExecutor(runnable -> {
+            var encoderThread = new Thread(runnable, "AnimatedGifEncoder-" + callingThreadName);
+            encoderThread.setDaemon(true);
+            return encoderThread;
+        });
+    }
+
+    /**
+     * Queues a raw PNG screenshot to be appended to the animated GIF
+     *
+     * @param screenshot the screenshot bytes as returned by the driver
+     */
+    void appendFrame(byte[] screenshot) {
+        if (screenshot == null || screenshot.length == 0) {
+            return;
+        }
+        if (dropFramesWhenQueueIsFull) {
+            if (!availableQueueSlots.tryAcquire()) {
+                droppedFrames++;
+                return;
+            }
+        } else {
+            try {
+                availableQueueSlots.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        try {
+            encoder.execute(() -> {
+                try {
+                    encodeFrame(screenshot);
+                } catch (IOException | RuntimeException e) {
+                    ReportManagerHelper.logDiscrete(e);
+                } finally {
+                    availableQueueSlots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the encoder was already finished
+            availableQueueSlots.release();
+        }
+    }
+
+    /**
+     * Waits for all the queued frames to be encoded, then finishes the GIF sequence and closes the file
+     *
+     * @return true if at least one frame was written to the GIF file
+     */
+    boolean finish() {
+        encoder.shutdown();
+        try {
+            if (!encoder.awaitTermination(FINISH_TIMEOUT, TimeUnit.SECONDS)) {
+                ReportManager.logDiscrete("Timed out while waiting for the animated GIF frames to be encoded.");
+                encoder.shutdownNow();
+                // the frame that is being encoded can't be interrupted, so it gets a short grace period to finish
+                encoder.awaitTermination(INTERRUPTED_FRAME_TIMEOUT, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            encoder.shutdownNow();
+        }
+        if (droppedFrames > 0) {
+            ReportManager.logDiscrete("Dropped " + droppedFrames + " animated GIF frames because the encoder queue was full.");
+        }
+        // frames that are still being encoded after the grace period are discarded instead of being written to the closed file
+        synchronized (this) {
+            closed = true;
+            if (gifWriter == null) {
+                return false;
+            }
+            try {
+                gifWriter.close();
+                gifOutputStream.close();
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                ReportManagerHelper.logDiscrete(e);
+                return false;
+            }
+        }
+    }
+
+    private void encodeFrame(byte[] screenshot) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(screenshot));
+        if (image == null) {
+            return;
+        }
+        //scaling it down
+        image = Scalr.resize(image, Scalr.Method.BALANCED, gifSize);
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            if (gifWriter == null) {
+                startSequence(image);
+            }
+            gifWriter.writeToSequence(ScreenshotManager.overlayShaftEngineLogo(image));
+        }
+    }
+
+    private void startSequence(BufferedImage firstImage) throws IOException {
+        // create a new BufferedOutputStream
+        FileActions.getInstance().createFile(gifFolderPath, gifFileName);
+        gifOutputStream = new FileImageOutputStream(new File(gifFolderPath + gifFileName));
+
+        // create a gif sequence with the type of the first image, and the configured delay between frames,
+        // which loops infinitely
+        gifWriter = new AnimatedGifManager(gifOutputStream, firstImage.getType(), frameDelay);
+
+        // draw initial blank image to set the size of the GIF...
+        BufferedImage initialImage = new BufferedImage(firstImage.getWidth(), firstImage.getHeight(),
+                firstImage.getType());
+        Graphics2D initialImageGraphics = initialImage.createGraphics();
+        initialImageGraphics.setBackground(Color.WHITE);
+        initialImageGraphics.clearRect(0, 0, firstImage.getWidth(), firstImage.getHeight());
+        initialImageGraphics.dispose();
+
+        // write out initialImage to the sequence...
+        gifWriter.writeToSequence(ScreenshotManager.overlayShaftEngineLogo(initialImage));
+    }
+}
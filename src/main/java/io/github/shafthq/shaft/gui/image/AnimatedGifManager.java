@@ -9,9 +9,10 @@ import java.io.IOException;
 import java.util.Iterator;
 
 public class AnimatedGifManager {
-    private static final ThreadLocal<ImageWriter> gifWriter = new ThreadLocal<>();
-    private static final ThreadLocal<ImageWriteParam> imageWriteParam = new ThreadLocal<>();
-    private static final ThreadLocal<IIOMetadata> imageMetaData = new ThreadLocal<>();
+    // instance fields so that a sequence can be written by a thread other than the one that created it
+    private ImageWriter gifWriter;
+    private ImageWriteParam imageWriteParam;
+    private IIOMetadata imageMetaData;
 
     /**
      * Creates a new GifSequenceWriter
@@ -62,7 +63,7 @@ public class AnimatedGifManager {
     }
 
     protected void writeToSequence(RenderedImage img) throws IOException {
-        gifWriter.get().writeToSequence(new IIOImage(img, null, imageMetaData.get()), imageWriteParam.get());
+        gifWriter.writeToSequence(new IIOImage(img, null, imageMetaData), imageWriteParam);
     }
 
     /**
@@ -72,20 +73,20 @@ public class AnimatedGifManager {
      * @throws IOException if an error occurs during writing.
      */
     protected void close() throws IOException {
-        gifWriter.get().endWriteSequence();
+        gifWriter.endWriteSequence();
     }
 
     private void initialize(ImageOutputStream outputStream, int imageType, int timeBetweenFramesMS) throws IOException {
         // my method to create a writer
-        gifWriter.set(getWriter());
-        imageWriteParam.set(gifWriter.get().getDefaultWriteParam());
+        gifWriter = getWriter();
+        imageWriteParam = gifWriter.getDefaultWriteParam();
         var imageTypeSpecifier = ImageTypeSpecifier.createFromBufferedImageType(imageType);
 
-        imageMetaData.set(gifWriter.get().getDefaultImageMetadata(imageTypeSpecifier, imageWriteParam.get()));
+        imageMetaData = gifWriter.getDefaultImageMetadata(imageTypeSpecifier, imageWriteParam);
 
-        String metaFormatName = imageMetaData.get().getNativeMetadataFormatName();
+        String metaFormatName = imageMetaData.getNativeMetadataFormatName();
 
-        IIOMetadataNode root = (IIOMetadataNode) imageMetaData.get().getAsTree(metaFormatName);
+        IIOMetadataNode root = (IIOMetadataNode) imageMetaData.getAsTree(metaFormatName);
 
         IIOMetadataNode graphicsControlExtensionNode = getNode(root, "GraphicControlExtension");
 
@@ -110,10 +111,10 @@ public class AnimatedGifManager {
         child.setUserObject(new byte[]{0x1, (byte) (loop & 0xFF), (byte) ((loop >> 8) & 0xFF)});
         appExtensionsNode.appendChild(child);
 
-        imageMetaData.get().setFromTree(metaFormatName, root);
+        imageMetaData.setFromTree(metaFormatName, root);
 
-        gifWriter.get().setOutput(outputStream);
+        gifWriter.setOutput(outputStream);
 
-        gifWriter.get().prepareWriteSequence(null);
+        gifWriter.prepareWriteSequence(null);
     }
 }
\ No newline at end of file
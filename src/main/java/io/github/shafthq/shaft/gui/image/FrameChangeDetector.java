@@ -0,0 +1,99 @@
+package io.github.shafthq.shaft.gui.image;
+
+import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Tells whether consecutive screenshots taken while waiting for an element to appear are different, so that the
+ * template matching is only repeated when the screen changed since it was last searched.
+ * <p>
+ * Screenshots that are byte-identical to the previous one are considered unchanged without decoding them. Otherwise,
+ * the screenshot is downscaled by averaging every {@link #CELL_SIZE}x{@link #CELL_SIZE} block of pixels, so every pixel
+ * contributes to the result, and it is considered unchanged only if no block's average color moved by more than
+ * {@link #TOLERANCE} levels. This only absorbs encoding noise; even a single pixel that changes color completely is
+ * detected wherever it is. Each wait should use its own instance.
+ */
+public class FrameChangeDetector {
+    private static final int CELL_SIZE = 8;
+    private static final int TOLERANCE = 2;
+    private byte[] lastFrame;
+    private Downscale lastDownscale;
+
+    /**
+     * Checks whether the screenshot is different from the previous one that was passed to this detector
+     *
+     * @param frame the current screenshot
+     * @return true if this is the first screenshot, or if it changed since the previous one
+     */
+    public boolean hasChanged(byte[] frame) {
+        if (frame == null || frame.length == 0) {
+            return true;
+        }
+        if (Arrays.equals(frame, lastFrame)) {
+            return false;
+        }
+        var downscale = downscale(frame);
+        // screenshots that couldn't be decoded are always searched
+        var changed = downscale == null || !downscale.isWithinToleranceOf(lastDownscale);
+        lastFrame = frame;
+        lastDownscale = downscale;
+        return changed;
+    }
+
+    /**
+     * Sums the color channels of every pixel in each block of a screenshot
+     */
+    static Downscale downscale(byte[] frame) {
+        try {
+            var image = ImageIO.read(new ByteArrayInputStream(frame));
+            if (image == null) {
+                return null;
+            }
+            int width = image.getWidth();
+            int height = image.getHeight();
+            int columns = (width + CELL_SIZE - 1) / CELL_SIZE;
+            int rows = (height + CELL_SIZE - 1) / CELL_SIZE;
+            var channelSums = new int[columns * rows * 3];
+            var pixelCounts = new int[columns * rows];
+            var row = new int[width];
+            for (int y = 0; y < height; y++) {
+                image.getRGB(0, y, width, 1, row, 0, width);
+                int cellRow = (y / CELL_SIZE) * columns;
+                for (int x = 0; x < width; x++) {
+                    int cell = cellRow + x / CELL_SIZE;
+                    int pixel = row[x];
+                    channelSums[cell * 3] += (pixel >> 16) & 0xff;
+                    channelSums[cell * 3 + 1] += (pixel >> 8) & 0xff;
+                    channelSums[cell * 3 + 2] += pixel & 0xff;
+                    pixelCounts[cell]++;
+                }
+            }
+            return new Downscale(width, height, channelSums, pixelCounts);
+        } catch (IOException | RuntimeException e) {
+            ReportManagerHelper.logDiscrete(e);
+            return null;
+        }
+    }
+
+    record Downscale(int width, int height, int[] channelSums, int[] pixelCounts) {
+        /**
+         * Checks whether the average color of every block is within {@link #TOLERANCE} levels of the same block in the
+         * other downscale
+         */
+        boolean isWithinToleranceOf(Downscale other) {
+            if (other == null || width != other.width || height != other.height) {
+                return false;
+            }
+            for (int i = 0; i < channelSums.length; i++) {
+                if (Math.abs(channelSums[i] - other.channelSums[i]) > TOLERANCE * pixelCounts[i / 3]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package io.github.shafthq.shaft.gui.image;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DataBufferUShort;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Compares pairs of reference and test images in parallel, reading each image once and comparing their raw pixel
+ * buffers in bulk, without copying the images to intermediate folders.
+ * <p>
+ * Only the pairs that fail the threshold are written to the failed images folder, along with an image that highlights
+ * the differing pixels. The results are returned in the same order as the pairs, so that they can be reported from
+ * the calling thread.
+ */
+class ImageFolderComparator {
+    private static final int DIFFERENCE_COLOR = 0xFF0000;
+
+    private ImageFolderComparator() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Compares each test image against the reference image at the same index
+     *
+     * @param referenceFiles     the reference images, sorted by name
+     * @param testFiles          the test images, sorted by name, with the same length as the reference images
+     * @param failedImagesFolder the folder where the failing pairs and their differences are written
+     * @param threshold          the minimum matching percentage for a pair to pass
+     * @return the comparison result of each pair, in the same order as the input files
+     */
+    static List<ComparisonResult> compare(File[] referenceFiles, File[] testFiles, Path failedImagesFolder, double threshold) {
+        return IntStream.range(0, testFiles.length)
+                .parallel()
+                .mapToObj(i -> compare(referenceFiles[i], testFiles[i], failedImagesFolder, threshold))
+                .toList();
+    }
+
+    private static ComparisonResult compare(File referenceFile, File testFile, Path failedImagesFolder, double threshold) {
+        try {
+            var referenceImage = ImageIO.read(referenceFile);
+            var testImage = ImageIO.read(testFile);
+            if (referenceImage == null || testImage == null) {
+                return writeFailedPair(new ComparisonResult(referenceFile, testFile, 0,
+                        "Failed to read [" + (referenceImage == null ? referenceFile : testFile).getName() + "] as an image", null), null, null, failedImagesFolder);
+            }
+            var referenceBuffer = referenceImage.getRaster().getDataBuffer();
+            var testBuffer = testImage.getRaster().getDataBuffer();
+            if (referenceBuffer.getSize() != testBuffer.getSize()) {
+                return writeFailedPair(new ComparisonResult(referenceFile, testFile, 0,
+                        "Both the images are not of same size", null), null, null, failedImagesFolder);
+            }
+            var size = testBuffer.getSize();
+            var percentage = size == 0 ? 100 : (countMatchingElements(referenceBuffer, testBuffer) * 100f) / size;
+            var result = new ComparisonResult(referenceFile, testFile, percentage, null, null);
+            return percentage >= threshold ? result : writeFailedPair(result, referenceImage, testImage, failedImagesFolder);
+        } catch (IOException e) {
+            return new ComparisonResult(referenceFile, testFile, 0, "Failed to compare the images; " + e.getMessage(), null);
+        }
+    }
+
+    private static ComparisonResult writeFailedPair(ComparisonResult result, BufferedImage referenceImage, BufferedImage testImage,
+                                                    Path failedImagesFolder) throws IOException {
+        Files.createDirectories(failedImagesFolder);
+        var testFileName = result.testFile().getName();
+        Files.copy(result.testFile().toPath(), failedImagesFolder.resolve(testFileName + "_testImage"), StandardCopyOption.REPLACE_EXISTING);
+        Files.copy(result.referenceFile().toPath(), failedImagesFolder.resolve(testFileName + "_referenceImage"), StandardCopyOption.REPLACE_EXISTING);
+        if (referenceImage == null || testImage == null
+                || referenceImage.getWidth() != testImage.getWidth() || referenceImage.getHeight() != testImage.getHeight()) {
+            return result;
+        }
+        var differencesImage = failedImagesFolder.resolve(testFileName + "_diffImage.png");
+        ImageIO.write(createDifferencesImage(referenceImage, testImage), "png", differencesImage.toFile());
+        return new ComparisonResult(result.referenceFile(), result.testFile(), result.percentage(), result.failureReason(), differencesImage);
+    }
+
+    /**
+     * Creates a dimmed copy of the test image with the pixels that differ from the reference image marked in red
+     */
+    private static BufferedImage createDifferencesImage(BufferedImage referenceImage, BufferedImage testImage) {
+        int width = testImage.getWidth();
+        int height = testImage.getHeight();
+        var referencePixels = referenceImage.getRGB(0, 0, width, height, null, 0, width);
+        var testPixels = testImage.getRGB(0, 0, width, height, null, 0, width);
+        var differencesImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        var differencePixels = ((DataBufferInt) differencesImage.getRaster().getDataBuffer()).getData();
+        for (int i = 0; i < differencePixels.length; i++) {
+            differencePixels[i] = referencePixels[i] == testPixels[i] ? (testPixels[i] >> 1) & 0x7F7F7F : DIFFERENCE_COLOR;
+        }
+        return differencesImage;
+    }
+
+    private static long countMatchingElements(DataBuffer referenceBuffer, DataBuffer testBuffer) {
+        // Arrays.mismatch skips over the matching runs using vectorized comparisons, and most of a screenshot usually matches
+        if (referenceBuffer.getNumBanks() == 1 && testBuffer.getNumBanks() == 1) {
+            if (referenceBuffer instanceof DataBufferByte reference && testBuffer instanceof DataBufferByte test) {
+                return reference.getSize() - countMismatches(reference.getData(), test.getData(), reference.getSize());
+            } else if (referenceBuffer instanceof DataBufferInt reference && testBuffer instanceof DataBufferInt test) {
+                return reference.getSize() - countMismatches(reference.getData(), test.getData(), reference.getSize());
+            } else if (referenceBuffer instanceof DataBufferUShort reference && testBuffer instanceof DataBufferUShort test) {
+                return reference.getSize() - countMismatches(reference.getData(), test.getData(), reference.getSize());
+            }
+        }
+        // mixed or uncommon buffer types
+        long count = 0;
+        for (int i = 0; i < referenceBuffer.getSize(); i++) {
+            if (referenceBuffer.getElem(i) == testBuffer.getElem(i)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static long countMismatches(byte[] reference, byte[] test, int length) {
+        long mismatches = 0;
+        int index = Arrays.mismatch(reference, 0, length, test, 0, length);
+        while (index >= 0) {
+            mismatches++;
+            int next = index + 1;
+            var offset = Arrays.mismatch(reference, next, length, test, next, length);
+            index = offset < 0 ? -1 : next + offset;
+        }
+        return mismatches;
+    }
+
+    private static long countMismatches(int[] reference, int[] test, int length) {
+        long mismatches = 0;
+        int index = Arrays.mismatch(reference, 0, length, test, 0, length);
+        while (index >= 0) {
+            mismatches++;
+            int next = index + 1;
+            var offset = Arrays.mismatch(reference, next, length, test, next, length);
+            index = offset < 0 ? -1 : next + offset;
+        }
+        return mismatches;
+    }
+
+    private static long countMismatches(short[] reference, short[] test, int length) {
+        long mismatches = 0;
+        int index = Arrays.mismatch(reference, 0, length, test, 0, length);
+        while (index >= 0) {
+            mismatches++;
+            int next = index + 1;
+            var offset = Arrays.mismatch(reference, next, length, test, next, length);
+            index = offset < 0 ? -1 : next + offset;
+        }
+        return mismatches;
+    }
+
+    /**
+     * The result of comparing a single pair of images
+     *
+     * @param referenceFile    the reference image
+     * @param testFile         the test image
+     * @param percentage       the percentage of matching pixel data, from 0 to 100
+     * @param failureReason    the reason the images couldn't be compared, or null if they were compared
+     * @param differencesImage the image highlighting the differing pixels, or null if the pair passed or has different dimensions
+     */
+    record ComparisonResult(File referenceFile, File testFile, float percentage, String failureReason, Path differencesImage) {
+    }
+}
@@ -27,19 +27,16 @@ import org.openqa.selenium.WebDriver;
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.awt.image.DataBuffer;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.nio.file.FileSystems;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.*;
 
 import static io.github.shafthq.shaft.gui.element.ElementActionsHelper.formatLocatorToString;
 
 public class ImageProcessingActions {
-    private static final String DIRECTORY_PROCESSING = "/processingDirectory/";
     private static final String DIRECTORY_FAILED = "/failedImagesDirectory/";
     private static final int
 //            CV_MOP_CLOSE = 3,
@@ -49,6 +46,10 @@ public class ImageProcessingActions {
 //            CV_ADAPTIVE_THRESH_MEAN_C = 0,
 //            CV_THRESH_BINARY_INV = 1;
 
+    // the match methods attempted in order, along with their minimum accepted match accuracy
+    private static final int[] MATCH_METHODS = {Imgproc.TM_CCOEFF_NORMED, Imgproc.TM_SQDIFF_NORMED, Imgproc.TM_CCORR_NORMED};
+    private static final double[] MATCH_THRESHOLDS = {0.80, 0.70, 0.60};
+
     private static String aiFolderPath = "";
 
     private ImageProcessingActions() {
@@ -56,69 +57,30 @@ public class ImageProcessingActions {
     }
 
     public static void compareImageFolders(String referenceFolderPath, String testFolderPath, double threshold) {
-        // TODO: refactor to minimize File IO actions
         try {
-            long fileCounter = 1;
-
             File referenceFolder = new File(referenceFolderPath);
             File testFolder = new File(testFolderPath);
+            Path failedImagesFolder = Path.of(testFolder.getAbsolutePath() + DIRECTORY_FAILED);
 
-            // cleaning processing folders
-            FileActions.getInstance().deleteFolder(referenceFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
-            FileActions.getInstance().deleteFolder(testFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
-            FileActions.getInstance().deleteFolder(testFolder.getAbsolutePath() + DIRECTORY_FAILED);
+            // cleaning the failed images folder
+            FileActions.getInstance().deleteFolder(failedImagesFolder.toString());
 
             // preparing objects for files
-            File[] referenceFiles = referenceFolder.listFiles();
-            File[] testFiles = testFolder.listFiles();
+            File[] referenceFiles = referenceFolder.listFiles(File::isFile);
+            File[] testFiles = testFolder.listFiles(File::isFile);
 
             ReportManager.log("Comparing [" + Objects.requireNonNull(testFiles).length + "] image files from the testFolder ["
                     + testFolder.getPath() + "] against [" + Objects.requireNonNull(referenceFiles).length
-                    + "] image files from the referenceFolder [" + testFolder.getPath() + "]");
+                    + "] image files from the referenceFolder [" + referenceFolder.getPath() + "]");
 
-            // sorting objects for files by fileName
+            // sorting objects for files by fileName, so that each test file is paired with the reference file at the same index
             Arrays.sort(referenceFiles);
             Arrays.sort(testFiles);
 
             // confirming that the number of screenshots match
             if (referenceFiles.length == testFiles.length) {
-                // copy and rename reference screenshots to a processing directory
-                for (File referenceScreenshot : referenceFiles) {
-                    FileActions.getInstance().copyFile(referenceScreenshot.getAbsolutePath(),
-                            referenceScreenshot.getParent() + DIRECTORY_PROCESSING + fileCounter);
-                    fileCounter++;
-                }
-
-                // copy and rename test screenshots to match reference screenshots in a
-                // processing directory
-
-                fileCounter = 1;
-                for (File testScreenshot : testFiles) {
-                    FileActions.getInstance().copyFile(testScreenshot.getAbsolutePath(),
-                            testScreenshot.getParent() + DIRECTORY_PROCESSING + fileCounter);
-                    fileCounter++;
-                }
-
-                // point to the two new processing directories
-                File referenceProcessingFolder = new File(referenceFolderPath + DIRECTORY_PROCESSING);
-                File testProcessingFolder = new File(testFolderPath + DIRECTORY_PROCESSING);
-
-                // preparing objects for files
-                File[] testProcessingFiles = testProcessingFolder.listFiles();
-
-                // sorting objects for files by fileName
-                if (testProcessingFiles != null) {
-                    Arrays.sort(testProcessingFiles);
-                }
-
-                // compare images from the test directory against the reference directory
-                compareImageFolders(referenceFiles, testFiles, Objects.requireNonNull(testProcessingFiles), referenceProcessingFolder,
-                        testProcessingFolder, threshold);
-
-                // cleaning processing folders
-                FileActions.getInstance().deleteFolder(referenceFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
-                FileActions.getInstance().deleteFolder(testFolder.getAbsolutePath() + DIRECTORY_PROCESSING);
-
+                // the images are compared in parallel, then reported in order from this thread
+                reportImageComparisonResults(ImageFolderComparator.compare(referenceFiles, testFiles, failedImagesFolder, threshold), threshold);
             } else {
                 // fail because the number of screenshots don't match
                 // referenceFiles.length == testFiles.length
@@ -128,7 +90,7 @@ public class ImageProcessingActions {
                 FailureReporter.fail(message);
             }
 
-        } catch (NullPointerException | IOException e) {
+        } catch (NullPointerException e) {
             ReportManagerHelper.logDiscrete(e);
             ReportManager.log("Failed to compare image files ...");
         }
@@ -216,157 +178,183 @@ public class ImageProcessingActions {
         return baos.toByteArray();
     }
 
-    private static Mat preprocess(byte[] image) {
+    private static Mat decode(byte[] image) {
+        var encodedImage = new MatOfByte(image);
+        try {
+            return Imgcodecs.imdecode(encodedImage, Imgcodecs.IMREAD_COLOR);
+        } finally {
+            encodedImage.release();
+        }
+    }
+
+    static Mat preprocess(Mat img) {
         //https://stackoverflow.com/questions/37302098/image-preprocessing-with-opencv-before-doing-character-recognition-tesseract
-        Mat img;
         Mat imgGray = new Mat();
         Mat imgGaussianBlur = new Mat();
         Mat imgSobel = new Mat();
         Mat imgThreshold = new Mat();
 
-        img = Imgcodecs.imdecode(new MatOfByte(image), Imgcodecs.IMREAD_COLOR);
-        Imgproc.cvtColor(img, imgGray, Imgproc.COLOR_BGR2GRAY);
-        Imgproc.GaussianBlur(imgGray, imgGaussianBlur, new Size(3, 3), 0);
-        Imgproc.Sobel(imgGaussianBlur, imgSobel, -1, 1, 0);
-        Imgproc.threshold(imgSobel, imgThreshold, 0, 255, CV_THRESH_OTSU + CV_THRESH_BINARY);
-
-        if (Boolean.TRUE.equals(Boolean.valueOf(System.getProperty("debugMode")))) {
-            FileActions.getInstance().createFolder("target/openCV/temp/");
-            String timestamp = String.valueOf(System.currentTimeMillis());
-            Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_1_True_Image.png", img);
-            Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_2_imgGray.png", imgGray);
-            Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_3_imgGaussianBlur.png", imgGaussianBlur);
-            Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_4_imgSobel.png", imgSobel);
-            Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_5_imgThreshold.png", imgThreshold);
+        try {
+            Imgproc.cvtColor(img, imgGray, Imgproc.COLOR_BGR2GRAY);
+            Imgproc.GaussianBlur(imgGray, imgGaussianBlur, new Size(3, 3), 0);
+            Imgproc.Sobel(imgGaussianBlur, imgSobel, -1, 1, 0);
+            Imgproc.threshold(imgSobel, imgThreshold, 0, 255, CV_THRESH_OTSU + CV_THRESH_BINARY);
+
+            if (Boolean.TRUE.equals(Boolean.valueOf(System.getProperty("debugMode")))) {
+                FileActions.getInstance().createFolder("target/openCV/temp/");
+                String timestamp = String.valueOf(System.currentTimeMillis());
+                Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_1_True_Image.png", img);
+                Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_2_imgGray.png", imgGray);
+                Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_3_imgGaussianBlur.png", imgGaussianBlur);
+                Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_4_imgSobel.png", imgSobel);
+                Imgcodecs.imwrite("target/openCV/temp/" + timestamp + "_5_imgThreshold.png", imgThreshold);
+            }
+            return imgThreshold;
+        } finally {
+            imgGray.release();
+            imgGaussianBlur.release();
+            imgSobel.release();
         }
-        return imgThreshold;
     }
 
-    private static List<Integer> attemptToFindImageUsingOpenCV(String referenceImagePath, byte[] currentPageScreenshot, int attemptNumber) {
-        if (currentPageScreenshot == null || Arrays.equals(currentPageScreenshot, new byte[]{})) {
-            //target image is empty, force fail comparison
-            ReportManager.log("Failed to identify the element using AI; target screenshot is empty.");
-        } else {
-            Mat img_original = Imgcodecs.imdecode(new MatOfByte(currentPageScreenshot), Imgcodecs.IMREAD_COLOR);
-            Mat templ_original = Imgcodecs.imread(referenceImagePath, Imgcodecs.IMREAD_COLOR);
-
-            Mat img = preprocess(currentPageScreenshot);
-            Mat templ = preprocess(FileActions.getInstance().readFileAsByteArray(referenceImagePath));
+    private static List<Integer> attemptToFindImageUsingOpenCV(WebDriver driver, String referenceImagePath, Mat img_original, TemplateMatcher templateMatcher, Mat templ, int attemptNumber, boolean searchFullImage) {
+        // matchMethod 1 == Imgproc.TM_SQDIFF_NORMED
+        int matchMethod = MATCH_METHODS[attemptNumber];
+        double threshold = MATCH_THRESHOLDS[attemptNumber];
 
-            // / Create the result matrix
-            int resultCols = img.cols() - templ.cols() + 1;
-            int resultRows = img.rows() - templ.rows() + 1;
+        var match = searchFullImage ? templateMatcher.matchWithinFullImage(matchMethod) : templateMatcher.matchWithinSearchRegions(matchMethod, threshold);
+        if (match == null) {
+            return Collections.emptyList();
+        }
+        double matchAccuracy = match.accuracy();
+        org.opencv.core.Point matchLoc = match.location();
 
-            Mat result = new Mat(resultRows, resultCols, CvType.CV_32FC1);
+        var accuracyMessage = "Match accuracy is " + (int) Math.round(matchAccuracy * 100) + "% and threshold is " + (int) Math.round(threshold * 100) + "%.";
+        ReportManager.logDiscrete(accuracyMessage);
 
-            // / Do the Matching and Normalize
+        if (Boolean.TRUE.equals(Boolean.valueOf(System.getProperty("debugMode")))) {
+            // debugging
+            Mat templ_original = Imgcodecs.imread(referenceImagePath, Imgcodecs.IMREAD_COLOR);
+            Mat img_debug = img_original.clone();
             try {
-                // matchMethod 1 == Imgproc.TM_SQDIFF_NORMED
-                int matchMethod = Imgproc.TM_CCOEFF_NORMED;
-                double threshold = 0.80;
-
-                switch (attemptNumber) {
-//                    case 0 -> matchMethod = Imgproc.TM_CCOEFF_NORMED;
-                    case 1 -> matchMethod = Imgproc.TM_SQDIFF_NORMED;
-                    case 2 -> matchMethod = Imgproc.TM_CCORR_NORMED;
-                }
+                FileActions.getInstance().createFolder("target/openCV/");
+                String timestamp = String.valueOf(System.currentTimeMillis());
 
-                switch (attemptNumber) {
-//                    case 0 -> threshold = 0.80;
-                    case 1 -> threshold = 0.70;
-                    case 2 -> threshold = 0.60;
-                }
-
-                Imgproc.matchTemplate(img, templ, result, matchMethod);
-//                    Core.normalize(result, result, 0, 1, Core.NORM_MINMAX, -1, new Mat());
+                File output = new File("target/openCV/" + timestamp + "_1_templ.png");
+                ImageIO.write((BufferedImage) HighGui.toBufferedImage(templ_original), "png", output);
 
-                // Localizing the best match with minMaxLoc
-                Core.MinMaxLocResult mmr = Core.minMaxLoc(result);
+                output = new File("target/openCV/" + timestamp + "_3_img.png");
+                ImageIO.write((BufferedImage) HighGui.toBufferedImage(img_debug), "png", output);
 
-                double minMaxVal;
-                double matchAccuracy;
+                Imgproc.rectangle(img_debug, matchLoc, new Point(matchLoc.x + templ.cols(), matchLoc.y + templ.rows()),
+                        new Scalar(0, 0, 0), 2, 8, 0);
+                output = new File("target/openCV/" + timestamp + "_5_output.png");
+                ImageIO.write((BufferedImage) HighGui.toBufferedImage(img_debug), "png", output);
+            } catch (IOException e) {
+                ReportManagerHelper.logDiscrete(e);
+                return Collections.emptyList();
+            } finally {
+                templ_original.release();
+                img_debug.release();
+            }
+        }
 
-                org.opencv.core.Point matchLoc;
-                if (matchMethod == Imgproc.TM_SQDIFF || matchMethod == Imgproc.TM_SQDIFF_NORMED) {
-                    matchLoc = mmr.minLoc;
-                    minMaxVal = mmr.minVal;
-                    matchAccuracy = 1 - minMaxVal;
-                } else {
-                    matchLoc = mmr.maxLoc;
-                    minMaxVal = mmr.maxVal;
-                    matchAccuracy = minMaxVal;
-                }
+        if (matchAccuracy < threshold) {
+            return Collections.emptyList();
+        }
 
-                var accuracyMessage = "Match accuracy is " + (int) Math.round(matchAccuracy * 100) + "% and threshold is " + (int) Math.round(threshold * 100) + "%.";
-                ReportManager.logDiscrete(accuracyMessage);
+        TemplateCache.setLastKnownLocation(driver, referenceImagePath, new Rect(matchLoc, templ.size()));
 
-                if (Boolean.TRUE.equals(Boolean.valueOf(System.getProperty("debugMode")))) {
-                    // debugging
-                    try {
-                        FileActions.getInstance().createFolder("target/openCV/");
-                        String timestamp = String.valueOf(System.currentTimeMillis());
+        // returning the top left corner point plus 1x and 1y
+        int x = Integer.parseInt(String.valueOf(matchLoc.x + 1).split("\\.")[0]);
+        int y = Integer.parseInt(String.valueOf(matchLoc.y + 1).split("\\.")[0]);
 
-                        File output = new File("target/openCV/" + timestamp + "_1_templ.png");
-                        ImageIO.write((BufferedImage) HighGui.toBufferedImage(templ_original), "png", output);
+        // creating highlighted image to be attached to the report
+        try {
+            Imgproc.rectangle(img_original, matchLoc, new Point(matchLoc.x + templ.cols(), matchLoc.y + templ.rows()),
+                    new Scalar(0, 0, 0), 2, 8, 0);
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ImageIO.write((BufferedImage) HighGui.toBufferedImage(img_original), "png", baos);
+            var screenshot = ScreenshotManager.prepareImageforReport(baos.toByteArray(), "AI identified element");
+            List<List<Object>> attachments = new LinkedList<>();
+            attachments.add(screenshot);
+            ReportManagerHelper.log("Successfully identified the element using AI; OpenCV. " + accuracyMessage, attachments);
+        } catch (IOException e) {
+            ReportManager.log("Successfully identified the element using AI; OpenCV. " + accuracyMessage);
+        }
+        return Arrays.asList(x, y);
+    }
 
-                        output = new File("target/openCV/" + timestamp + "_3_img.png");
-                        ImageIO.write((BufferedImage) HighGui.toBufferedImage(img_original), "png", output);
+    public static List<Integer> findImageWithinCurrentPage(String referenceImagePath, byte[] currentPageScreenshot) {
+        return findImageWithinCurrentPage(null, referenceImagePath, currentPageScreenshot, null);
+    }
 
-                        Imgproc.rectangle(img_original, matchLoc, new Point(matchLoc.x + templ.cols(), matchLoc.y + templ.rows()),
-                                new Scalar(0, 0, 0), 2, 8, 0);
-                        output = new File("target/openCV/" + timestamp + "_5_output.png");
-                        ImageIO.write((BufferedImage) HighGui.toBufferedImage(img_original), "png", output);
-                    } catch (IOException e) {
-                        ReportManagerHelper.logDiscrete(e);
-                        return Collections.emptyList();
+    /**
+     * Finds the reference image within the current page screenshot. For each match method, the region of interest,
+     * the last location where the driver found the reference image, and a downscaled copy of the screenshot are
+     * searched before the full resolution screenshot, and only matches that meet the threshold of that method are
+     * accepted, so that a weaker method never wins over a stricter one.
+     *
+     * @param driver                the driver that took the screenshot, or null to ignore the last known locations
+     * @param referenceImagePath    the path to the reference image
+     * @param currentPageScreenshot the current page screenshot
+     * @param regionOfInterest      the region of the screenshot that most likely contains the reference image, in the
+     *                              same coordinates as the returned location, or null to search the whole screenshot
+     * @return the x and y coordinates of the top left corner of the found image plus one, or an empty list if it wasn't found
+     */
+    public static List<Integer> findImageWithinCurrentPage(WebDriver driver, String referenceImagePath, byte[] currentPageScreenshot, org.openqa.selenium.Rectangle regionOfInterest) {
+        if (currentPageScreenshot == null || currentPageScreenshot.length == 0) {
+            //target image is empty, force fail comparison
+            ReportManager.log("Failed to identify the element using AI; target screenshot is empty.");
+            return Collections.emptyList();
+        }
+        List<Rect> searchRegions = new ArrayList<>();
+        var lastKnownLocation = TemplateCache.getLastKnownLocation(driver, referenceImagePath);
+        if (lastKnownLocation != null) {
+            searchRegions.add(lastKnownLocation);
+        }
+        if (regionOfInterest != null) {
+            searchRegions.add(new Rect(regionOfInterest.getX(), regionOfInterest.getY(), regionOfInterest.getWidth(), regionOfInterest.getHeight()));
+        }
+        // the screenshot is decoded and preprocessed once, then all the match methods are attempted against the same
+        // preprocessed pair
+        Mat img_original = null;
+        Mat templ = null;
+        try {
+            templ = TemplateCache.getPreprocessedTemplate(referenceImagePath);
+            if (templ.empty()) {
+                ReportManager.log("Failed to identify the element using AI; reference image [" + referenceImagePath + "] couldn't be read.");
+                return Collections.emptyList();
+            }
+            img_original = decode(currentPageScreenshot);
+            try (var templateMatcher = new TemplateMatcher(preprocess(img_original), templ, searchRegions)) {
+                // each match method searches the likely regions and the image pyramid first, then the full resolution
+                // screenshot, before falling back to the next, more lenient, match method
+                for (int attemptNumber = 0; attemptNumber < MATCH_METHODS.length; attemptNumber++) {
+                    for (boolean searchFullImage : new boolean[]{false, true}) {
+                        var foundLocation = attemptToFindImageUsingOpenCV(driver, referenceImagePath, img_original, templateMatcher, templ, attemptNumber, searchFullImage);
+                        if (!foundLocation.isEmpty()) {
+                            return foundLocation;
+                        }
                     }
                 }
-
-                if (matchAccuracy < threshold) {
-                    return Collections.emptyList();
-                }
-
-                // returning the top left corner point plus 1x and 1y
-                int x = Integer.parseInt(String.valueOf(matchLoc.x + 1).split("\\.")[0]);
-                int y = Integer.parseInt(String.valueOf(matchLoc.y + 1).split("\\.")[0]);
-
-                // creating highlighted image to be attached to the report
-                try {
-                Imgproc.rectangle(img_original, matchLoc, new Point(matchLoc.x + templ.cols(), matchLoc.y + templ.rows()),
-                        new Scalar(0, 0, 0), 2, 8, 0);
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                ImageIO.write((BufferedImage) HighGui.toBufferedImage(img_original), "png", baos);
-                var screenshot = ScreenshotManager.prepareImageforReport(baos.toByteArray(), "AI identified element");
-                List<List<Object>> attachments = new LinkedList<>();
-                attachments.add(screenshot);
-                ReportManagerHelper.log("Successfully identified the element using AI; OpenCV. "+accuracyMessage, attachments);
-                } catch (IOException e) {
-                    ReportManager.log("Successfully identified the element using AI; OpenCV. "+accuracyMessage);
-                }
-                return Arrays.asList(x, y);
-            } catch (org.opencv.core.CvException e) {
-                ReportManagerHelper.logDiscrete(e);
-                ReportManager.log("Failed to identify the element using AI; openCV core exception.");
+            }
+        } catch (org.opencv.core.CvException e) {
+            ReportManagerHelper.logDiscrete(e);
+            ReportManager.log("Failed to identify the element using AI; openCV core exception.");
+        } catch (Exception e) {
+            //Do Nothing
+        } finally {
+            if (img_original != null) {
+                img_original.release();
+            }
+            if (templ != null) {
+                templ.release();
             }
         }
         return Collections.emptyList();
     }
 
-    public static List<Integer> findImageWithinCurrentPage(String referenceImagePath, byte[] currentPageScreenshot) {
-            int maxNumberOfAttempts = 3;
-            int attempts = 0;
-            List<Integer> foundLocation = Collections.emptyList();
-            do {
-                try {
-                    foundLocation = attemptToFindImageUsingOpenCV(referenceImagePath, currentPageScreenshot, attempts);
-                } catch (Exception e) {
-                    //Do Nothing
-                }
-                attempts++;
-            } while (Collections.emptyList().equals(foundLocation) && attempts < maxNumberOfAttempts);
-        return foundLocation;
-    }
-
     public static String formatElementLocatorToImagePath(By elementLocator) {
         String elementFileName = ReportManagerHelper.getCallingMethodFullName() + "_" + formatLocatorToString(elementLocator);
         return elementFileName.replaceAll("[\\[\\]\\'\\/:]", "").replaceAll("[\\W\\s]", "_").replaceAll("_{2}", "_")
@@ -406,6 +394,9 @@ public class ImageProcessingActions {
             boolean doesReferenceFileExist = FileActions.getInstance().doesFileExist(referenceImagePath);
 
             if (doesReferenceFileExist && (elementScreenshot!=null && elementScreenshot.length>0)) {
+                if (PerceptualHashIndex.matchesReference(referenceImagePath, elementScreenshot)) {
+                    return true;
+                }
                 boolean actualResult = false;
                 try {
                     var snapshot = Shutterbug.shootElement(driver, elementLocator, CaptureElement.VIEWPORT, true);
@@ -429,7 +420,8 @@ public class ImageProcessingActions {
             String referenceImagePath = aiFolderPath + hashedLocatorName + ".png";
 
             boolean doesReferenceFileExist = FileActions.getInstance().doesFileExist(referenceImagePath);
-             if (!doesReferenceFileExist || !ImageProcessingActions.findImageWithinCurrentPage(referenceImagePath, elementScreenshot).equals(Collections.emptyList())) {
+             if (!doesReferenceFileExist || PerceptualHashIndex.matchesReference(referenceImagePath, elementScreenshot)
+                     || !ImageProcessingActions.findImageWithinCurrentPage(referenceImagePath, elementScreenshot).equals(Collections.emptyList())) {
                     //pass: element found and matched || first time element
                     if (!doesReferenceFileExist) {
                         ReportManager.logDiscrete("Passing the test and saving a reference image");
@@ -493,90 +485,42 @@ public class ImageProcessingActions {
         }
     }
 
-    private static void compareImageFolders(File[] referenceFiles, File[] testFiles, File[] testProcessingFiles,
-                                            File referenceProcessingFolder, File testProcessingFolder, double threshold) throws IOException {
-        // TODO: refactor to minimize File IO actions
+    private static void reportImageComparisonResults(List<ImageFolderComparator.ComparisonResult> results, double threshold) {
         int passedImagesCount = 0;
         int failedImagesCount = 0;
 
-        // compare images from the test directory against the reference directory
-        for (File screenshot : testProcessingFiles) {
-            float percentage = 0;
-            // take buffer data from both image files //
-
-            BufferedImage biA = ImageIO.read(screenshot);
-            DataBuffer dbA = biA.getData().getDataBuffer();
-            float sizeA = dbA.getSize();
-
-            BufferedImage biB = ImageIO.read(new File(
-                    referenceProcessingFolder + FileSystems.getDefault().getSeparator() + screenshot.getName()));
-            DataBuffer dbB = biB.getData().getDataBuffer();
-            float sizeB = dbB.getSize();
-            float count = 0;
-
-            // compare data-buffer objects //
-            if (sizeA == sizeB) {
-
-                for (int i = 0; i < sizeA; i++) {
-
-                    if (dbA.getElem(i) == dbB.getElem(i)) {
-                        count = count + 1;
-                    }
-
-                }
-                percentage = (count * 100) / sizeA;
-            } else {
-                ReportManager.log("Both the images are not of same size");
+        for (var result : results) {
+            if (result.failureReason() != null) {
+                ReportManager.log(result.failureReason());
             }
+            String relatedReferenceFileName = result.referenceFile().getName();
+            String relatedTestFileName = result.testFile().getName();
+            String message = "Test Screenshot [" + relatedTestFileName + "] and related Reference Image ["
+                    + relatedReferenceFileName + "] match by [" + result.percentage() + "] percent.";
 
-            // fetch the related reference screenshot file name using the current file
-            // name/number as index
-            String relatedReferenceFileName = referenceFiles[Integer.parseInt(screenshot.getName()) - 1].getName();
-
-            List<Object> referenceScreenshotAttachment = Arrays.asList("Reference Screenshot", relatedReferenceFileName,
-                    new FileInputStream(referenceProcessingFolder + FileSystems.getDefault().getSeparator()
-                            + screenshot.getName()));
-
-            String relatedTestFileName = testFiles[Integer.parseInt(screenshot.getName()) - 1].getName();
-
-            List<Object> testScreenshotAttachment = Arrays.asList("Test Screenshot", relatedTestFileName,
-                    new FileInputStream(screenshot));
-
-            ReportManagerHelper.log(
-                    "Test Screenshot [" + relatedTestFileName + "] and related Reference Image ["
-                            + relatedReferenceFileName + "] match by [" + percentage + "] percent.",
-                    Arrays.asList(referenceScreenshotAttachment, testScreenshotAttachment));
-
-            boolean discreetLoggingState = ReportManagerHelper.getDiscreteLogging();
-            try {
-                // add to pass/fail counter depending on assertion result, without logging
-                ReportManagerHelper.setDiscreteLogging(true);
-                Validations.assertThat()
-                        .number(percentage)
-                        .isGreaterThanOrEquals(threshold)
-                        .perform();
-                ReportManagerHelper.setDiscreteLogging(discreetLoggingState);
+            if (result.percentage() >= threshold) {
+                ReportManager.log(message);
                 passedImagesCount++;
-            } catch (AssertionError e) {
-                ReportManagerHelper.setDiscreteLogging(discreetLoggingState);
-                // copying image to failed images directory
-                FileActions.getInstance().copyFile(screenshot.getAbsolutePath(),
-                        testProcessingFolder.getParent() + DIRECTORY_FAILED + relatedTestFileName + "_testImage");
-                FileActions.getInstance().copyFile(
-                        referenceProcessingFolder + FileSystems.getDefault().getSeparator() + screenshot.getName(),
-                        testProcessingFolder.getParent() + DIRECTORY_FAILED + relatedTestFileName + "_referenceImage");
+            } else {
+                // only the failing pairs are attached, along with their differences when both images have the same dimensions
+                List<List<Object>> attachments = new ArrayList<>();
+                attachments.add(Arrays.asList("Reference Screenshot", relatedReferenceFileName, result.referenceFile().toPath()));
+                attachments.add(Arrays.asList("Test Screenshot", relatedTestFileName, result.testFile().toPath()));
+                if (result.differencesImage() != null) {
+                    attachments.add(Arrays.asList("Differences Image", relatedTestFileName, result.differencesImage()));
+                }
+                ReportManagerHelper.log(message, attachments);
                 failedImagesCount++;
             }
 
             Validations.verifyThat()
-                    .number(percentage)
+                    .number(result.percentage())
                     .isGreaterThanOrEquals(threshold)
                     .perform();
         }
 
         ReportManager.log("[" + passedImagesCount + "] images passed, and [" + failedImagesCount
                 + "] images failed the threshold of [" + threshold + "%] matching.");
-
     }
 
     public static void loadOpenCV() {
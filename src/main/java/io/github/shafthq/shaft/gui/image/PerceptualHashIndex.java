@@ -0,0 +1,185 @@
+package io.github.shafthq.shaft.gui.image;
+
+import com.shaft.tools.io.ReportManager;
+import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Keeps an index of the content digest and the perceptual hash (dHash) of each reference image in the dynamic object
+ * repository, stored in the same folder as the reference images.
+ * <p>
+ * Element screenshots that are byte-identical to their reference image are considered matching without running the
+ * visual validation engine. Screenshots that have the same dimensions and a perceptual hash within the
+ * visualValidation_perceptualHashThreshold are only considered matching if that threshold is set, since a 9x8 hash
+ * can't tell apart two buttons that only differ in their text. The index entries are refreshed whenever the content of
+ * their reference image changes.
+ */
+public class PerceptualHashIndex {
+    private static final String INDEX_FILE_NAME = "perceptualHashIndex.properties";
+    private static final int HASH_WIDTH = 9;
+    private static final int HASH_HEIGHT = 8;
+    private static final Map<Path, Properties> indexes = new HashMap<>();
+
+    private PerceptualHashIndex() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Checks whether the element screenshot is identical or nearly identical to its reference image
+     *
+     * @param referenceImagePath the path to the reference image
+     * @param elementScreenshot  the current element screenshot
+     * @return true if the screenshot can be considered matching without running the visual validation engine, false
+     * if the visual validation engine should decide
+     */
+    public static boolean matchesReference(String referenceImagePath, byte[] elementScreenshot) {
+        // the perceptual hash comparison is opt-in, and disabled by any negative threshold
+        var threshold = Integer.parseInt(System.getProperty("visualValidation_perceptualHashThreshold").trim());
+        if (elementScreenshot == null || elementScreenshot.length == 0) {
+            return false;
+        }
+        try {
+            var reference = getEntry(Path.of(referenceImagePath));
+            if (reference == null) {
+                return false;
+            }
+            if (reference.digest().equals(digest(elementScreenshot))) {
+                ReportManager.logDiscrete("Element screenshot is identical to the reference image, skipping the visual validation engine.");
+                return true;
+            }
+            if (threshold < 0) {
+                return false;
+            }
+            var image = ImageIO.read(new ByteArrayInputStream(elementScreenshot));
+            if (image == null || image.getWidth() != reference.width() || image.getHeight() != reference.height()) {
+                return false;
+            }
+            var distance = Long.bitCount(differenceHash(image) ^ reference.hash());
+            if (distance <= threshold) {
+                ReportManager.logDiscrete("Element screenshot is nearly identical to the reference image, with a perceptual hash distance of "
+                        + distance + ", skipping the visual validation engine.");
+                return true;
+            }
+        } catch (IOException e) {
+            ReportManagerHelper.logDiscrete(e);
+        }
+        return false;
+    }
+
+    private static synchronized Entry getEntry(Path referenceImage) throws IOException {
+        if (!Files.exists(referenceImage)) {
+            return null;
+        }
+        var indexFile = referenceImage.toAbsolutePath().resolveSibling(INDEX_FILE_NAME);
+        var index = indexes.computeIfAbsent(indexFile, PerceptualHashIndex::loadIndex);
+        var key = referenceImage.getFileName().toString();
+        var content = Files.readAllBytes(referenceImage);
+        var digest = digest(content);
+
+        // entries are validated by content rather than modification time, so that they survive checking out the repository
+        var entry = Entry.parse(index.getProperty(key));
+        if (entry != null && entry.digest().equals(digest)) {
+            return entry;
+        }
+        var image = ImageIO.read(new ByteArrayInputStream(content));
+        if (image == null) {
+            return null;
+        }
+        entry = new Entry(image.getWidth(), image.getHeight(), digest, differenceHash(image));
+        index.setProperty(key, entry.toString());
+        try (OutputStream output = Files.newOutputStream(indexFile)) {
+            index.store(output, "SHAFT_Engine perceptual hash index of the reference images in this folder");
+        }
+        return entry;
+    }
+
+    private static Properties loadIndex(Path indexFile) {
+        var index = new Properties();
+        if (Files.exists(indexFile)) {
+            try (InputStream input = Files.newInputStream(indexFile)) {
+                index.load(input);
+            } catch (IOException e) {
+                // a corrupted index is rebuilt from the reference images
+                ReportManagerHelper.logDiscrete(e);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Calculates the difference hash of an image, by shrinking it to 9x8 grayscale cells and setting one bit for each
+     * pair of horizontally adjacent cells depending on which one is brighter
+     */
+    static long differenceHash(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        var luminance = new long[HASH_HEIGHT][HASH_WIDTH];
+        var pixelCounts = new int[HASH_HEIGHT][HASH_WIDTH];
+        var row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            var cellY = y * HASH_HEIGHT / height;
+            for (int x = 0; x < width; x++) {
+                var cellX = x * HASH_WIDTH / width;
+                var rgb = row[x];
+                luminance[cellY][cellX] += (299L * ((rgb >> 16) & 0xFF) + 587L * ((rgb >> 8) & 0xFF) + 114L * (rgb & 0xFF));
+                pixelCounts[cellY][cellX]++;
+            }
+        }
+        long hash = 0;
+        for (int cellY = 0; cellY < HASH_HEIGHT; cellY++) {
+            for (int cellX = 0; cellX < HASH_WIDTH - 1; cellX++) {
+                // images smaller than the grid have empty cells, which are treated as black
+                var left = pixelCounts[cellY][cellX] == 0 ? 0 : luminance[cellY][cellX] / pixelCounts[cellY][cellX];
+                var right = pixelCounts[cellY][cellX + 1] == 0 ? 0 : luminance[cellY][cellX + 1] / pixelCounts[cellY][cellX + 1];
+                hash = (hash << 1) | (left > right ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    private static String digest(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is guaranteed to be available on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Entry(int width, int height, String digest, long hash) {
+        private static Entry parse(String value) {
+            if (value == null) {
+                return null;
+            }
+            var fields = value.split(",");
+            if (fields.length != 4) {
+                return null;
+            }
+            try {
+                return new Entry(Integer.parseInt(fields[0]), Integer.parseInt(fields[1]), fields[2], Long.parseUnsignedLong(fields[3], 16));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.join(",", String.valueOf(width), String.valueOf(height), digest, Long.toHexString(hash));
+        }
+    }
+}
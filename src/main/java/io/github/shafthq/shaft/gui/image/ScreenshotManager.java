@@ -1,15 +1,13 @@
 package io.github.shafthq.shaft.gui.image;
 
 import com.epam.healenium.SelfHealingDriver;
-import com.shaft.cli.FileActions;
 import com.shaft.tools.io.ReportManager;
 import io.github.shafthq.shaft.driver.DriverFactoryHelper;
 import io.github.shafthq.shaft.gui.browser.JavaScriptWaitManager;
 import io.github.shafthq.shaft.gui.element.ElementActionsHelper;
 import io.github.shafthq.shaft.properties.Properties;
-import io.github.shafthq.shaft.properties.PropertyFileManager;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
-import org.imgscalr.Scalr;
+import org.apache.commons.io.output.UnsynchronizedByteArrayOutputStream;
 import org.opencv.core.Mat;
 import org.opencv.core.MatOfByte;
 import org.opencv.imgcodecs.Imgcodecs;
@@ -21,12 +19,12 @@ import org.sikuli.script.Pattern;
 import org.sikuli.script.Screen;
 
 import javax.imageio.ImageIO;
-import javax.imageio.stream.FileImageOutputStream;
-import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.*;
 import java.nio.file.FileSystems;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -55,6 +53,8 @@ public class ScreenshotManager {
     private static final Boolean CREATE_GIF = Boolean.valueOf(System.getProperty("createAnimatedGif").trim());
     private static final int GIF_FRAME_DELAY = Integer.parseInt(System.getProperty("animatedGif_frameDelay").trim());
     private static final int GIF_SIZE = 1280;
+    private static final int GIF_MAXIMUM_QUEUED_FRAMES = Integer.parseInt(System.getProperty("animatedGif_maximumQueuedFrames", "20").trim());
+    private static final Boolean GIF_DROP_FRAMES_WHEN_QUEUE_IS_FULL = Boolean.valueOf(System.getProperty("animatedGif_dropFramesWhenQueueIsFull", "false").trim());
     // TODO: parameterize the detailed gif value
     private static final Boolean DETAILED_GIF = true;
     private static final String DETAILED_GIF_REGEX = "(verify.*)|(assert.*)|(click.*)|(tap.*)|(key.*)|(navigate.*)";
@@ -65,8 +65,7 @@ public class ScreenshotManager {
     private static String globalPassFailAppendedText = "";
     private static String testCaseName = "";
     private static String gifRelativePathWithFileName = "";
-    private static ThreadLocal<ImageOutputStream> gifOutputStream = new ThreadLocal<>();
-    private static ThreadLocal<AnimatedGifManager> gifWriter = new ThreadLocal<>();
+    private static final ThreadLocal<AnimatedGifEncoder> gifEncoder = new ThreadLocal<>();
 
     private ScreenshotManager() {
         throw new IllegalStateException("Utility class");
@@ -257,23 +256,16 @@ public class ScreenshotManager {
         // stop and attach
         if (Boolean.TRUE.equals(CREATE_GIF) && !"".equals(gifRelativePathWithFileName)) {
             try {
-                ReportManagerHelper.attach("Animated Gif", testCaseName, new FileInputStream(gifRelativePathWithFileName));
-                if (!gifWriter.equals(new ThreadLocal<>())) {
-                    gifWriter.get().close();
-                }
-                if (!gifOutputStream.equals(new ThreadLocal<>())) {
-                    gifOutputStream.get().close();
-                }
-
-                gifOutputStream = new ThreadLocal<>();
-                gifWriter = new ThreadLocal<>();
+                // wait for the background encoder to write all the queued frames before attaching the gif
+                boolean isGifCreated = gifEncoder.get() != null && gifEncoder.get().finish();
+                gifEncoder.remove();
                 String gifRelativePath = gifRelativePathWithFileName;
                 gifRelativePathWithFileName = "";
-                return gifRelativePath;
-            } catch (FileNotFoundException e) {
-                // this happens when the gif fails to start, maybe the browser window was
-                // already closed
-            } catch (IOException | NullPointerException | IllegalStateException e) {
+                if (isGifCreated) {
+                    ReportManagerHelper.attachRecording("Animated Gif", testCaseName, Path.of(gifRelativePath));
+                    return gifRelativePath;
+                }
+            } catch (NullPointerException | IllegalStateException e) {
                 ReportManagerHelper.logDiscrete(e);
             }
         }
@@ -472,16 +464,24 @@ public class ScreenshotManager {
              * Adding Screenshot to the Report.
              *
              */
+            if (!Boolean.TRUE.equals(SCREENSHOT_PARAMS_WATERMARK)) {
+                // no overlay is required, so the driver's PNG bytes are attached as they are
+                return Arrays.asList("Screenshot", screenshotFileName, new ByteArrayInputStream(image));
+            }
             try {
                 // add SHAFT_Engine logo overlay
-                InputStream in = new ByteArrayInputStream(image);
-                BufferedImage screenshotImage = ImageIO.read(in);
+                BufferedImage screenshotImage = ImageIO.read(new ByteArrayInputStream(image));
+                if (screenshotImage == null) {
+                    return Arrays.asList("Screenshot", screenshotFileName, new ByteArrayInputStream(image));
+                }
                 overlayShaftEngineLogo(screenshotImage);
 
-                ByteArrayOutputStream screenshotOutputStream = new ByteArrayOutputStream();
-                ImageIO.write(screenshotImage, "png", screenshotOutputStream);
-                return Arrays.asList("Screenshot", screenshotFileName,
-                        new ByteArrayInputStream(screenshotOutputStream.toByteArray()));
+                // encode in memory instead of using ImageIO's temporary file cache, and hand over the same buffer to the report
+                var screenshotOutputStream = new UnsynchronizedByteArrayOutputStream(image.length);
+                try (var imageOutputStream = new MemoryCacheImageOutputStream(screenshotOutputStream)) {
+                    ImageIO.write(screenshotImage, "png", imageOutputStream);
+                }
+                return Arrays.asList("Screenshot", screenshotFileName, screenshotOutputStream.toInputStream());
             } catch (IOException e) {
                 ReportManagerHelper.logDiscrete(e);
                 return null;
@@ -528,7 +528,6 @@ public class ScreenshotManager {
     }
 
     private static void startAnimatedGif(byte[] screenshot) {
-        // TODO: refactor performance to reduce severe drop when enabling this option
         if (Boolean.TRUE.equals(CREATE_GIF) && screenshot != null) {
             try {
                 testCaseName = ReportManagerHelper.getTestMethodName();
@@ -536,87 +535,42 @@ public class ScreenshotManager {
                         + testCaseName + ".gif";
                 gifRelativePathWithFileName = SCREENSHOT_FOLDERPATH + SCREENSHOT_FOLDERNAME + gifFileName;
 
-                // grab the output image type from the first image in the sequence
-                BufferedImage firstImage = ImageIO.read(new ByteArrayInputStream(screenshot));
-
-                //scaling it down
-                firstImage = Scalr.resize(firstImage, Scalr.Method.BALANCED, GIF_SIZE);
-
-                // create a new BufferedOutputStream
-                FileActions.getInstance().createFile(SCREENSHOT_FOLDERPATH + SCREENSHOT_FOLDERNAME, gifFileName);
-                gifOutputStream.set(new FileImageOutputStream(new File(gifRelativePathWithFileName)));
-
-                // create a gif sequence with the type of the first image, 500 milliseconds
-                // between frames, which loops infinitely
-                gifWriter.set(
-                        new AnimatedGifManager(gifOutputStream.get(), firstImage.getType(), GIF_FRAME_DELAY));
-
-                // draw initial blank image to set the size of the GIF...
-                BufferedImage initialImage = new BufferedImage(firstImage.getWidth(), firstImage.getHeight(),
-                        firstImage.getType());
-                Graphics2D initialImageGraphics = initialImage.createGraphics();
-                initialImageGraphics.setBackground(Color.WHITE);
-                initialImageGraphics.clearRect(0, 0, firstImage.getWidth(), firstImage.getHeight());
-
-                // write out initialImage to the sequence...
-                gifWriter.get().writeToSequence(overlayShaftEngineLogo(initialImage));
-                initialImageGraphics.dispose();
-                // write out first image to the sequence...
-                gifWriter.get().writeToSequence(overlayShaftEngineLogo(firstImage));
+                // a previous GIF that was never attached is finished, so that its encoder thread is shut down
+                var previousGifEncoder = gifEncoder.get();
+                if (previousGifEncoder != null) {
+                    previousGifEncoder.finish();
+                }
+
+                // decoding, scaling, watermarking, and writing the frames happens in the background
+                gifEncoder.set(new AnimatedGifEncoder(SCREENSHOT_FOLDERPATH + SCREENSHOT_FOLDERNAME, gifFileName,
+                        GIF_SIZE, GIF_FRAME_DELAY, GIF_MAXIMUM_QUEUED_FRAMES, GIF_DROP_FRAMES_WHEN_QUEUE_IS_FULL));
+                gifEncoder.get().appendFrame(screenshot);
             } catch (NullPointerException | NoSuchSessionException e) {
                 // this happens in case the start animated Gif is triggered in a none-test
                 // method
                 // or this happens when the window is already closed
-            } catch (IOException | WebDriverException e) {
-                ReportManagerHelper.logDiscrete(e);
             }
         }
     }
 
-    private static BufferedImage overlayShaftEngineLogo(BufferedImage screenshot) {
+    static BufferedImage overlayShaftEngineLogo(BufferedImage screenshot) {
         if (Boolean.TRUE.equals(SCREENSHOT_PARAMS_WATERMARK)) {
-            try {
-                // create graphics object
+            long startTime = System.nanoTime();
+            BufferedImage shaftLogo = WatermarkCache.getScaledWatermark(screenshot.getWidth() / 8);
+            if (shaftLogo != null) {
+                // draw the cached watermark directly on top of the screenshot
                 Graphics2D screenshotGraphics = screenshot.createGraphics();
-                screenshotGraphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-
-                screenshotGraphics.drawImage(screenshot, 0, 0, null);
                 screenshotGraphics.setComposite(
                         AlphaComposite.getInstance(AlphaComposite.SRC_OVER, SCREENSHOT_PARAMS_WATERMARKOPACITY));
-
-                BufferedImage shaftLogo;
-                // read from custom location
-                String watermarkImagePath = PropertyFileManager.getDefaultPropertiesFolderPath().replace("properties/default/", System.getProperty("watermarkImagePath"));
-                shaftLogo = ImageIO.read(new File(watermarkImagePath));
-                shaftLogo = toBufferedImage(
-                        shaftLogo.getScaledInstance(screenshot.getWidth() / 8, -1, Image.SCALE_SMOOTH));
                 screenshotGraphics.drawImage(shaftLogo, screenshot.getWidth() - shaftLogo.getWidth(),
                         screenshot.getHeight() - shaftLogo.getHeight(), null);
                 screenshotGraphics.dispose();
-            } catch (IOException e) {
-                // do nothing and proceed to return the original screenshot
+                WatermarkCache.recordWatermarkingTime(System.nanoTime() - startTime);
             }
         }
         return screenshot;
     }
 
-    private static BufferedImage toBufferedImage(Image img) {
-        if (img instanceof BufferedImage) {
-            return (BufferedImage) img;
-        }
-
-        // Create a buffered image with transparency
-        BufferedImage bimage = new BufferedImage(img.getWidth(null), img.getHeight(null), BufferedImage.TYPE_INT_ARGB);
-
-        // Draw the image on to the buffered image
-        Graphics2D bGr = bimage.createGraphics();
-        bGr.drawImage(img, 0, 0, null);
-        bGr.dispose();
-
-        // Return the buffered image
-        return bimage;
-    }
-
     private static void startOrAppendToAnimatedGif(byte[] screenshot) {
         // ensure that animatedGif is started, else force start it
         if (Boolean.TRUE.equals(CREATE_GIF)) {
@@ -629,21 +583,8 @@ public class ScreenshotManager {
     }
 
     private static void appendToAnimatedGif(byte[] screenshot) {
-        try {
-            BufferedImage image;
-            if (screenshot != null) {
-                image = ImageIO.read(new ByteArrayInputStream(screenshot));
-                //scaling it down
-                image = Scalr.resize(image, Scalr.Method.BALANCED, GIF_SIZE);
-                gifWriter.get().writeToSequence(overlayShaftEngineLogo(image));
-            }
-        } catch (NoSuchSessionException e) {
-            // this happens when attempting to append to a non-existing gif, expected
-            // solution is to recreate the gif
-            // removed the old solution, the new fix is to ignore this exception, this will
-            // leave the gif intact and will attach it even after failing to append to it
-        } catch (WebDriverException | IOException | IllegalStateException | IllegalArgumentException | NullPointerException e) {
-            ReportManagerHelper.logDiscrete(e);
+        if (gifEncoder.get() != null) {
+            gifEncoder.get().appendFrame(screenshot);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+package io.github.shafthq.shaft.gui.image;
+
+import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+import org.opencv.core.Mat;
+import org.opencv.core.Rect;
+import org.opencv.imgcodecs.Imgcodecs;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Keeps the preprocessed copies of the reference images that are used to identify elements using OpenCV, keyed by
+ * their path and last modification time, so that polling for an element only has to preprocess the current screenshot.
+ * The location where each reference image was last found by each driver is kept as well, since it's the most likely
+ * place for that driver to find it again.
+ * <p>
+ * The cached matrices are owned by this cache, and their native memory is released as soon as they are evicted or
+ * their reference image is modified. Callers only get copies of them, so that another thread evicting a template
+ * never releases a matrix that is still being matched.
+ */
+public class TemplateCache {
+    private static final int MAXIMUM_CACHED_TEMPLATES = 16;
+    // keyed by driver, so that drivers with different screen sizes running in parallel don't share their locations
+    private static final Map<WebDriver, Map<String, Rect>> lastKnownLocations = new WeakHashMap<>();
+    private static final Map<String, Template> templates = new LinkedHashMap<>(MAXIMUM_CACHED_TEMPLATES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Template> eldest) {
+            if (size() > MAXIMUM_CACHED_TEMPLATES) {
+                eldest.getValue().preprocessedImage().release();
+                removeLastKnownLocations(eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private TemplateCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Gets the preprocessed copy of the reference image, reading and preprocessing it only if it wasn't cached yet
+     * or if the file was modified since it was cached.
+     *
+     * @param referenceImagePath the path to the reference image
+     * @return a copy of the preprocessed reference image that must be released by the caller, or an empty matrix in
+     * case the image couldn't be read
+     */
+    static synchronized Mat getPreprocessedTemplate(String referenceImagePath) {
+        long lastModified;
+        long size;
+        try {
+            var referenceImage = Path.of(referenceImagePath);
+            lastModified = Files.getLastModifiedTime(referenceImage).toMillis();
+            size = Files.size(referenceImage);
+        } catch (IOException e) {
+            ReportManagerHelper.logDiscrete(e);
+            return new Mat();
+        }
+        var template = templates.get(referenceImagePath);
+        if (template != null && template.lastModified() == lastModified && template.size() == size) {
+            return template.preprocessedImage().clone();
+        }
+        if (template != null) {
+            template.preprocessedImage().release();
+            templates.remove(referenceImagePath);
+            removeLastKnownLocations(referenceImagePath);
+        }
+        var originalImage = Imgcodecs.imread(referenceImagePath, Imgcodecs.IMREAD_COLOR);
+        try {
+            if (originalImage.empty()) {
+                return originalImage.clone();
+            }
+            var preprocessedImage = ImageProcessingActions.preprocess(originalImage);
+            templates.put(referenceImagePath, new Template(lastModified, size, preprocessedImage));
+            return preprocessedImage.clone();
+        } finally {
+            originalImage.release();
+        }
+    }
+
+    /**
+     * Gets the location where the reference image was last found by the target driver
+     *
+     * @param driver             the driver that took the screenshot, or null if the screenshot isn't a page screenshot
+     * @param referenceImagePath the path to the reference image
+     * @return the bounds of the last match within the screenshot, or null if it wasn't found yet
+     */
+    static synchronized Rect getLastKnownLocation(WebDriver driver, String referenceImagePath) {
+        if (driver == null) {
+            return null;
+        }
+        var driverLocations = lastKnownLocations.get(driver);
+        return driverLocations == null ? null : driverLocations.get(referenceImagePath);
+    }
+
+    /**
+     * Records the location where the reference image was found by the target driver, to be searched first the next time
+     *
+     * @param driver             the driver that took the screenshot, or null if the screenshot isn't a page screenshot
+     * @param referenceImagePath the path to the reference image
+     * @param location           the bounds of the match within the screenshot
+     */
+    static synchronized void setLastKnownLocation(WebDriver driver, String referenceImagePath, Rect location) {
+        if (driver != null && templates.containsKey(referenceImagePath)) {
+            lastKnownLocations.computeIfAbsent(driver, key -> new HashMap<>()).put(referenceImagePath, location);
+        }
+    }
+
+    private static void removeLastKnownLocations(String referenceImagePath) {
+        lastKnownLocations.values().forEach(driverLocations -> driverLocations.remove(referenceImagePath));
+    }
+
+    /**
+     * Releases the native memory of all the cached reference images
+     */
+    public static synchronized void clear() {
+        templates.values().forEach(template -> template.preprocessedImage().release());
+        templates.clear();
+        lastKnownLocations.clear();
+    }
+
+    private record Template(long lastModified, long size, Mat preprocessedImage) {
+    }
+}
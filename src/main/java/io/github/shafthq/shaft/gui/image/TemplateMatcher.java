@@ -0,0 +1,153 @@
+package io.github.shafthq.shaft.gui.image;
+
+import org.opencv.core.Core;
+import org.opencv.core.Mat;
+import org.opencv.core.Point;
+import org.opencv.core.Rect;
+import org.opencv.core.Size;
+import org.opencv.imgproc.Imgproc;
+
+import java.util.List;
+
+/**
+ * Searches for a preprocessed reference image within a preprocessed screenshot without correlating the template
+ * against every position of the full resolution screenshot whenever possible.
+ * <p>
+ * The search regions, like the last known location of the template or the bounds of its parent element, are
+ * searched first. Then a coarse match is found on a downscaled copy of both images, and refined at full resolution
+ * within a small window around it. Callers are expected to search the full resolution screenshot using the same match
+ * method whenever both fail, before attempting a more lenient match method.
+ */
+class TemplateMatcher implements AutoCloseable {
+    private static final int PYRAMID_MAXIMUM_SCALE_FACTOR = 4;
+    private static final int PYRAMID_MINIMUM_TEMPLATE_SIZE = 16; // pixels
+    private final Mat image;
+    private final Mat template;
+    private final List<Rect> searchRegions;
+    private final Mat result = new Mat();
+    private final int scaleFactor;
+    private Mat scaledImage;
+    private Mat scaledTemplate;
+
+    /**
+     * @param image         the preprocessed screenshot, which is released once this matcher is closed
+     * @param template      the preprocessed reference image, which is not released by this matcher
+     * @param searchRegions the regions of the screenshot that most likely contain the template, searched in order
+     */
+    TemplateMatcher(Mat image, Mat template, List<Rect> searchRegions) {
+        this.image = image;
+        this.template = template;
+        this.searchRegions = searchRegions;
+        var targetScaleFactor = PYRAMID_MAXIMUM_SCALE_FACTOR;
+        while (targetScaleFactor > 1 && Math.min(template.cols(), template.rows()) / targetScaleFactor < PYRAMID_MINIMUM_TEMPLATE_SIZE) {
+            targetScaleFactor /= 2;
+        }
+        this.scaleFactor = targetScaleFactor;
+    }
+
+    /**
+     * Finds the best match of the template using the target match method within the search regions, then within the
+     * refinement window of the coarse pyramid match, stopping at the first search stage that meets the threshold
+     *
+     * @param matchMethod one of the normalized Imgproc template matching methods
+     * @param threshold   the minimum accepted match accuracy, from 0 to 1
+     * @return the best match of the last attempted search stage, or null if no search stage applies to this template
+     */
+    Match matchWithinSearchRegions(int matchMethod, double threshold) {
+        Match match = null;
+        for (var searchRegion : searchRegions) {
+            var regionMatch = matchWithinRegion(image, template, matchMethod, expand(searchRegion, template.cols(), template.rows()));
+            if (regionMatch != null) {
+                match = regionMatch;
+                if (match.accuracy() >= threshold) {
+                    return match;
+                }
+            }
+        }
+        if (scaleFactor > 1) {
+            var pyramidMatch = matchUsingPyramid(matchMethod);
+            if (pyramidMatch != null) {
+                match = pyramidMatch;
+            }
+        }
+        return match;
+    }
+
+    /**
+     * Finds the best match of the template using the target match method by searching the full resolution screenshot
+     *
+     * @param matchMethod one of the normalized Imgproc template matching methods
+     * @return the best match within the whole screenshot
+     */
+    Match matchWithinFullImage(int matchMethod) {
+        return matchTemplate(image, template, matchMethod);
+    }
+
+    @Override
+    public void close() {
+        image.release();
+        result.release();
+        if (scaledImage != null) {
+            scaledImage.release();
+            scaledTemplate.release();
+        }
+    }
+
+    private Match matchUsingPyramid(int matchMethod) {
+        if (scaledImage == null) {
+            // the downscaled copies are created once, and shared by all the match methods
+            scaledImage = new Mat();
+            scaledTemplate = new Mat();
+            Imgproc.resize(image, scaledImage, new Size(image.cols() / (double) scaleFactor, image.rows() / (double) scaleFactor), 0, 0, Imgproc.INTER_AREA);
+            Imgproc.resize(template, scaledTemplate, new Size(template.cols() / (double) scaleFactor, template.rows() / (double) scaleFactor), 0, 0, Imgproc.INTER_AREA);
+        }
+        if (scaledImage.cols() < scaledTemplate.cols() || scaledImage.rows() < scaledTemplate.rows()) {
+            return null;
+        }
+        var coarseMatch = matchTemplate(scaledImage, scaledTemplate, matchMethod);
+        // refine the coarse match at full resolution, allowing for the pixels that were lost while downscaling
+        var margin = 2 * scaleFactor;
+        var refinementRegion = new Rect((int) coarseMatch.location().x * scaleFactor - margin, (int) coarseMatch.location().y * scaleFactor - margin,
+                template.cols() + 2 * margin, template.rows() + 2 * margin);
+        return matchWithinRegion(image, template, matchMethod, refinementRegion);
+    }
+
+    private Match matchWithinRegion(Mat targetImage, Mat targetTemplate, int matchMethod, Rect region) {
+        var x = Math.max(0, region.x);
+        var y = Math.max(0, region.y);
+        var width = Math.min(targetImage.cols(), region.x + region.width) - x;
+        var height = Math.min(targetImage.rows(), region.y + region.height) - y;
+        if (width < targetTemplate.cols() || height < targetTemplate.rows()) {
+            return null;
+        }
+        var window = targetImage.submat(new Rect(x, y, width, height));
+        try {
+            var match = matchTemplate(window, targetTemplate, matchMethod);
+            return new Match(new Point(match.location().x + x, match.location().y + y), match.accuracy());
+        } finally {
+            window.release();
+        }
+    }
+
+    private Match matchTemplate(Mat targetImage, Mat targetTemplate, int matchMethod) {
+        Imgproc.matchTemplate(targetImage, targetTemplate, result, matchMethod);
+        // Localizing the best match with minMaxLoc
+        Core.MinMaxLocResult mmr = Core.minMaxLoc(result);
+        if (matchMethod == Imgproc.TM_SQDIFF || matchMethod == Imgproc.TM_SQDIFF_NORMED) {
+            return new Match(mmr.minLoc, 1 - mmr.minVal);
+        } else {
+            return new Match(mmr.maxLoc, mmr.maxVal);
+        }
+    }
+
+    private static Rect expand(Rect region, int horizontalMargin, int verticalMargin) {
+        return new Rect(region.x - horizontalMargin, region.y - verticalMargin,
+                region.width + 2 * horizontalMargin, region.height + 2 * verticalMargin);
+    }
+
+    /**
+     * The top left corner of the best match, and its accuracy from 0 to 1
+     */
+    record Match(Point location, double accuracy) {
+    }
+}
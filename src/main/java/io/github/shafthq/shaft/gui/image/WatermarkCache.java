@@ -0,0 +1,112 @@
+package io.github.shafthq.shaft.gui.image;
+
+import com.shaft.tools.io.ReportManager;
+import io.github.shafthq.shaft.properties.PropertyFileManager;
+import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads the watermark image once per JVM, and keeps a few pre-scaled copies of it keyed by their target width,
+ * so that watermarking a screenshot or an animated GIF frame is a single draw call.
+ */
+public class WatermarkCache {
+    private static final int MAXIMUM_CACHED_WIDTHS = 8;
+    private static final Map<Integer, BufferedImage> scaledWatermarks = new LinkedHashMap<>(MAXIMUM_CACHED_WIDTHS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, BufferedImage> eldest) {
+            return size() > MAXIMUM_CACHED_WIDTHS;
+        }
+    };
+    private static final AtomicLong watermarkedImages = new AtomicLong();
+    private static final AtomicLong totalWatermarkingTime = new AtomicLong(); // nanoseconds
+    private static BufferedImage watermark;
+    private static String watermarkImagePath = "";
+
+    private WatermarkCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Gets the watermark image scaled to the target width, keeping its aspect ratio
+     *
+     * @param targetWidth the desired width of the watermark in pixels
+     * @return the scaled watermark, or null in case the watermark image couldn't be read
+     */
+    static synchronized BufferedImage getScaledWatermark(int targetWidth) {
+        var width = Math.max(1, targetWidth);
+        var scaledWatermark = scaledWatermarks.get(width);
+        if (scaledWatermark == null) {
+            var originalWatermark = getWatermark();
+            if (originalWatermark == null) {
+                return null;
+            }
+            scaledWatermark = toBufferedImage(originalWatermark.getScaledInstance(width, -1, Image.SCALE_SMOOTH));
+            scaledWatermarks.put(width, scaledWatermark);
+        }
+        return scaledWatermark;
+    }
+
+    /**
+     * Records the time it took to watermark a single image
+     *
+     * @param elapsedTime the elapsed time in nanoseconds
+     */
+    static void recordWatermarkingTime(long elapsedTime) {
+        watermarkedImages.incrementAndGet();
+        totalWatermarkingTime.addAndGet(elapsedTime);
+    }
+
+    /**
+     * Logs the number of watermarked images and the average time spent per image
+     */
+    public static void logStatistics() {
+        var images = watermarkedImages.get();
+        if (images > 0) {
+            ReportManager.logDiscrete("Watermarked " + images + " images, average time per image: "
+                    + TimeUnit.NANOSECONDS.toMicros(totalWatermarkingTime.get() / images) + " microseconds.");
+        }
+    }
+
+    private static BufferedImage getWatermark() {
+        // read from custom location
+        var targetWatermarkImagePath = PropertyFileManager.getDefaultPropertiesFolderPath().replace("properties/default/", System.getProperty("watermarkImagePath"));
+        if (!watermarkImagePath.equals(targetWatermarkImagePath)) {
+            // the image is only read once per path, even if reading it fails
+            watermarkImagePath = targetWatermarkImagePath;
+            scaledWatermarks.clear();
+            try {
+                watermark = ImageIO.read(new File(targetWatermarkImagePath));
+            } catch (IOException e) {
+                ReportManagerHelper.logDiscrete(e);
+                watermark = null;
+            }
+        }
+        return watermark;
+    }
+
+    private static BufferedImage toBufferedImage(Image img) {
+        if (img instanceof BufferedImage) {
+            return (BufferedImage) img;
+        }
+
+        // Create a buffered image with transparency
+        BufferedImage bimage = new BufferedImage(img.getWidth(null), img.getHeight(null), BufferedImage.TYPE_INT_ARGB);
+
+        // Draw the image on to the buffered image
+        Graphics2D bGr = bimage.createGraphics();
+        bGr.drawImage(img, 0, 0, null);
+        bGr.dispose();
+
+        // Return the buffered image
+        return bimage;
+    }
+}
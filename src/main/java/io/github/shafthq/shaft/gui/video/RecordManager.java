@@ -73,17 +73,17 @@ public class RecordManager {
     public static void attachVideoRecording(Path pathToRecording){
         if (pathToRecording != null) {
             String testMethodName = ReportManagerHelper.getTestMethodName();
-            try {
-                ReportManagerHelper.attach("Video Recording", testMethodName,
-                        new FileInputStream(pathToRecording.toString()));
-            } catch (FileNotFoundException e) {
-                ReportManagerHelper.logDiscrete(e);
-            }
+            ReportManagerHelper.attachRecording("Video Recording", testMethodName, pathToRecording);
         }
     }
 
     public static void attachVideoRecording() {
-        ReportManagerHelper.attach("Video Recording", ReportManagerHelper.getTestMethodName(), getVideoRecording());
+        if (Boolean.TRUE.equals(RECORD_VIDEO) && recorder.get() != null) {
+            // the encoded file isn't modified once the recording is stopped, so it can be streamed in the background
+            attachVideoRecording(stopLocalRecording().toPath());
+        } else {
+            ReportManagerHelper.attach("Video Recording", ReportManagerHelper.getTestMethodName(), getVideoRecording());
+        }
     }
 
     public static String getVideoRecordingFilePath() {
@@ -99,18 +99,13 @@ public class RecordManager {
 
     public static InputStream getVideoRecording() {
         InputStream inputStream = null;
-        String pathToRecording = "";
-        String testMethodName = ReportManagerHelper.getTestMethodName();
-
         if (Boolean.TRUE.equals(RECORD_VIDEO) && recorder.get() != null) {
-            pathToRecording = doVideoProcessing(ReportManagerHelper.isCurrentTestPassed(), recorder.get().stopAndSave(System.currentTimeMillis() + "_" + testMethodName));
             try {
-                inputStream = new FileInputStream(encodeRecording(pathToRecording));
+                inputStream = new FileInputStream(stopLocalRecording());
             } catch (FileNotFoundException e) {
                 ReportManagerHelper.logDiscrete(e);
 //                inputStream = new ByteArrayInputStream(new byte[0]);
             }
-            recorder.set(null);
 
         } else if (Boolean.TRUE.equals(RECORD_VIDEO) && videoDriver.get() != null) {
             String base64EncodedRecording = "";
@@ -126,6 +121,13 @@ public class RecordManager {
         return inputStream;
     }
 
+    private static File stopLocalRecording() {
+        String testMethodName = ReportManagerHelper.getTestMethodName();
+        String pathToRecording = doVideoProcessing(ReportManagerHelper.isCurrentTestPassed(), recorder.get().stopAndSave(System.currentTimeMillis() + "_" + testMethodName));
+        recorder.set(null);
+        return encodeRecording(pathToRecording);
+    }
+
     private static File encodeRecording(String pathToRecording) {
         File source = new File(pathToRecording);
         File target = new File(pathToRecording.replace("avi", "mp4"));
@@ -1,14 +1,21 @@
 package io.github.shafthq.shaft.listeners;
 
+import io.github.shafthq.shaft.api.HttpConnectionPool;
+import io.github.shafthq.shaft.db.DatabaseConnectionPool;
 import io.github.shafthq.shaft.driver.DriverFactoryHelper;
 import io.github.shafthq.shaft.gui.image.ImageProcessingActions;
+import io.github.shafthq.shaft.gui.image.TemplateCache;
+import io.github.shafthq.shaft.gui.image.WatermarkCache;
 import io.github.shafthq.shaft.listeners.helpers.JiraHelper;
 import io.github.shafthq.shaft.listeners.helpers.RetryAnalyzer;
 import io.github.shafthq.shaft.listeners.helpers.TestNGListenerHelper;
 import io.github.shafthq.shaft.properties.PropertiesHelper;
+import io.github.shafthq.shaft.tools.io.helpers.AttachmentDeduplicator;
+import io.github.shafthq.shaft.tools.io.helpers.AttachmentWriter;
 import io.github.shafthq.shaft.tools.io.helpers.IssueReporter;
 import io.github.shafthq.shaft.tools.io.helpers.ProjectStructureManager;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+import io.github.shafthq.shaft.tools.io.helpers.TestDataCache;
 import io.github.shafthq.shaft.tools.security.GoogleTink;
 import io.qameta.allure.Allure;
 import lombok.Getter;
@@ -150,8 +157,15 @@ public class TestNGListener implements IAlterSuiteListener, IAnnotationTransform
     @Override
     public void onExecutionFinish() {
         ReportManagerHelper.setDiscreteLogging(true);
+        AttachmentWriter.awaitPendingAttachments();
+        AttachmentDeduplicator.logStatistics();
         JiraHelper.reportExecutionStatusToJira();
         GoogleTink.encrypt();
+        WatermarkCache.logStatistics();
+        TemplateCache.clear();
+        TestDataCache.clear();
+        DatabaseConnectionPool.closeAll();
+        HttpConnectionPool.shutdownSharedInstance();
         ReportManagerHelper.generateAllureReportArchive();
         ReportManagerHelper.openAllureReportAfterExecution();
         ReportManagerHelper.logEngineClosure();
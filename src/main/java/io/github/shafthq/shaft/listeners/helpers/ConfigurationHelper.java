@@ -1,6 +1,7 @@
 package io.github.shafthq.shaft.listeners.helpers;
 
 import com.shaft.driver.DriverFactory;
+import io.github.shafthq.shaft.driver.WebDriverCommandMetrics;
 import io.github.shafthq.shaft.tools.io.helpers.CheckpointCounter;
 import io.github.shafthq.shaft.tools.io.helpers.ReportHelper;
 import org.testng.ITestContext;
@@ -28,6 +29,7 @@ public class ConfigurationHelper {
         ReportHelper.attachExtentReport();
         ReportHelper.attachCucumberReport();
         CheckpointCounter.attach();
+        WebDriverCommandMetrics.attach();
         ReportHelper.attachIssuesLog();
     }
 }
@@ -2,8 +2,11 @@ package io.github.shafthq.shaft.listeners.helpers;
 
 import com.shaft.driver.DriverFactory;
 import io.github.shafthq.shaft.driver.DriverFactoryHelper;
+import io.github.shafthq.shaft.driver.WebDriverCommandMetrics;
 import io.github.shafthq.shaft.gui.image.ImageProcessingActions;
 import io.github.shafthq.shaft.properties.PropertiesHelper;
+import io.github.shafthq.shaft.tools.io.helpers.AttachmentDeduplicator;
+import io.github.shafthq.shaft.tools.io.helpers.AttachmentWriter;
 import io.github.shafthq.shaft.tools.io.helpers.CheckpointCounter;
 import io.github.shafthq.shaft.tools.io.helpers.ProjectStructureManager;
 import io.github.shafthq.shaft.tools.io.helpers.ReportHelper;
@@ -47,9 +50,12 @@ public class CucumberHelper {
             ReportHelper.attachExtentReport();
             ReportHelper.attachCucumberReport();
             CheckpointCounter.attach();
+            WebDriverCommandMetrics.attach();
             ReportHelper.attachIssuesLog();
 
             ReportManagerHelper.setDiscreteLogging(true);
+            AttachmentWriter.awaitPendingAttachments();
+            AttachmentDeduplicator.logStatistics();
             JiraHelper.reportExecutionStatusToJira();
             GoogleTink.encrypt();
             ReportManagerHelper.generateAllureReportArchive();
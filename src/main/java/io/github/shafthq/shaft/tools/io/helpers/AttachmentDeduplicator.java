@@ -0,0 +1,117 @@
+package io.github.shafthq.shaft.tools.io.helpers;
+
+import com.shaft.tools.io.ReportManager;
+import io.qameta.allure.listener.FixtureLifecycleListener;
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.ExecutableItem;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.TestResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stores each unique attachment payload once in the Allure results directory, like the same test data file that is
+ * attached every time it's loaded, or identical screenshots that are attached by repeated validations.
+ * <p>
+ * Every attachment is still registered in its own test step, but the attachments whose content was already attached
+ * during this execution aren't written again. Their source is replaced by the source of the first identical
+ * attachment right before the test or fixture that contains them is written, since Allure assigns a new source to
+ * every attachment. This class is registered as an Allure lifecycle listener for that purpose.
+ */
+public class AttachmentDeduplicator implements TestLifecycleListener, FixtureLifecycleListener {
+    private static final Map<String, String> sourcesByContent = new ConcurrentHashMap<>();
+    private static final Map<String, String> duplicateSources = new ConcurrentHashMap<>();
+    private static final AtomicInteger duplicateAttachments = new AtomicInteger();
+    private static final AtomicLong savedBytes = new AtomicLong();
+
+    /**
+     * Registers a new attachment, unless an identical attachment was already registered
+     *
+     * @param source     the attachment file name, as returned by the Allure lifecycle when the attachment was prepared
+     * @param contentKey the key that identifies the attachment content
+     * @return the source of the identical attachment that was registered first, or null if the attachment content is
+     * new and should be written
+     */
+    static String findDuplicate(String source, ContentKey contentKey) {
+        var existingSource = sourcesByContent.putIfAbsent(contentKey.key(), source);
+        if (existingSource != null) {
+            duplicateSources.put(source, existingSource);
+            duplicateAttachments.incrementAndGet();
+            savedBytes.addAndGet(contentKey.size());
+        }
+        return existingSource;
+    }
+
+    /**
+     * Logs the number of duplicate attachments that weren't written, and the disk space that was saved
+     */
+    public static void logStatistics() {
+        var duplicates = duplicateAttachments.get();
+        if (duplicates > 0) {
+            ReportManager.logDiscrete("Skipped writing " + duplicates + " duplicate attachments, saving "
+                    + savedBytes.get() / 1024 + " KB in the Allure results directory.");
+        }
+    }
+
+    @Override
+    public void beforeTestWrite(TestResult result) {
+        replaceDuplicateSources(result);
+    }
+
+    @Override
+    public void beforeFixtureStop(FixtureResult result) {
+        replaceDuplicateSources(result);
+    }
+
+    private static void replaceDuplicateSources(ExecutableItem item) {
+        if (duplicateSources.isEmpty()) {
+            return;
+        }
+        item.getAttachments().forEach(attachment -> {
+            var existingSource = duplicateSources.get(attachment.getSource());
+            if (existingSource != null) {
+                attachment.setSource(existingSource);
+            }
+        });
+        item.getSteps().forEach(AttachmentDeduplicator::replaceDuplicateSources);
+    }
+
+    /**
+     * Identifies the content of an attachment, along with its size in bytes
+     *
+     * @param key  the content identifier
+     * @param size the content size in bytes
+     */
+    record ContentKey(String key, long size) {
+        /**
+         * In-memory content is identified by its SHA-1 digest
+         */
+        static ContentKey of(byte[] content, String fileExtension) {
+            try {
+                var digest = MessageDigest.getInstance("SHA-1").digest(content);
+                return new ContentKey(HexFormat.of().formatHex(digest) + fileExtension, content.length);
+            } catch (NoSuchAlgorithmException e) {
+                // SHA-1 is guaranteed to be available on every Java platform
+                throw new IllegalStateException(e);
+            }
+        }
+
+        /**
+         * Files are identified by their location, size, and last modification time, so that they can be streamed in
+         * the background without reading them on the test thread
+         */
+        static ContentKey of(Path file, String fileExtension) throws IOException {
+            var size = Files.size(file);
+            return new ContentKey(file.toRealPath() + ":" + size + ":" + Files.getLastModifiedTime(file).toMillis() + fileExtension, size);
+        }
+    }
+}
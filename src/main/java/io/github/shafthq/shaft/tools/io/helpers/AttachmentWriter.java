@@ -0,0 +1,109 @@
+package io.github.shafthq.shaft.tools.io.helpers;
+
+import com.shaft.tools.io.ReportManager;
+import io.qameta.allure.Allure;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the content of the report attachments to the Allure results directory on a dedicated background thread, so
+ * that copying big attachments like video recordings, animated GIFs, and page snapshots doesn't block the test thread.
+ * <p>
+ * The attachments are registered in the current test step on the test thread, and only their content is written in the
+ * background. Content that the caller may still change or delete is copied to memory on the test thread first; only
+ * finished recordings are streamed from their files directly into the results file. The number of queued attachments is
+ * bounded; once the queue is full the test thread waits for a free slot. The pending attachments must be written before
+ * the Allure report is generated, by calling {@link #awaitPendingAttachments()} once the execution is finished.
+ */
+public class AttachmentWriter {
+    private static final int MAXIMUM_QUEUED_ATTACHMENTS = 32;
+    private static final Semaphore availableQueueSlots = new Semaphore(MAXIMUM_QUEUED_ATTACHMENTS);
+    private static ExecutorService writer;
+
+    private AttachmentWriter() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Queues the content of an attachment to be written to the Allure results directory
+     *
+     * @param source  the attachment file name, as returned by the Allure lifecycle when the attachment was prepared
+     * @param content the attachment content, which is opened and closed on the background thread
+     */
+    static void write(String source, AttachmentContent content) {
+        try {
+            availableQueueSlots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writeAttachment(source, content);
+            return;
+        }
+        try {
+            getWriter().execute(() -> {
+                try {
+                    writeAttachment(source, content);
+                } finally {
+                    availableQueueSlots.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the writer is being shut down, so the attachment is written on the calling thread instead
+            availableQueueSlots.release();
+            writeAttachment(source, content);
+        }
+    }
+
+    /**
+     * Waits for all the queued attachments to be written, up to the attachmentWriterTimeout
+     */
+    public static synchronized void awaitPendingAttachments() {
+        if (writer == null) {
+            return;
+        }
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(Integer.parseInt(System.getProperty("attachmentWriterTimeout").trim()), TimeUnit.SECONDS)) {
+                ReportManager.logDiscrete("Timed out while waiting for the report attachments to be written, "
+                        + (MAXIMUM_QUEUED_ATTACHMENTS - availableQueueSlots.availablePermits()) + " attachments may be incomplete.");
+                writer.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            writer.shutdownNow();
+        }
+        writer = null;
+    }
+
+    private static synchronized ExecutorService getWriter() {
+        if (writer == null) {
+            writer = Executors.newSingleThreadExecutor(runnable -> {
+                var writerThread = new Thread(runnable, "AttachmentWriter");
+                writerThread.setDaemon(true);
+                return writerThread;
+            });
+        }
+        return writer;
+    }
+
+    private static void writeAttachment(String source, AttachmentContent content) {
+        try (var attachmentContent = content.open()) {
+            Allure.getLifecycle().writeAttachment(source, attachmentContent);
+        } catch (IOException | RuntimeException e) {
+            ReportManagerHelper.logDiscrete(e);
+        }
+    }
+
+    /**
+     * Opens the content of an attachment when it's about to be written, like a file that is streamed from disk
+     */
+    @FunctionalInterface
+    interface AttachmentContent {
+        InputStream open() throws IOException;
+    }
+}
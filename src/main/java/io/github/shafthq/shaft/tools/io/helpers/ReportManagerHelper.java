@@ -13,19 +13,23 @@ import com.shaft.cli.FileActions;
 import com.shaft.cli.TerminalActions;
 import com.shaft.driver.SHAFT;
 import com.shaft.tools.io.ReportManager;
+import io.github.shafthq.shaft.driver.WebDriverCommandMetrics;
 import io.github.shafthq.shaft.listeners.CucumberFeatureListener;
 import io.github.shafthq.shaft.properties.PropertyFileManager;
 import io.github.shafthq.shaft.tools.support.JavaHelper;
+import io.github.shafthq.shaft.tools.support.StackHelper;
 import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
 import io.qameta.allure.Step;
 import io.qameta.allure.model.Status;
 import lombok.Getter;
 import lombok.SneakyThrows;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.SystemUtils;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AsyncAppender;
 import org.apache.logging.log4j.core.config.Configurator;
 import org.testng.Assert;
 import org.testng.ITestResult;
@@ -34,23 +38,31 @@ import org.testng.Reporter;
 import java.io.*;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static io.github.shafthq.shaft.driver.DriverFactoryHelper.showProgressBar;
 
 public class ReportManagerHelper {
-    private static final String TIMESTAMP_FORMAT = "dd-MM-yyyy HH:mm:ss.SSSS aaa";
+    // the literal zero keeps the four-digit milliseconds of the former "dd-MM-yyyy HH:mm:ss.SSSS aaa" SimpleDateFormat pattern
+    private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss.'0'SSS a");
     @Getter
     private static final ExtentReports extentReport = new ExtentReports();
     private static final String SHAFT_ENGINE_VERSION_PROPERTY_NAME = "shaftEngineVersion";
     private static final String ALLURE_VERSION_PROPERTY_NAME = "allureVersion";
     private static final String REPORT_MANAGER_PREFIX = "[ReportManager] ";
     private static final String SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE = "SHAFT Engine Logs";
+    private static final long ASYNC_LOG_DRAIN_TIMEOUT = 5000; // milliseconds
+    private static final long ASYNC_LOG_DRAIN_POLLING_DELAY = 20; // milliseconds
     private static final String allureExtractionLocation = System.getProperty("user.home") + File.separator + ".m2"
             + File.separator + "repository" + File.separator + "allure" + File.separator;
     private static final String androidEmulatorLocation = "src/main/resources/docker-compose/android-emulator/";
@@ -74,6 +86,7 @@ public class ReportManagerHelper {
     private static String extentReportsFolderPath = "";
     private static final ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
     private static Logger logger;
+    private static volatile LoggingState loggingState = new LoggingState(null, false);
     @Getter
     private static String extentReportFileName = "";
     private static boolean generateExtentReports = true;
@@ -288,6 +301,42 @@ public class ReportManagerHelper {
         }
     }
 
+    /**
+     * Adds a new attachment using the input parameters provided. The attachment is
+     * displayed as a step in the execution report. The file is read immediately,
+     * so it may be modified or deleted afterwards. Used for Test Data files and
+     * Visual Validation screenshots.
+     *
+     * @param attachmentType the type of this attachment
+     * @param attachmentName the name of this attachment
+     * @param attachmentFile the file to be attached
+     */
+    public static void attach(String attachmentType, String attachmentName, Path attachmentFile) {
+        if (Files.isRegularFile(attachmentFile)) {
+            try {
+                createAttachment(attachmentType, attachmentName, new ByteArrayInputStream(Files.readAllBytes(attachmentFile)));
+            } catch (IOException e) {
+                logDiscrete(e);
+            }
+        }
+    }
+
+    /**
+     * Adds a new attachment using the input parameters provided. The attachment is
+     * displayed as a step in the execution report. The file is streamed to the
+     * report in the background, so it must not be modified or deleted until the
+     * execution is finished. Used for finished Videos and Animated GIFs.
+     *
+     * @param attachmentType the type of this attachment
+     * @param attachmentName the name of this attachment
+     * @param recordingFile  the finished recording to be attached
+     */
+    public static void attachRecording(String attachmentType, String attachmentName, Path recordingFile) {
+        if (Files.isRegularFile(recordingFile)) {
+            createAttachment(attachmentType, attachmentName, () -> Files.newInputStream(recordingFile), null, recordingFile);
+        }
+    }
+
     public static void attach(List<Object> screenshot) {
         attach((String) screenshot.get(0), (String) screenshot.get(1), (InputStream) screenshot.get(2));
     }
@@ -307,7 +356,7 @@ public class ReportManagerHelper {
     }
 
     public static void attachEngineLog(String executionEndTimestamp) {
-        if (Boolean.FALSE.equals(Boolean.parseBoolean(System.getProperty("disableLogging")))) {
+        if (!isLoggingDisabled()) {
             String engineLogCreated = "Successfully created attachment '" + SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE + " - "
                     + "Execution log" + "'";
             var initialLoggingState = ReportManagerHelper.getDiscreteLogging();
@@ -315,6 +364,7 @@ public class ReportManagerHelper {
             createLogEntry(engineLogCreated, true);
             byte[] engineLog = new byte[0];
             try {
+                waitForQueuedLogEntriesToBeWritten();
                 engineLog = FileActions.getInstance().readFileAsByteArray(System.getProperty("appender.file.fileName"));
                 FileActions.getInstance().deleteFile(System.getProperty("appender.file.fileName"));
             } catch (Exception throwable) {
@@ -326,6 +376,27 @@ public class ReportManagerHelper {
         }
     }
 
+    /**
+     * Waits for the asynchronous file appender to write all the queued log entries, so that the attached engine log
+     * isn't truncated
+     */
+    private static void waitForQueuedLogEntriesToBeWritten() {
+        var loggerContext = (LoggerContext) LogManager.getContext(false);
+        if (loggerContext.getConfiguration().getAppender("ASYNC") instanceof AsyncAppender asyncAppender) {
+            var deadline = System.currentTimeMillis() + ASYNC_LOG_DRAIN_TIMEOUT;
+            try {
+                while (asyncAppender.getQueueRemainingCapacity() < asyncAppender.getQueueCapacity()
+                        && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(ASYNC_LOG_DRAIN_POLLING_DELAY);
+                }
+                // the last entry may have been taken from the queue without being written yet
+                Thread.sleep(ASYNC_LOG_DRAIN_POLLING_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     public static void attachIssuesLog(String executionEndTimestamp) {
         String issueSummary = prepareIssuesLog();
         if (!issuesLog.trim().equals("")) {
@@ -360,19 +431,7 @@ public class ReportManagerHelper {
     }
 
     public static String getCallingMethodFullName() {
-        StackTraceElement[] callingStack = Thread.currentThread().getStackTrace();
-        var callingMethodFullName = new StringBuilder();
-        for (var i = 1; i < callingStack.length; i++) {
-            if (!callingStack[i].getClassName().contains("shaft")) {
-                callingMethodFullName.append(callingStack[i].getClassName());
-                if (!callingStack[i].getMethodName().isEmpty()) {
-                    callingMethodFullName.append(".");
-                    callingMethodFullName.append(callingStack[i].getMethodName());
-                }
-                break;
-            }
-        }
-        return callingMethodFullName.toString();
+        return StackHelper.getCallingMethodFullName();
     }
 
     public static String getTestClassName() {
@@ -452,6 +511,52 @@ public class ReportManagerHelper {
         extentTest.remove();
     }
 
+    /**
+     * Wraps a task that will run on another thread, so that it logs and attaches to the test that is currently
+     * running on the calling thread
+     *
+     * @param task the task to be executed on another thread
+     * @param <T>  the type of the task result
+     * @return a task that restores the reporting context of the calling thread before it runs
+     */
+    public static <T> Supplier<T> withCurrentReportingContext(Supplier<T> task) {
+        var currentTestCase = Allure.getLifecycle().getCurrentTestCase();
+        var currentExtentTest = extentTest.get();
+        return () -> {
+            var previousExtentTest = extentTest.get();
+            var previousTestCase = Allure.getLifecycle().getCurrentTestCase();
+            currentTestCase.ifPresent(testCaseUuid -> Allure.getLifecycle().setCurrentTestCase(testCaseUuid));
+            extentTest.set(currentExtentTest);
+            try {
+                return task.get();
+            } finally {
+                extentTest.set(previousExtentTest);
+                // the previous test case can't be restored once it's written, so the worker is left without a test case
+                if (previousTestCase.isEmpty() || !Allure.getLifecycle().setCurrentTestCase(previousTestCase.get())) {
+                    clearAllureThreadContext();
+                }
+            }
+        };
+    }
+
+    /**
+     * Removes the current Allure test case and steps from the current thread, so that pooled threads don't keep
+     * attaching to a test that already finished
+     */
+    private static void clearAllureThreadContext() {
+        try {
+            // the lifecycle only clears its thread context when a test case is started or written
+            var threadContextField = AllureLifecycle.class.getDeclaredField("threadContext");
+            threadContextField.setAccessible(true);
+            var threadContext = threadContextField.get(Allure.getLifecycle());
+            var clearMethod = threadContext.getClass().getMethod("clear");
+            clearMethod.setAccessible(true);
+            clearMethod.invoke(threadContext);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logDiscrete(e);
+        }
+    }
+
     public static void extentReportsCreateTest(String testName, String testDescription) {
         if (!extentReport.equals(new ExtentReports())) {
             if (testDescription.equals("")) {
@@ -514,26 +619,49 @@ public class ReportManagerHelper {
         return logBuilder.toString();
     }
 
+    /**
+     * Checks the disableLogging property, which is toggled frequently while the engine performs internal actions, and
+     * only parses it again when it's set to a different value
+     *
+     * @return true if logging is currently disabled
+     */
+    public static boolean isLoggingDisabled() {
+        var disableLogging = System.getProperty("disableLogging");
+        var currentLoggingState = loggingState;
+        // the property is almost always set from the same string literals, so an identity check avoids parsing it again
+        if (currentLoggingState.disableLogging() != disableLogging) {
+            currentLoggingState = new LoggingState(disableLogging, Boolean.parseBoolean(disableLogging));
+            loggingState = currentLoggingState;
+        }
+        return currentLoggingState.isDisabled();
+    }
+
     public static void createLogEntry(String logText, Level loglevel) {
-        if (Boolean.FALSE.equals(Boolean.parseBoolean(System.getProperty("disableLogging")))) {
-            String timestamp = (new SimpleDateFormat(TIMESTAMP_FORMAT)).format(new Date(System.currentTimeMillis()));
-            if (logText == null) {
-                logText = "null";
-            }
-            String log = REPORT_MANAGER_PREFIX + logText.trim() + " @" + timestamp;
-            Reporter.log(log, false);
-            logger.log(loglevel, logText.trim());
+        if (!isLoggingDisabled()) {
+            String trimmedLogText = logText == null ? "null" : logText.trim();
+            Reporter.log(REPORT_MANAGER_PREFIX + trimmedLogText + " @" + TIMESTAMP_FORMATTER.format(LocalDateTime.now()), false);
+            logger.log(loglevel, trimmedLogText);
+        }
+    }
+
+    /**
+     * Creates a log entry whose text is only built if logging is enabled
+     *
+     * @param logTextSupplier builds the text that will be logged
+     * @param loglevel        the log level of this entry
+     */
+    public static void createLogEntry(Supplier<String> logTextSupplier, Level loglevel) {
+        if (!isLoggingDisabled()) {
+            createLogEntry(logTextSupplier.get(), loglevel);
         }
     }
 
     private static void createLogEntry(String logText, boolean addToConsoleLog) {
-        if (Boolean.FALSE.equals(Boolean.parseBoolean(System.getProperty("disableLogging")))) {
-            String timestamp = (new SimpleDateFormat(TIMESTAMP_FORMAT)).format(new Date(System.currentTimeMillis()));
+        if (!isLoggingDisabled()) {
             if (logText == null) {
                 logText = "null";
             }
-            String log = REPORT_MANAGER_PREFIX + logText.trim() + " @" + timestamp;
-            Reporter.log(log, false);
+            Reporter.log(REPORT_MANAGER_PREFIX + logText.trim() + " @" + TIMESTAMP_FORMATTER.format(LocalDateTime.now()), false);
             if (extentTest.get() != null && !logText.contains("created attachment") && !logText.contains("<html")) {
                 extentTest.get().info(logText);
             }
@@ -600,7 +728,8 @@ public class ReportManagerHelper {
      */
 //    @Step("{logText}")
     public static void writeStepToReport(String logText) {
-        if (Boolean.FALSE.equals(Boolean.parseBoolean(System.getProperty("disableLogging")))) {
+        WebDriverCommandMetrics.endAction();
+        if (!isLoggingDisabled()) {
             createLogEntry(logText, true);
             Allure.step(logText, getAllureStepStatus(logText));
         }
@@ -625,6 +754,7 @@ public class ReportManagerHelper {
 
     @Step("{logText}")
     static void writeStepToReport(String logText, List<List<Object>> attachments) {
+        WebDriverCommandMetrics.endAction();
         createLogEntry(logText, false);
         if (attachments != null && !attachments.isEmpty()) {
             attachments.forEach(attachment -> {
@@ -637,6 +767,8 @@ public class ReportManagerHelper {
                 } else if (attachment != null && !attachment.isEmpty()) {
                     if (attachment.get(2) instanceof byte[]) {
                         attach(attachment.get(0).toString(), attachment.get(1).toString(), new ByteArrayInputStream((byte[]) attachment.get(2)));
+                    } else if (attachment.get(2) instanceof Path attachmentFile) {
+                        attach(attachment.get(0).toString(), attachment.get(1).toString(), attachmentFile);
                     } else {
                         attach(attachment.get(0).toString(), attachment.get(1).toString(), (InputStream) attachment.get(2));
                     }
@@ -646,70 +778,116 @@ public class ReportManagerHelper {
     }
 
     private static void createAttachment(String attachmentType, String attachmentName, InputStream attachmentContent) {
-        if (attachmentContent != null && Boolean.FALSE.equals(Boolean.parseBoolean(System.getProperty("disableLogging")))) {
-            var baos = new ByteArrayOutputStream();
-            try {
-                attachmentContent.transferTo(baos);
+        if (attachmentContent != null && !isLoggingDisabled()) {
+            // the caller owns the stream, so it is read on the test thread and only the copy is written in the background
+            byte[] content = new byte[0];
+            try (attachmentContent) {
+                content = attachmentContent.readAllBytes();
             } catch (IOException e) {
                 var error = "Error while creating Attachment";
                 logger.info(error, e);
                 Reporter.log(error, false);
             }
+            var inMemoryContent = content;
+            createAttachment(attachmentType, attachmentName, () -> new ByteArrayInputStream(inMemoryContent), inMemoryContent, null);
+        }
+    }
+
+    private static void createAttachment(String attachmentType, String attachmentName, AttachmentWriter.AttachmentContent attachmentContent,
+                                         byte[] inMemoryContent, Path attachmentFile) {
+        if (!isLoggingDisabled()) {
+            var attachmentFormat = getAttachmentFormat(attachmentType, attachmentName);
+            byte[] content = inMemoryContent;
+            if (content == null && ((attachmentFormat.isExtentCodeBlock() && extentTest.get() != null) || isDebuggingAttachment(attachmentType))) {
+                // only the attachments that are written inline need to be read on the test thread
+                try (var stream = attachmentContent.open()) {
+                    content = stream.readAllBytes();
+                } catch (IOException e) {
+                    var error = "Error while creating Attachment";
+                    logger.info(error, e);
+                    Reporter.log(error, false);
+                    content = new byte[0];
+                }
+                var inlineContent = content;
+                attachmentContent = () -> new ByteArrayInputStream(inlineContent);
+            }
             String attachmentDescription = attachmentType + " - " + attachmentName;
-            attachBasedOnFileType(attachmentType, attachmentName, baos, attachmentDescription);
-            logAttachmentAction(attachmentType, attachmentName, baos);
+            var source = Allure.getLifecycle().prepareAttachment(attachmentDescription, attachmentFormat.mimeType(), attachmentFormat.fileExtension());
+            var existingSource = findDuplicateAttachment(source, content, attachmentFile, attachmentFormat.fileExtension());
+            if (existingSource == null) {
+                AttachmentWriter.write(source, attachmentContent);
+            } else {
+                source = existingSource;
+            }
+            if (attachmentFormat.isExtentImage()) {
+                attachImageToExtentReport(attachmentFormat.mimeType(), source);
+            } else if (attachmentFormat.isExtentCodeBlock() && content != null) {
+                attachCodeBlockToExtentReport(attachmentFormat.mimeType(), content);
+            }
+            logAttachmentAction(attachmentType, attachmentName, content);
+        }
+    }
+
+    private static String findDuplicateAttachment(String source, byte[] content, Path attachmentFile, String fileExtension) {
+        try {
+            if (attachmentFile != null) {
+                return AttachmentDeduplicator.findDuplicate(source, AttachmentDeduplicator.ContentKey.of(attachmentFile, fileExtension));
+            } else if (content != null) {
+                return AttachmentDeduplicator.findDuplicate(source, AttachmentDeduplicator.ContentKey.of(content, fileExtension));
+            }
+        } catch (IOException e) {
+            // the attachment is written anyway
+            logDiscrete(e);
         }
+        return null;
     }
 
-    private static void attachBasedOnFileType(String attachmentType, String attachmentName,
-                                              ByteArrayOutputStream attachmentContent, String attachmentDescription) {
-        var content = new ByteArrayInputStream(attachmentContent.toByteArray());
+    private static AttachmentFormat getAttachmentFormat(String attachmentType, String attachmentName) {
         if (attachmentType.toLowerCase().contains("screenshot")) {
-            Allure.addAttachment(attachmentDescription, "image/png", content, ".png");
-            attachImageToExtentReport("image/png", new ByteArrayInputStream(attachmentContent.toByteArray()));
+            return new AttachmentFormat("image/png", ".png", true, false);
         } else if (attachmentType.toLowerCase().contains("recording")) {
-            Allure.addAttachment(attachmentDescription, "video/mp4", content, ".mp4");
+            return new AttachmentFormat("video/mp4", ".mp4", false, false);
         } else if (attachmentType.toLowerCase().contains("gif")) {
-            Allure.addAttachment(attachmentDescription, "image/gif", content, ".gif");
-            attachImageToExtentReport("image/gif", new ByteArrayInputStream(attachmentContent.toByteArray()));
+            return new AttachmentFormat("image/gif", ".gif", true, false);
         } else if (attachmentType.toLowerCase().contains("csv") || attachmentName.toLowerCase().contains("csv")) {
-            Allure.addAttachment(attachmentDescription, "text/csv", content, ".csv");
-            attachCodeBlockToExtentReport("text/csv", new ByteArrayInputStream(attachmentContent.toByteArray()));
+            return new AttachmentFormat("text/csv", ".csv", false, true);
         } else if (attachmentType.toLowerCase().contains("xml") || attachmentName.toLowerCase().contains("xml")) {
-            Allure.addAttachment(attachmentDescription, "text/xml", content, ".xml");
-            attachCodeBlockToExtentReport("text/xml", new ByteArrayInputStream(attachmentContent.toByteArray()));
+            return new AttachmentFormat("text/xml", ".xml", false, true);
         } else if (attachmentType.toLowerCase().contains("excel") || attachmentName.toLowerCase().contains("excel")) {
-            Allure.addAttachment(attachmentDescription, "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", content, ".xlsx");
+            return new AttachmentFormat("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", ".xlsx", false, false);
         } else if (attachmentType.toLowerCase().contains("json") || attachmentName.toLowerCase().contains("json")) {
-            Allure.addAttachment(attachmentDescription, "text/json", content, ".json");
-            attachCodeBlockToExtentReport("text/json", new ByteArrayInputStream(attachmentContent.toByteArray()));
+            return new AttachmentFormat("text/json", ".json", false, true);
         } else if (attachmentType.toLowerCase().contains("properties")) {
-            Allure.addAttachment(attachmentDescription, "text/plain", content, ".properties");
+            return new AttachmentFormat("text/plain", ".properties", false, false);
         } else if (attachmentType.toLowerCase().contains("link")) {
-            Allure.addAttachment(attachmentDescription, "text/uri-list", content, ".uri");
+            return new AttachmentFormat("text/uri-list", ".uri", false, false);
         } else if (attachmentType.toLowerCase().contains("engine logs")) {
-            Allure.addAttachment(attachmentDescription, "text/plain", content, ".txt");
+            return new AttachmentFormat("text/plain", ".txt", false, false);
         } else if (attachmentType.toLowerCase().contains("page snapshot")) {
-            Allure.addAttachment(attachmentDescription, "multipart/related", content, ".mhtml");
+            return new AttachmentFormat("multipart/related", ".mhtml", false, false);
         } else if (attachmentType.toLowerCase().contains("html")) {
-            Allure.addAttachment(attachmentDescription, "text/html", content, ".html");
+            return new AttachmentFormat("text/html", ".html", false, false);
         } else {
-            Allure.addAttachment(attachmentDescription, content);
+            return new AttachmentFormat(null, null, false, false);
         }
     }
 
-    private static void logAttachmentAction(String attachmentType, String attachmentName, ByteArrayOutputStream attachmentContent) {
-        createLogEntry("Successfully created attachment '" + attachmentType + " - " + attachmentName + "'", Level.INFO);
-        if (debugMode && !attachmentType.contains(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE)
+    private static boolean isDebuggingAttachment(String attachmentType) {
+        return debugMode && !attachmentType.contains(SHAFT_ENGINE_LOGS_ATTACHMENT_TYPE)
                 && !attachmentType.equalsIgnoreCase("Selenium WebDriver Logs")
                 && !attachmentType.toLowerCase().contains("screenshot")
                 && !attachmentType.toLowerCase().contains("recording") && !attachmentType.toLowerCase().contains("gif")
-                && !attachmentType.toLowerCase().contains("engine logs")) {
-            String timestamp = (new SimpleDateFormat(TIMESTAMP_FORMAT)).format(new Date(System.currentTimeMillis()));
+                && !attachmentType.toLowerCase().contains("engine logs");
+    }
+
+    private static void logAttachmentAction(String attachmentType, String attachmentName, byte[] attachmentContent) {
+        createLogEntry("Successfully created attachment '" + attachmentType + " - " + attachmentName + "'", Level.INFO);
+        if (attachmentContent != null && isDebuggingAttachment(attachmentType)) {
+            String timestamp = TIMESTAMP_FORMATTER.format(LocalDateTime.now());
 
             String theString;
             var br = new BufferedReader(
-                    new InputStreamReader(new ByteArrayInputStream(attachmentContent.toByteArray()), StandardCharsets.UTF_8));
+                    new InputStreamReader(new ByteArrayInputStream(attachmentContent), StandardCharsets.UTF_8));
             theString = br.lines().collect(Collectors.joining(System.lineSeparator()));
             if (!theString.isEmpty()) {
                 String logEntry = REPORT_MANAGER_PREFIX + "Debugging Attachment Entry" + " @" + timestamp
@@ -719,32 +897,27 @@ public class ReportManagerHelper {
         }
     }
 
-    private static void attachCodeBlockToExtentReport(String attachmentType, InputStream attachmentContent) {
+    private static void attachCodeBlockToExtentReport(String attachmentType, byte[] attachmentContent) {
         if (extentTest.get() !=null) {
-            try {
-                var codeBlock = IOUtils.toString(attachmentContent, StandardCharsets.UTF_8);
-                switch (attachmentType) {
-                    case "text/json" -> extentTest.get().info(MarkupHelper.createCodeBlock(codeBlock, CodeLanguage.JSON));
-                    case "text/xml" -> extentTest.get().info(MarkupHelper.createCodeBlock(codeBlock, CodeLanguage.XML));
-                    default -> extentTest.get().info(MarkupHelper.createCodeBlock(codeBlock));
-                }
-            } catch (IOException e) {
-                ReportManager.logDiscrete("Failed to attach code block to extentReport.");
+            var codeBlock = new String(attachmentContent, StandardCharsets.UTF_8);
+            switch (attachmentType) {
+                case "text/json" -> extentTest.get().info(MarkupHelper.createCodeBlock(codeBlock, CodeLanguage.JSON));
+                case "text/xml" -> extentTest.get().info(MarkupHelper.createCodeBlock(codeBlock, CodeLanguage.XML));
+                default -> extentTest.get().info(MarkupHelper.createCodeBlock(codeBlock));
             }
         }
     }
 
-    private static void attachImageToExtentReport(String attachmentType, InputStream attachmentContent) {
+    private static void attachImageToExtentReport(String attachmentType, String allureAttachmentSource) {
         if (extentTest.get() !=null) {
-            try {
-                var image = Base64.getEncoder().encodeToString(IOUtils.toByteArray(attachmentContent));
-                if (attachmentType.toLowerCase().contains("gif")) {
-                    extentTest.get().addScreenCaptureFromBase64String(image);
-                } else {
-                    extentTest.get().info(MediaEntityBuilder.createScreenCaptureFromBase64String(image).build());
-                }
-            } catch (IOException e) {
-                ReportManager.logDiscrete("Failed to attach screenshot to extentReport.");
+            // the image is linked from the Allure results directory rather than encoded into the report
+            var image = Path.of(extentReportsFolderPath).toAbsolutePath()
+                    .relativize(Path.of(allureResultsFolderPath, allureAttachmentSource).toAbsolutePath())
+                    .toString().replace(File.separatorChar, '/');
+            if (attachmentType.toLowerCase().contains("gif")) {
+                extentTest.get().addScreenCaptureFromPath(image);
+            } else {
+                extentTest.get().info(MediaEntityBuilder.createScreenCaptureFromPath(image).build());
             }
         }
     }
@@ -972,8 +1145,7 @@ public class ReportManagerHelper {
     }
 
     public static boolean isInternalStep() {
-        var callingMethodName = (new Throwable()).getStackTrace()[2].toString();
-        return callingMethodName.contains("shaft");
+        return StackHelper.getClassName(2).contains("shaft");
     }
 
     /**
@@ -989,6 +1161,11 @@ public class ReportManagerHelper {
         createAttachment(attachmentType, attachmentName, attachmentContent);
     }
 
+    @Step("Attachment: {attachmentType} - {attachmentName}")
+    static void attachAsStep(String attachmentType, String attachmentName, Path attachmentFile) {
+        attach(attachmentType, attachmentName, attachmentFile);
+    }
+
     private static void writeOpenReportShellFilesToGeneratedDirectory() {
         List<String> commandsToOpenAllureReport;
         // create Unix-based sh file
@@ -1035,7 +1212,7 @@ public class ReportManagerHelper {
     }
 
     public static void log(String logText, List<List<Object>> attachments) {
-        if (Boolean.FALSE.equals(Boolean.parseBoolean(System.getProperty("disableLogging")))) {
+        if (!isLoggingDisabled()) {
             if (!logText.toLowerCase().contains("failed") && getDiscreteLogging() && isInternalStep()) {
                 createLogEntry(logText, Level.INFO);
                 if (attachments != null && !attachments.isEmpty() && (attachments.size() > 1 || (attachments.get(0) != null && !attachments.get(0).isEmpty()))) {
@@ -1044,6 +1221,8 @@ public class ReportManagerHelper {
                             if (attachment.get(2) instanceof String) {
                                 attachAsStep(attachment.get(0).toString(), attachment.get(1).toString(),
                                         new ByteArrayInputStream(attachment.get(2).toString().getBytes()));
+                            } else if (attachment.get(2) instanceof Path attachmentFile) {
+                                attachAsStep(attachment.get(0).toString(), attachment.get(1).toString(), attachmentFile);
                             } else {
                                 attachAsStep(attachment.get(0).toString(), attachment.get(1).toString(),
                                         (InputStream) attachment.get(2));
@@ -1066,7 +1245,7 @@ public class ReportManagerHelper {
         CheckpointType type = (logText.toLowerCase().contains("verification")) ? CheckpointType.VERIFICATION : CheckpointType.ASSERTION;
 
         if (type.equals(CheckpointType.VERIFICATION) && status.equals(CheckpointStatus.FAIL)
-                || Boolean.FALSE.equals(Boolean.parseBoolean(System.getProperty("disableLogging")))) {
+                || !isLoggingDisabled()) {
             if (customLogMessages != null && customLogMessages.size() > 0 && !"".equals(customLogMessages.get(0).trim())) {
                 String customLogText = customLogMessages.get(0);
                 if (status == CheckpointStatus.PASS) {
@@ -1106,6 +1285,8 @@ public class ReportManagerHelper {
                 } else if (attachment != null && !attachment.isEmpty()) {
                     if (attachment.get(2) instanceof byte[]) {
                         attach(attachment.get(0).toString(), attachment.get(1).toString(), new ByteArrayInputStream((byte[]) attachment.get(2)));
+                    } else if (attachment.get(2) instanceof Path attachmentFile) {
+                        attach(attachment.get(0).toString(), attachment.get(1).toString(), attachmentFile);
                     } else {
                         attach(attachment.get(0).toString(), attachment.get(1).toString(), (InputStream) attachment.get(2));
                     }
@@ -1136,4 +1317,17 @@ public class ReportManagerHelper {
     public static void logDiscrete(Throwable t) {
         createLogEntry(formatStackTraceToLogEntry(t), Level.ERROR);
     }
+
+    /**
+     * The last seen value of the disableLogging property, along with its parsed value
+     */
+    private record LoggingState(String disableLogging, boolean isDisabled) {
+    }
+
+    /**
+     * How an attachment is written to the Allure results directory, and whether it's linked as an image or inlined as
+     * a code block in the Extent report
+     */
+    private record AttachmentFormat(String mimeType, String fileExtension, boolean isExtentImage, boolean isExtentCodeBlock) {
+    }
 }
@@ -0,0 +1,120 @@
+package io.github.shafthq.shaft.tools.io.helpers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the parsed test data files that are read by the JSON, YAML, and Excel file managers, keyed by their real path
+ * and last modification time, so that tests that load the same file, even in parallel, only read and parse it once.
+ * <p>
+ * The cached documents are shared across threads, so they must be immutable. The least recently used documents are
+ * evicted once the total size of their files exceeds {@link #MAXIMUM_CACHED_BYTES}, and a file that was modified since
+ * it was parsed is parsed again.
+ */
+public class TestDataCache {
+    private static final long MAXIMUM_CACHED_BYTES = 64L * 1024 * 1024;
+    private static final Map<Key, Document> documents = new LinkedHashMap<>(16, 0.75f, true);
+    private static long cachedBytes = 0;
+
+    private TestDataCache() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Gets the parsed test data file, parsing it only if it wasn't cached yet or if it was modified since it was cached.
+     * Concurrent requests for the same file wait for a single parser instead of parsing it again.
+     *
+     * @param filePath     the path to the test data file
+     * @param documentType the type of the parsed document, so that the same file can be cached in more than one form
+     * @param parser       the parser that reads the file into an immutable document
+     * @param <T>          the type of the parsed document
+     * @return the parsed document along with whether this call is the one that parsed it
+     * @throws Exception in case the file couldn't be found or parsed
+     */
+    public static <T> CachedDocument<T> get(Path filePath, Class<T> documentType, Parser<T> parser) throws Exception {
+        var realPath = filePath.toRealPath();
+        var lastModified = Files.getLastModifiedTime(realPath).toMillis();
+        var size = Files.size(realPath);
+        var key = new Key(realPath.toString(), documentType);
+        Document document;
+        synchronized (documents) {
+            document = documents.get(key);
+            if (document == null || document.lastModified != lastModified || document.size != size) {
+                if (document != null) {
+                    cachedBytes -= document.size;
+                }
+                document = new Document(lastModified, size);
+                documents.put(key, document);
+                cachedBytes += size;
+                evictLeastRecentlyUsed(key);
+            }
+        }
+        synchronized (document) {
+            var parsedNow = !document.parsed;
+            if (parsedNow) {
+                document.content = parser.parse(realPath);
+                document.parsed = true;
+            }
+            return new CachedDocument<>(documentType.cast(document.content), parsedNow);
+        }
+    }
+
+    /**
+     * Removes all the cached documents
+     */
+    public static void clear() {
+        synchronized (documents) {
+            documents.clear();
+            cachedBytes = 0;
+        }
+    }
+
+    private static void evictLeastRecentlyUsed(Key newestKey) {
+        Iterator<Map.Entry<Key, Document>> iterator = documents.entrySet().iterator();
+        while (cachedBytes > MAXIMUM_CACHED_BYTES && iterator.hasNext()) {
+            var entry = iterator.next();
+            if (!entry.getKey().equals(newestKey)) {
+                cachedBytes -= entry.getValue().size;
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Reads a test data file into an immutable document
+     *
+     * @param <T> the type of the parsed document
+     */
+    @FunctionalInterface
+    public interface Parser<T> {
+        T parse(Path filePath) throws Exception;
+    }
+
+    /**
+     * A parsed test data file
+     *
+     * @param content  the parsed document, which is shared and must not be modified
+     * @param parsedNow true if the file was parsed by this call, and false if it was already cached
+     * @param <T>      the type of the parsed document
+     */
+    public record CachedDocument<T>(T content, boolean parsedNow) {
+    }
+
+    private record Key(String realPath, Class<?> documentType) {
+    }
+
+    private static final class Document {
+        private final long lastModified;
+        private final long size;
+        private boolean parsed = false;
+        private Object content;
+
+        private Document(long lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+    }
+}
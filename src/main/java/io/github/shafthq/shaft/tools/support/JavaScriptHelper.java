@@ -286,7 +286,145 @@ public enum JavaScriptHelper {
             "(function(){'use strict';var api;api=function(x,y){var elm,scrollX,scrollY,newX,newY;scrollX=window.pageXOffset;scrollY=window.pageYOffset;window.scrollTo(x,y);newX=x-window.pageXOffset;newY=y-window.pageYOffset;elm=this.elementFromPoint(newX,newY);window.scrollTo(scrollX,scrollY);return elm;};this.document.elementFromAbsolutePoint=api;}).call(this);return document.elementFromAbsolutePoint(arguments[0], arguments[1]);"),
     WINDOW_FOCUS("window.focus();"), WINDOW_RESET_LOCATION("window.moveTo(0,0);"),
     WINDOW_RESIZE("window.resizeTo($WIDTH,$HEIGHT);"), NAVIGATION_STOP("return window.stop;"),
-    DOCUMENT_READYSTATE("return document.readyState");
+    DOCUMENT_READYSTATE("return document.readyState"),
+    PAGE_FINGERPRINT("""
+            var html = document.documentElement ? document.documentElement.outerHTML : '';
+            var lowerCaseHtml = html.toLowerCase();
+            var h1 = 0xdeadbeef, h2 = 0x41c6ce57;
+            for (var i = 0; i < lowerCaseHtml.length; i++) {
+                var ch = lowerCaseHtml.charCodeAt(i);
+                h1 = Math.imul(h1 ^ ch, 2654435761);
+                h2 = Math.imul(h2 ^ ch, 1597334677);
+            }
+            h1 = Math.imul(h1 ^ (h1 >>> 16), 2246822507) ^ Math.imul(h2 ^ (h2 >>> 13), 3266489909);
+            h2 = Math.imul(h2 ^ (h2 >>> 16), 2246822507) ^ Math.imul(h1 ^ (h1 >>> 13), 3266489909);
+            var navigationErrorMessage = '';
+            for (var j = 0; j < arguments[0].length; j++) {
+                if (html.indexOf(arguments[0][j]) !== -1) {
+                    navigationErrorMessage = arguments[0][j];
+                    break;
+                }
+            }
+            return [document.getElementsByTagName('html').length,
+                lowerCaseHtml.length + ':' + (h2 >>> 0).toString(16) + ':' + (h1 >>> 0).toString(16),
+                navigationErrorMessage];"""),
+    PAGE_READINESS("""
+            var callback = arguments[arguments.length - 1];
+            var timeout = arguments[0], quietPeriod = arguments[1], settleTimeout = arguments[2];
+            var start = Date.now();
+            var tracker = window.__shaftReadinessTracker;
+            if (!tracker) {
+                tracker = window.__shaftReadinessTracker = {pendingRequests: 0, lastActivity: Date.now()};
+                var markActivity = function () {
+                    tracker.lastActivity = Date.now();
+                };
+                if (window.fetch) {
+                    var originalFetch = window.fetch;
+                    window.fetch = function () {
+                        tracker.pendingRequests++;
+                        markActivity();
+                        var done = function () {
+                            tracker.pendingRequests--;
+                            markActivity();
+                        };
+                        try {
+                            var request = originalFetch.apply(this, arguments);
+                            request.then(done, done);
+                            return request;
+                        } catch (e) {
+                            done();
+                            throw e;
+                        }
+                    };
+                }
+                if (window.XMLHttpRequest) {
+                    var originalSend = XMLHttpRequest.prototype.send;
+                    XMLHttpRequest.prototype.send = function () {
+                        var finished = false;
+                        var done = function () {
+                            if (!finished) {
+                                finished = true;
+                                tracker.pendingRequests--;
+                                markActivity();
+                            }
+                        };
+                        tracker.pendingRequests++;
+                        markActivity();
+                        this.addEventListener('loadend', done);
+                        try {
+                            return originalSend.apply(this, arguments);
+                        } catch (e) {
+                            done();
+                            throw e;
+                        }
+                    };
+                }
+                if (window.MutationObserver && document.documentElement) {
+                    new MutationObserver(markActivity).observe(document.documentElement,
+                        {childList: true, subtree: true});
+                }
+            }
+            var frameworksAreIdle = function () {
+                try {
+                    if (window.jQuery && window.jQuery.active > 0) return false;
+                } catch (e) {
+                }
+                try {
+                    var injector = window.angular && angular.element(document).injector();
+                    if (injector && injector.get('$http').pendingRequests.length > 0) return false;
+                } catch (e) {
+                }
+                try {
+                    if (window.getAllAngularTestabilities && !window.getAllAngularTestabilities().every(function (testability) {
+                        return testability.isStable();
+                    })) return false;
+                } catch (e) {
+                }
+                return true;
+            };
+            var isLoaded = function () {
+                return document.readyState === 'complete' && frameworksAreIdle();
+            };
+            var isSettled = function () {
+                return tracker.pendingRequests <= 0 && Date.now() - tracker.lastActivity >= quietPeriod;
+            };
+            var loadedSince = null;
+            var respond = function (status) {
+                var responded = false;
+                var done = function () {
+                    if (!responded) {
+                        responded = true;
+                        callback([status, Date.now() - start, tracker.pendingRequests]);
+                    }
+                };
+                // let the pending animation frames render, unless the page is in a throttled background tab
+                if (window.requestAnimationFrame) window.requestAnimationFrame(done);
+                setTimeout(done, 50);
+            };
+            // pages with animations, polling requests, or widgets may never settle, so once the page is loaded they're only
+            // waited for until the settle timeout
+            var check = function () {
+                var now = Date.now();
+                if (isLoaded()) {
+                    if (loadedSince === null) loadedSince = now;
+                    if (isSettled()) {
+                        respond('idle');
+                        return;
+                    }
+                    if (now - loadedSince >= settleTimeout) {
+                        respond('busy');
+                        return;
+                    }
+                } else {
+                    loadedSince = null;
+                }
+                if (now - start >= timeout) {
+                    respond('timeout');
+                } else {
+                    setTimeout(check, 10);
+                }
+            };
+            check();""");
 
     private final String value;
 
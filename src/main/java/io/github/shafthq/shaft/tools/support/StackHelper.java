@@ -0,0 +1,76 @@
+package io.github.shafthq.shaft.tools.support;
+
+import java.util.Optional;
+
+/**
+ * Resolves the names of the methods and classes on the current thread's call stack, to name the reported actions.
+ * <p>
+ * Unlike {@link Thread#getStackTrace()}, which captures and symbolizes the whole stack on every call, the
+ * {@link StackWalker} only materializes the frames that are needed to answer each question, so resolving the name of
+ * an action costs the same regardless of how deep the test framework's stack is.
+ */
+public class StackHelper {
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+
+    private StackHelper() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Equivalent to {@code Thread.currentThread().getStackTrace()[1].getMethodName()}
+     *
+     * @return the name of the method that called this method
+     */
+    public static String getCurrentMethodName() {
+        return getFrame(2).map(StackWalker.StackFrame::getMethodName).orElse("");
+    }
+
+    /**
+     * Equivalent to {@code Thread.currentThread().getStackTrace()[2].getMethodName()}
+     *
+     * @return the name of the method that called the method that called this method
+     */
+    public static String getCallingMethodName() {
+        return getFrame(3).map(StackWalker.StackFrame::getMethodName).orElse("");
+    }
+
+    /**
+     * Gets the name of a method on the call stack, relative to the method that called this method
+     *
+     * @param depth the number of frames to go up the call stack, where 0 is the method that called this method
+     * @return the name of the target method, or an empty string if the call stack isn't that deep
+     */
+    public static String getMethodName(int depth) {
+        return getFrame(depth + 2).map(StackWalker.StackFrame::getMethodName).orElse("");
+    }
+
+    /**
+     * Gets the fully qualified name of a class on the call stack, relative to the method that called this method
+     *
+     * @param depth the number of frames to go up the call stack, where 0 is the method that called this method
+     * @return the name of the target method's class, or an empty string if the call stack isn't that deep
+     */
+    public static String getClassName(int depth) {
+        return getFrame(depth + 2).map(StackWalker.StackFrame::getClassName).orElse("");
+    }
+
+    /**
+     * Gets the class and method name of the first frame on the call stack that isn't part of SHAFT_Engine, which is
+     * usually the test method or the page object method that triggered the current action
+     *
+     * @return the class name followed by the method name, separated by a dot, or an empty string if all the frames are
+     * part of SHAFT_Engine
+     */
+    public static String getCallingMethodFullName() {
+        return stackWalker.walk(frames -> frames
+                        .filter(frame -> !frame.getClassName().contains("shaft"))
+                        .findFirst())
+                .map(frame -> frame.getMethodName().isEmpty() ? frame.getClassName() : frame.getClassName() + "." + frame.getMethodName())
+                .orElse("");
+    }
+
+    private static Optional<StackWalker.StackFrame> getFrame(int skippedFrames) {
+        // the walk starts at this method, which is skipped along with the public method that called it
+        return stackWalker.walk(frames -> frames.skip(skippedFrames).findFirst());
+    }
+}
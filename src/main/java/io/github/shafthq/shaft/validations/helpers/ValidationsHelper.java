@@ -13,6 +13,7 @@ import io.github.shafthq.shaft.gui.image.ScreenshotManager;
 import io.github.shafthq.shaft.properties.Properties;
 import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
 import io.github.shafthq.shaft.tools.support.JavaHelper;
+import io.github.shafthq.shaft.tools.support.StackHelper;
 import io.restassured.response.Response;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -618,12 +619,11 @@ public class ValidationsHelper {
             attachments.addAll(externalAttachments);
         }
 
-        var stacktrace = (new Throwable()).getStackTrace();
         // get validation method name
-        String validationMethodName = stacktrace[2].getMethodName();
+        String validationMethodName = StackHelper.getMethodName(2);
 
         if (validationMethodName.contains("reportValidationResult")) {
-            validationMethodName = stacktrace[3].getMethodName();
+            validationMethodName = StackHelper.getMethodName(3);
         }
 
         String validationTypeString = "Assertion";
@@ -0,0 +1,59 @@
+package testPackage;
+
+import com.shaft.db.DatabaseActions;
+import com.shaft.validation.Validations;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.sql.ResultSet;
+
+public class Test_dbConnectionPooling {
+    private static final String connectionString = "jdbc:h2:mem:shaft_pooling;DB_CLOSE_DELAY=-1";
+    private DatabaseActions dbActions;
+
+    @BeforeClass
+    public void beforeClass() {
+        dbActions = DatabaseActions.getInstance(connectionString).setConnectionPooling(true);
+        dbActions.executeUpdateQuery("CREATE TABLE IF NOT EXISTS users (id INT PRIMARY KEY, name VARCHAR(50))");
+        for (var i = 1; i <= 20; i++) {
+            dbActions.executeInsertQuery("INSERT INTO users (id, name) VALUES (?, ?)", i, "user" + i);
+        }
+    }
+
+    @Test
+    public void parameterizedSelectQuery() {
+        ResultSet queryResult = dbActions.executeSelectQuery("SELECT name FROM users WHERE id = ?", 7);
+        Validations.assertThat().object(DatabaseActions.getColumn(queryResult, "NAME"))
+                .isEqualTo("user7")
+                .perform();
+    }
+
+    @Test
+    public void pooledSelectQueryResultIsScrollable() {
+        ResultSet queryResult = dbActions.executeSelectQuery("SELECT * FROM users WHERE id <= ?", 5);
+        Validations.assertThat().number(DatabaseActions.getRowCount(queryResult))
+                .isEqualTo(5)
+                .perform();
+        Validations.assertThat().object(DatabaseActions.getRow(queryResult, "ID", "3"))
+                .contains("user3")
+                .perform();
+    }
+
+    @Test
+    public void pooledUpdateQuery() {
+        var affectedRows = dbActions.executeUpdateQuery("UPDATE users SET name = ? WHERE id > ?", "updated", 18);
+        Validations.assertThat().number(affectedRows)
+                .isEqualTo(2)
+                .perform();
+    }
+
+    @Test
+    public void nonPooledParameterizedSelectQuery() {
+        ResultSet queryResult = DatabaseActions.getInstance(connectionString)
+                .setConnectionPooling(false)
+                .executeSelectQuery("SELECT name FROM users WHERE id = ?", 1);
+        Validations.assertThat().object(DatabaseActions.getResult(queryResult))
+                .contains("user1")
+                .perform();
+    }
+}
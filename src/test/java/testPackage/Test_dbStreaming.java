@@ -0,0 +1,41 @@
+package testPackage;
+
+import com.shaft.db.DatabaseActions;
+import com.shaft.validation.Validations;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class Test_dbStreaming {
+    private static final String connectionString = "jdbc:h2:mem:shaft_streaming;DB_CLOSE_DELAY=-1";
+    private DatabaseActions dbActions;
+
+    @BeforeClass
+    public void beforeClass() {
+        dbActions = DatabaseActions.getInstance(connectionString);
+        dbActions.executeUpdateQuery("CREATE TABLE IF NOT EXISTS audit (id INT PRIMARY KEY, action VARCHAR(50))");
+        dbActions.executeInsertQuery("INSERT INTO audit SELECT x, CASE WHEN MOD(x, 1000) = 0 THEN 'delete' ELSE 'update' END FROM SYSTEM_RANGE(1, 10000)");
+    }
+
+    @Test
+    public void countRows() {
+        Validations.assertThat().number(dbActions.countRows("SELECT * FROM audit WHERE id > ?", 2500))
+                .isEqualTo(7500)
+                .perform();
+    }
+
+    @Test
+    public void findRows() {
+        Validations.assertThat().object(dbActions.findRows("SELECT id, action FROM audit", "ACTION", "delete"))
+                .contains("10000\tdelete")
+                .perform();
+    }
+
+    @Test
+    public void streamSelectQuery() {
+        try (var rows = new DatabaseActions(connectionString).setConnectionPooling(true).streamSelectQuery("SELECT id FROM audit ORDER BY id")) {
+            Validations.assertThat().object(rows.skip(41).findFirst().orElseThrow().get("ID"))
+                    .isEqualTo(42)
+                    .perform();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package testPackage.unitTests;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Shared stubs and property helpers for the unit tests that exercise driver-facing code without a browser
+ */
+final class TestDoubles {
+    private TestDoubles() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Answers the stubbed methods of a test double, any method that isn't stubbed should return null
+     */
+    @FunctionalInterface
+    interface StubbedMethods {
+        Object invoke(Method method, Object[] args) throws Throwable;
+    }
+
+    /**
+     * Creates a stub that implements all the target interfaces, with identity based equals and hashCode
+     *
+     * @param type           the main interface of the stub
+     * @param name           the name that the stub uses in its toString, to make failed assertions readable
+     * @param stubbedMethods answers all the other methods
+     * @param extraTypes     any other interfaces that the stub implements
+     * @param <T>            the main interface of the stub
+     * @return the stub
+     */
+    static <T> T stub(Class<T> type, String name, StubbedMethods stubbedMethods, Class<?>... extraTypes) {
+        var interfaces = new Class<?>[extraTypes.length + 1];
+        interfaces[0] = type;
+        System.arraycopy(extraTypes, 0, interfaces, 1, extraTypes.length);
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), interfaces, (proxy, method, args) -> switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "toString" -> name + "@" + Integer.toHexString(System.identityHashCode(proxy));
+            default -> stubbedMethods.invoke(method, args);
+        }));
+    }
+
+    /**
+     * Restores a system property that was changed by a test, removing it if it wasn't set before
+     *
+     * @param key           the property name
+     * @param originalValue the value before the test, or null if it wasn't set
+     */
+    static void restoreProperty(String key, String originalValue) {
+        if (originalValue == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, originalValue);
+        }
+    }
+}
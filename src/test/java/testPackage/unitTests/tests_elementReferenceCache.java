@@ -0,0 +1,117 @@
+package testPackage.unitTests;
+
+import com.shaft.validation.Validations;
+import io.github.shafthq.shaft.driver.DriverFactoryHelper;
+import io.github.shafthq.shaft.gui.element.ElementActionsHelper;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Coordinates;
+import org.openqa.selenium.interactions.Interactive;
+import org.openqa.selenium.interactions.Locatable;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class tests_elementReferenceCache {
+    private static final By locator = By.id("cachedElement");
+    private final List<WebElement> matchingElements = new ArrayList<>();
+    private final AtomicInteger findElementsCalls = new AtomicInteger();
+    private final AtomicBoolean nextActionFindsStaleElement = new AtomicBoolean();
+    private WebDriver driver;
+    private String cacheElementReferences;
+    private String forceCheckElementLocatorIsUnique;
+
+    private static WebElement element() {
+        var coordinates = TestDoubles.stub(Coordinates.class, "coordinates", (method, args) -> null);
+        return TestDoubles.stub(WebElement.class, "element",
+                (method, args) -> method.getName().equals("getCoordinates") ? coordinates : null,
+                Locatable.class);
+    }
+
+    @BeforeMethod
+    public void beforeMethod() {
+        cacheElementReferences = System.getProperty("cacheElementReferences");
+        forceCheckElementLocatorIsUnique = System.getProperty("forceCheckElementLocatorIsUnique");
+        System.setProperty("cacheElementReferences", "true");
+        System.setProperty("forceCheckElementLocatorIsUnique", "false");
+        matchingElements.clear();
+        matchingElements.add(element());
+        findElementsCalls.set(0);
+        nextActionFindsStaleElement.set(false);
+        driver = TestDoubles.stub(WebDriver.class, "driver",
+                (method, args) -> switch (method.getName()) {
+                    case "findElements" -> {
+                        findElementsCalls.incrementAndGet();
+                        yield new ArrayList<>(matchingElements);
+                    }
+                    case "perform" -> {
+                        if (nextActionFindsStaleElement.getAndSet(false)) {
+                            throw new StaleElementReferenceException("element is not attached to the page document");
+                        }
+                        yield null;
+                    }
+                    default -> null;
+                }, Interactive.class);
+        DriverFactoryHelper.getElementReferenceCache().get().invalidate();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void afterMethod() {
+        TestDoubles.restoreProperty("cacheElementReferences", cacheElementReferences);
+        TestDoubles.restoreProperty("forceCheckElementLocatorIsUnique", forceCheckElementLocatorIsUnique);
+        DriverFactoryHelper.getElementReferenceCache().get().invalidate();
+    }
+
+    @Test
+    public void cachedReferenceIsReused() {
+        var firstElement = ElementActionsHelper.identifyUniqueElement(driver, locator).get(1);
+        var secondElement = ElementActionsHelper.identifyUniqueElement(driver, locator).get(1);
+        Validations.assertThat().object(secondElement).isEqualTo(firstElement).perform();
+        Validations.assertThat().number(findElementsCalls.get()).isEqualTo(1).perform();
+    }
+
+    @Test
+    public void invalidatedReferenceIsLocatedAgain() {
+        ElementActionsHelper.identifyUniqueElement(driver, locator);
+        DriverFactoryHelper.getElementReferenceCache().get().invalidate();
+        matchingElements.set(0, element());
+        var elementAfterNavigation = ElementActionsHelper.identifyUniqueElement(driver, locator).get(1);
+        Validations.assertThat().object(elementAfterNavigation).isEqualTo(matchingElements.get(0)).perform();
+        Validations.assertThat().number(findElementsCalls.get()).isEqualTo(2).perform();
+    }
+
+    @Test
+    public void staleReferenceIsLocatedAgain() {
+        ElementActionsHelper.identifyUniqueElement(driver, locator);
+        matchingElements.set(0, element());
+        nextActionFindsStaleElement.set(true);
+        var refreshedElement = ElementActionsHelper.identifyUniqueElement(driver, locator).get(1);
+        Validations.assertThat().object(refreshedElement).isEqualTo(matchingElements.get(0)).perform();
+        Validations.assertThat().number(findElementsCalls.get()).isEqualTo(2).perform();
+    }
+
+    @Test
+    public void elementsCountIsNeverCached() {
+        ElementActionsHelper.identifyUniqueElement(driver, locator);
+        matchingElements.add(element());
+        matchingElements.add(element());
+        Validations.assertThat().number(ElementActionsHelper.getElementsCount(driver, locator)).isEqualTo(3).perform();
+    }
+
+    @Test
+    public void uniquenessCheckBypassesTheCache() {
+        ElementActionsHelper.identifyUniqueElement(driver, locator);
+        System.setProperty("forceCheckElementLocatorIsUnique", "true");
+        matchingElements.set(0, element());
+        var uniqueElement = ElementActionsHelper.identifyUniqueElement(driver, locator).get(1);
+        Validations.assertThat().object(uniqueElement).isEqualTo(matchingElements.get(0)).perform();
+        Validations.assertThat().number(findElementsCalls.get()).isEqualTo(2).perform();
+    }
+}
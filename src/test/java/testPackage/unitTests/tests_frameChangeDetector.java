@@ -0,0 +1,95 @@
+package testPackage.unitTests;
+
+import com.shaft.validation.Validations;
+import io.github.shafthq.shaft.gui.image.FrameChangeDetector;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+public class tests_frameChangeDetector {
+    private static final int WIDTH = 403;
+    private static final int HEIGHT = 301;
+
+    /**
+     * Creates a blank light gray screen, with odd dimensions so that the last blocks of the downscale are partial
+     */
+    private static BufferedImage blankScreen() {
+        var image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        var graphics = image.createGraphics();
+        graphics.setColor(new Color(200, 200, 200));
+        graphics.fillRect(0, 0, WIDTH, HEIGHT);
+        graphics.dispose();
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image) throws IOException {
+        var output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+
+    @DataProvider
+    public Object[][] changedPixels() {
+        return new Object[][]{{0, 0}, {1, 1}, {7, 8}, {37, 113}, {201, 202}, {255, 129}, {WIDTH - 1, HEIGHT - 1}};
+    }
+
+    @Test
+    public void firstFrameIsSearched() throws IOException {
+        Validations.assertThat().object(new FrameChangeDetector().hasChanged(encode(blankScreen())))
+                .isTrue()
+                .perform();
+    }
+
+    @Test
+    public void identicalFrameIsSkipped() throws IOException {
+        var frameChangeDetector = new FrameChangeDetector();
+        frameChangeDetector.hasChanged(encode(blankScreen()));
+        Validations.assertThat().object(frameChangeDetector.hasChanged(encode(blankScreen())))
+                .isFalse()
+                .perform();
+    }
+
+    @Test
+    public void encodingNoiseIsSkipped() throws IOException {
+        var frameChangeDetector = new FrameChangeDetector();
+        frameChangeDetector.hasChanged(encode(blankScreen()));
+        var noisyScreen = blankScreen();
+        for (int x = 0; x < WIDTH; x += 3) {
+            noisyScreen.setRGB(x, x % HEIGHT, new Color(201, 199, 201).getRGB());
+        }
+        Validations.assertThat().object(frameChangeDetector.hasChanged(encode(noisyScreen)))
+                .isFalse()
+                .perform();
+    }
+
+    @Test(dataProvider = "changedPixels")
+    public void singleChangedPixelIsSearched(int x, int y) throws IOException {
+        var frameChangeDetector = new FrameChangeDetector();
+        frameChangeDetector.hasChanged(encode(blankScreen()));
+        var changedScreen = blankScreen();
+        changedScreen.setRGB(x, y, Color.BLACK.getRGB());
+        Validations.assertThat().object(frameChangeDetector.hasChanged(encode(changedScreen)))
+                .isTrue()
+                .perform();
+    }
+
+    @Test
+    public void resizedFrameIsSearched() throws IOException {
+        var frameChangeDetector = new FrameChangeDetector();
+        frameChangeDetector.hasChanged(encode(blankScreen()));
+        var resizedScreen = new BufferedImage(WIDTH, HEIGHT + 1, BufferedImage.TYPE_INT_RGB);
+        var graphics = resizedScreen.createGraphics();
+        graphics.drawImage(blankScreen(), 0, 0, null);
+        graphics.setColor(new Color(200, 200, 200));
+        graphics.fillRect(0, HEIGHT, WIDTH, 1);
+        graphics.dispose();
+        Validations.assertThat().object(frameChangeDetector.hasChanged(encode(resizedScreen)))
+                .isTrue()
+                .perform();
+    }
+}
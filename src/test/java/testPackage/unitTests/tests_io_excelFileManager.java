@@ -2,6 +2,7 @@ package testPackage.unitTests;
 
 import com.shaft.tools.io.ExcelFileManager;
 import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Validations;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
@@ -15,6 +16,17 @@ public class tests_io_excelFileManager {
         ReportManager.log(testDataReader.getCellData("testRowValue"));
     }
 
+    @Test
+    public void getRowAsMap_rowName_expectedToPass() {
+        Validations.assertThat().object(testDataReader.getRowAsMap("URL").get("Data1")).isEqualTo("https://www.google.com/ncr").perform();
+        Validations.assertThat().object(testDataReader.getRowAsMap("URL").get("Data2")).isEqualTo("").perform();
+    }
+
+    @Test
+    public void streamRows_defaultSheet_expectedToPass() {
+        Validations.assertThat().number(testDataReader.streamRows().count()).isEqualTo(9).perform();
+    }
+
     @BeforeClass // Set-up method, to be run once before the first test
     public void beforeClass() {
         System.setProperty("testDataFilePath", System.getProperty("testDataFolderPath")+"testSuite01/TestData.xlsx");
@@ -0,0 +1,96 @@
+package testPackage.unitTests;
+
+import com.shaft.validation.Validations;
+import io.github.shafthq.shaft.gui.browser.JavaScriptWaitManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class tests_javaScriptWaitManager {
+    private static final int THREADS = 16;
+    private static final int WAITS_PER_THREAD = 50;
+    private String waitForLazyLoadingUsingPageEvents;
+
+    /**
+     * Creates a driver that answers the lazy loading scripts of an idle page, and counts the scripts that it receives
+     * from any thread other than the one that owns it
+     */
+    private static WebDriver createDriver(Thread owner, AtomicInteger executedScripts, AtomicInteger misroutedScripts) {
+        return TestDoubles.stub(WebDriver.class, "driver", (method, args) -> {
+            if (!method.getName().equals("executeScript") && !method.getName().equals("executeAsyncScript")) {
+                return null;
+            }
+            executedScripts.incrementAndGet();
+            if (Thread.currentThread() != owner) {
+                misroutedScripts.incrementAndGet();
+            }
+            var script = String.valueOf(args[0]);
+            if (method.getName().equals("executeAsyncScript")) {
+                return List.of("idle", 0L, 0L);
+            } else if (script.contains("document.readyState")) {
+                return "complete";
+            } else if (script.contains("jQuery")) {
+                return true;
+            } else if (script.contains("window.angular === undefined")) {
+                return true;
+            }
+            return null;
+        }, JavascriptExecutor.class);
+    }
+
+    @DataProvider(parallel = false)
+    public Object[][] waitStrategies() {
+        return new Object[][]{{"false"}, {"true"}};
+    }
+
+    @BeforeMethod
+    public void beforeMethod() {
+        waitForLazyLoadingUsingPageEvents = System.getProperty("waitForLazyLoadingUsingPageEvents");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void afterMethod() {
+        TestDoubles.restoreProperty("waitForLazyLoadingUsingPageEvents", waitForLazyLoadingUsingPageEvents);
+    }
+
+    @Test(dataProvider = "waitStrategies")
+    public void parallelWaitsOnlyUseTheirOwnDriver(String usePageEvents) throws Exception {
+        System.setProperty("waitForLazyLoadingUsingPageEvents", usePageEvents);
+        var executedScripts = new AtomicInteger();
+        var misroutedScripts = new AtomicInteger();
+        var startGate = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> waits = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                waits.add(executor.submit(() -> {
+                    var driver = createDriver(Thread.currentThread(), executedScripts, misroutedScripts);
+                    startGate.await();
+                    for (int j = 0; j < WAITS_PER_THREAD; j++) {
+                        JavaScriptWaitManager.waitForLazyLoading(driver);
+                    }
+                    return null;
+                }));
+            }
+            startGate.countDown();
+            for (var wait : waits) {
+                wait.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Validations.assertThat().number(executedScripts.get()).isGreaterThanOrEquals(THREADS * WAITS_PER_THREAD).perform();
+        Validations.assertThat().number(misroutedScripts.get()).isEqualTo(0).perform();
+    }
+}
@@ -0,0 +1,56 @@
+package testPackage.unitTests;
+
+import com.shaft.api.RestActions;
+import com.shaft.validation.Validations;
+import io.github.shafthq.shaft.api.JsonComparator;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.testng.annotations.Test;
+
+public class tests_jsonComparator {
+    private static final String referenceJsonFilePath = System.getProperty("testDataFolderPath") + "test_assertResponseEqualsIgnoringOrder.json";
+
+    private static Object parse(String json) throws ParseException {
+        return new JSONParser().parse(json);
+    }
+
+    private static Response response(String body) {
+        return new ResponseBuilder().setStatusCode(200).setContentType("application/json").setBody(body).build();
+    }
+
+    @Test
+    public void equalsIsStrict() throws ParseException {
+        Validations.assertThat().object(JsonComparator.equals(parse("{\"a\":[1,2],\"b\":{\"c\":\"d\"}}"), parse("{\"b\":{\"c\":\"d\"},\"a\":[1,2]}"))).isTrue().perform();
+        Validations.assertThat().object(JsonComparator.equals(parse("{\"a\":[1,2]}"), parse("{\"a\":[2,1]}"))).isFalse().perform();
+    }
+
+    @Test
+    public void equalsIgnoringOrder() throws ParseException {
+        Validations.assertThat().object(JsonComparator.equalsIgnoringOrder(parse("{\"a\":[1,2,{\"x\":1}]}"), parse("{\"a\":[{\"x\":1.0},2,1]}"))).isTrue().perform();
+        Validations.assertThat().object(JsonComparator.equalsIgnoringOrder(parse("{\"a\":[1,1,2]}"), parse("{\"a\":[1,2,2]}"))).isFalse().perform();
+        Validations.assertThat().object(JsonComparator.equalsIgnoringOrder(parse("{\"a\":1}"), parse("{\"a\":1,\"b\":2}"))).isFalse().perform();
+    }
+
+    @Test
+    public void containsIgnoresExtraFields() throws ParseException {
+        Validations.assertThat().object(JsonComparator.contains(parse("{\"a\":[{\"x\":1}]}"), parse("{\"a\":[{\"x\":1,\"y\":2}],\"b\":2}"))).isTrue().perform();
+        Validations.assertThat().object(JsonComparator.contains(parse("{\"a\":[{\"x\":1}]}"), parse("{\"a\":[{\"x\":1},{\"x\":2}]}"))).isFalse().perform();
+    }
+
+    @Test
+    public void compareJSON() {
+        var referenceJson = "{\"post code\":\"90210\",\"country abbreviation\":\"US\",\"country\":\"United States\",\"places\":[{\"longitude\":\"-118.4065\",\"state\":\"California\",\"state abbreviation\":\"CA\",\"latitude\":\"34.0901\",\"place name\":\"Beverly Hills\"}]}";
+        var extendedJson = referenceJson.replace("{\"post code\"", "{\"id\":1,\"post code\"");
+        Validations.assertThat().object(RestActions.compareJSON(response(referenceJson), referenceJsonFilePath, RestActions.ComparisonType.EQUALS)).isTrue().perform();
+        Validations.assertThat().object(RestActions.compareJSON(response(extendedJson), referenceJsonFilePath, RestActions.ComparisonType.EQUALS)).isFalse().perform();
+        Validations.assertThat().object(RestActions.compareJSON(response(extendedJson), referenceJsonFilePath, RestActions.ComparisonType.CONTAINS)).isTrue().perform();
+    }
+
+    @Test
+    public void compareJSONUsingJsonPathToTarget() {
+        var wrappedJson = "{\"data\":{\"country\":\"United States\",\"places\":[{\"place name\":\"Beverly Hills\",\"longitude\":\"-118.4065\",\"state\":\"California\",\"state abbreviation\":\"CA\",\"latitude\":\"34.0901\"}],\"country abbreviation\":\"US\",\"post code\":\"90210\"}}";
+        Validations.assertThat().object(RestActions.compareJSON(response(wrappedJson), referenceJsonFilePath, RestActions.ComparisonType.EQUALS_IGNORING_ORDER, "$.data")).isTrue().perform();
+    }
+}
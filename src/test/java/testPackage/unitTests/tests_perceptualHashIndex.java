@@ -0,0 +1,105 @@
+package testPackage.unitTests;
+
+import com.shaft.validation.Validations;
+import io.github.shafthq.shaft.gui.image.PerceptualHashIndex;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class tests_perceptualHashIndex {
+    private static final Path referenceFolder = Path.of("target/perceptualHashIndex/");
+    private static final String referenceImagePath = referenceFolder.resolve("reference.png").toString();
+
+    private String perceptualHashThreshold;
+
+    /**
+     * Draws a button with a text label, the way an element screenshot of a button would look
+     */
+    private static byte[] drawButton(String label, int labelOffset, boolean markCorner) throws IOException {
+        var image = new BufferedImage(200, 60, BufferedImage.TYPE_INT_RGB);
+        var graphics = image.createGraphics();
+        graphics.setColor(Color.LIGHT_GRAY);
+        graphics.fillRect(0, 0, 200, 60);
+        graphics.setColor(Color.BLACK);
+        graphics.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 20));
+        graphics.drawString(label, 60 + labelOffset, 38);
+        if (markCorner) {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, 2, 2);
+        }
+        graphics.dispose();
+        var output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+
+    @BeforeClass
+    public void beforeClass() throws IOException {
+        Files.createDirectories(referenceFolder);
+        Files.write(Path.of(referenceImagePath), drawButton("Submit", 0, false));
+    }
+
+    @BeforeMethod
+    public void beforeMethod() {
+        perceptualHashThreshold = System.getProperty("visualValidation_perceptualHashThreshold");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void afterMethod() {
+        TestDoubles.restoreProperty("visualValidation_perceptualHashThreshold", perceptualHashThreshold);
+    }
+
+    @Test
+    public void identicalScreenshotMatches() throws IOException {
+        Validations.assertThat().object(PerceptualHashIndex.matchesReference(referenceImagePath, drawButton("Submit", 0, false)))
+                .isTrue()
+                .perform();
+    }
+
+    @Test
+    public void sameSizeButtonWithDifferentTextIsLeftToTheEngine() throws IOException {
+        Validations.assertThat().object(PerceptualHashIndex.matchesReference(referenceImagePath, drawButton("Cancel", 0, false)))
+                .isFalse()
+                .perform();
+    }
+
+    @Test
+    public void nearlyIdenticalScreenshotIsLeftToTheEngineByDefault() throws IOException {
+        Validations.assertThat().object(PerceptualHashIndex.matchesReference(referenceImagePath, drawButton("Submit", 0, true)))
+                .isFalse()
+                .perform();
+    }
+
+    @Test
+    public void nearlyIdenticalScreenshotMatchesWhenThresholdIsSet() throws IOException {
+        System.setProperty("visualValidation_perceptualHashThreshold", "2");
+        Validations.assertThat().object(PerceptualHashIndex.matchesReference(referenceImagePath, drawButton("Submit", 0, true)))
+                .isTrue()
+                .perform();
+    }
+
+    @Test
+    public void differentScreenshotIsLeftToTheEngineWhenThresholdIsSet() throws IOException {
+        System.setProperty("visualValidation_perceptualHashThreshold", "2");
+        Validations.assertThat().object(PerceptualHashIndex.matchesReference(referenceImagePath, drawButton("Submit", -50, false)))
+                .isFalse()
+                .perform();
+    }
+
+    @Test
+    public void indexIsStoredNextToTheReferenceImages() throws IOException {
+        PerceptualHashIndex.matchesReference(referenceImagePath, drawButton("Submit", 0, false));
+        Validations.assertThat().object(Files.readString(referenceFolder.resolve("perceptualHashIndex.properties")))
+                .contains("reference.png=200,60,")
+                .perform();
+    }
+}
@@ -0,0 +1,51 @@
+package testPackage.unitTests;
+
+import com.shaft.tools.io.ReportManager;
+import com.shaft.validation.Validations;
+import io.github.shafthq.shaft.tools.io.helpers.ReportManagerHelper;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class tests_reportManager {
+    private String disableLogging;
+
+    @BeforeMethod
+    public void beforeMethod() {
+        disableLogging = System.getProperty("disableLogging");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void afterMethod() {
+        if (disableLogging == null) {
+            System.clearProperty("disableLogging");
+        } else {
+            System.setProperty("disableLogging", disableLogging);
+        }
+    }
+
+    @Test
+    public void loggingFlagFollowsTheProperty() {
+        System.setProperty("disableLogging", "true");
+        var disabled = ReportManagerHelper.isLoggingDisabled();
+        System.setProperty("disableLogging", "false");
+        var enabled = !ReportManagerHelper.isLoggingDisabled();
+        Validations.assertThat().object(disabled && enabled)
+                .isTrue()
+                .perform();
+    }
+
+    @Test
+    public void lazyLogTextIsNotBuiltWhileLoggingIsDisabled() {
+        var evaluations = new AtomicInteger();
+        System.setProperty("disableLogging", "true");
+        ReportManager.logDiscrete(() -> "lazy log entry " + evaluations.incrementAndGet());
+        System.setProperty("disableLogging", "false");
+        ReportManager.logDiscrete(() -> "lazy log entry " + evaluations.incrementAndGet());
+        Validations.assertThat().number(evaluations.get())
+                .isEqualTo(1)
+                .perform();
+    }
+}
@@ -49,4 +49,21 @@ public class tests_restActions {
         Validations.assertThat().object(uerId).isEqualTo("5").perform();
     }
 
+    @Test
+    public void performRequestsConcurrently() {
+        RestActions apiObject = new RestActions("https://jsonplaceholder.typicode.com");
+        List<Response> posts = RestActions.performRequests(
+                apiObject.buildNewRequest("/posts/1", RequestType.GET),
+                apiObject.buildNewRequest("/posts/2", RequestType.GET),
+                apiObject.buildNewRequest("/posts/3", RequestType.GET));
+        Validations.assertThat().object(RestActions.getResponseJSONValue(posts.get(2), "id")).isEqualTo("3").perform();
+    }
+
+    @Test
+    public void performRequestAsync() {
+        Response user = RestActions.buildNewRequest("https://jsonplaceholder.typicode.com", "/users/1", RequestType.GET)
+                .performRequestAsync()
+                .join();
+        Validations.assertThat().response(user).extractedJsonValue("username").isEqualTo("Bret").perform();
+    }
 }
@@ -0,0 +1,45 @@
+package testPackage.unitTests;
+
+import com.shaft.validation.Validations;
+import io.github.shafthq.shaft.tools.support.StackHelper;
+import org.testng.annotations.Test;
+
+public class tests_stackHelper {
+    private static String[] resolveCallingMethod() {
+        return new String[]{Thread.currentThread().getStackTrace()[2].getMethodName(), StackHelper.getCallingMethodName()};
+    }
+
+    private static String[] resolveClassName() {
+        return new String[]{Thread.currentThread().getStackTrace()[2].getClassName(), StackHelper.getClassName(1)};
+    }
+
+    @Test
+    public void currentMethodNameMatchesTheStackTrace() {
+        Validations.assertThat().object(StackHelper.getCurrentMethodName())
+                .isEqualTo(Thread.currentThread().getStackTrace()[1].getMethodName())
+                .perform();
+    }
+
+    @Test
+    public void callingMethodNameMatchesTheStackTrace() {
+        var names = resolveCallingMethod();
+        Validations.assertThat().object(names[1])
+                .isEqualTo(names[0])
+                .perform();
+    }
+
+    @Test
+    public void classNameMatchesTheStackTrace() {
+        var names = resolveClassName();
+        Validations.assertThat().object(names[1])
+                .isEqualTo(names[0])
+                .perform();
+    }
+
+    @Test
+    public void callingMethodFullNameIsTheFirstFrameOutsideShaft() {
+        Validations.assertThat().object(StackHelper.getCallingMethodFullName())
+                .isEqualTo(tests_stackHelper.class.getName() + ".callingMethodFullNameIsTheFirstFrameOutsideShaft")
+                .perform();
+    }
+}
@@ -0,0 +1,38 @@
+package testPackage.unitTests;
+
+import com.shaft.validation.Validations;
+import io.github.shafthq.shaft.tools.io.helpers.TestDataCache;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class tests_testDataCache {
+
+    @Test
+    public void fileIsParsedOnceUntilModified() throws Exception {
+        var testDataFile = Files.createTempFile("testData", ".txt");
+        var parseCount = new AtomicInteger();
+        TestDataCache.Parser<String> parser = filePath -> {
+            parseCount.incrementAndGet();
+            return Files.readString(filePath);
+        };
+        try {
+            Files.writeString(testDataFile, "first");
+            var firstRead = TestDataCache.get(testDataFile, String.class, parser);
+            var secondRead = TestDataCache.get(testDataFile, String.class, parser);
+            Validations.assertThat().object(firstRead.parsedNow()).isTrue().perform();
+            Validations.assertThat().object(secondRead.parsedNow()).isFalse().perform();
+            Validations.assertThat().object(secondRead.content()).isEqualTo("first").perform();
+
+            Files.writeString(testDataFile, "second");
+            Files.setLastModifiedTime(testDataFile, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+            var modifiedRead = TestDataCache.get(testDataFile, String.class, parser);
+            Validations.assertThat().object(modifiedRead.content()).isEqualTo("second").perform();
+            Validations.assertThat().number(parseCount.get()).isEqualTo(2).perform();
+        } finally {
+            Files.deleteIfExists(testDataFile);
+        }
+    }
+}
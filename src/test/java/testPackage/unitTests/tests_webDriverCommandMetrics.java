@@ -0,0 +1,76 @@
+package testPackage.unitTests;
+
+import com.shaft.validation.Validations;
+import io.appium.java_client.AppiumDriver;
+import io.appium.java_client.MobileCommand;
+import io.appium.java_client.remote.AppiumCommandExecutor;
+import io.github.shafthq.shaft.driver.WebDriverCommandMetrics;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class tests_webDriverCommandMetrics {
+    private static final MutableCapabilities capabilities = new MutableCapabilities(Map.of("platformName", "Android"));
+    private final List<String> executedCommands = new CopyOnWriteArrayList<>();
+
+    /**
+     * Answers the commands of a session that was already created, without a server
+     */
+    private Response respond(Command command) {
+        executedCommands.add(command.getName());
+        var response = new Response(new SessionId("stubSession"));
+        response.setState("success");
+        response.setStatus(0);
+        response.setValue(switch (command.getName()) {
+            case DriverCommand.NEW_SESSION -> capabilities.asMap();
+            case DriverCommand.GET_TITLE -> "Stub title";
+            default -> null;
+        });
+        return response;
+    }
+
+    @BeforeMethod
+    public void beforeMethod() {
+        executedCommands.clear();
+    }
+
+    @Test
+    public void remoteDriverCommandsAreSentThroughTheTimedExecutor() {
+        var executor = TestDoubles.stub(CommandExecutor.class, "executor", (method, args) -> respond((Command) args[0]));
+        var driver = new RemoteWebDriver(executor, capabilities);
+        WebDriverCommandMetrics.instrument(driver);
+        Validations.assertThat().object(driver.getCommandExecutor() != executor).isTrue().perform();
+        Validations.assertThat().object(driver.getTitle()).isEqualTo("Stub title").perform();
+        Validations.assertThat().object(executedCommands.contains(DriverCommand.GET_TITLE)).isTrue().perform();
+    }
+
+    @Test
+    public void appiumDriverKeepsItsCommandExecutor() throws MalformedURLException {
+        var executor = new AppiumCommandExecutor(MobileCommand.commandRepository, new URL("http://localhost:4723/")) {
+            @Override
+            public Response execute(Command command) {
+                return respond(command);
+            }
+        };
+        var driver = new AppiumDriver(executor, capabilities);
+        WebDriverCommandMetrics.instrument(driver);
+        Validations.assertThat().object(driver.getCommandExecutor() == executor).isTrue().perform();
+        // defining a custom command casts the command executor to an AppiumCommandExecutor
+        driver.addCommand(HttpMethod.GET, "/session/:sessionId/stubCommand", "stubCommand");
+        driver.execute("stubCommand", Map.of());
+        Validations.assertThat().object(executedCommands.contains("stubCommand")).isTrue().perform();
+    }
+}